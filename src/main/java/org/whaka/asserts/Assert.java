@@ -14,6 +14,7 @@ import org.hamcrest.Matcher;
  * Easiest way to momentarily indicate functional fail.
  *
  * <p>Method {@link #builder()} provides the most obvious and easy way to create instance of the {@link AssertBuilder}.
+ * Method {@link #concurrentBuilder()} does the same for the thread-safe {@link ConcurrentAssertBuilder}.
  * 
  * @see #assertThat(Object, Matcher)
  * @see #assertThat(Object, Matcher, String)
@@ -32,6 +33,14 @@ public class Assert {
 		return new AssertBuilder();
 	}
 	
+	/**
+	 * Create instance of the {@link ConcurrentAssertBuilder}, that might be shared between multiple threads.
+	 * Just a substitute for a constructor, with no additional functionality.
+	 */
+	public static ConcurrentAssertBuilder concurrentBuilder() {
+		return new ConcurrentAssertBuilder();
+	}
+	
 	/**
 	 * <p>Create message with arguments and throw {@link AssertError} immediately.
 	 * <p>Equivalent to {@link AssertBuilder#addMessage(String, Object...)}
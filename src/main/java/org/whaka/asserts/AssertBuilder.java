@@ -1,6 +1,7 @@
 package org.whaka.asserts;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -10,6 +11,8 @@ import org.hamcrest.Matchers;
 import org.hamcrest.StringDescription;
 import org.whaka.asserts.matcher.ResultProvidingMatcher;
 
+import com.google.common.base.Preconditions;
+
 /**
  * <p>Class provides ability to construct (or throw) an assert error with multiple assert results.
  * "Hamcrest Matchers" are used as main assertion tool.
@@ -17,6 +20,8 @@ import org.whaka.asserts.matcher.ResultProvidingMatcher;
  * <p>It is also possible to create instance of the AssertError without throwing it, see {@link #build()}
  * method. Or to receive list of collected asserts with {@link #getAssertResults()} method.
  *
+ * <p>Messages of the built errors are rendered lazily and are limited in size, see {@link #setMessageLimit(int)}.
+ *
  * @see Matcher
  * @see Matchers
  * @see #checkThat(Object, Matcher)
@@ -26,6 +31,7 @@ import org.whaka.asserts.matcher.ResultProvidingMatcher;
 public class AssertBuilder {
 
 	private final List<AssertResult> assertResults = new ArrayList<>();
+	private int messageLimit = AssertError.DEFAULT_MESSAGE_LIMIT;
 
 	/**
 	 * The same instance of the list is used throughout the building process.
@@ -35,12 +41,28 @@ public class AssertBuilder {
 		return assertResults;
 	}
 	
+	public int getMessageLimit() {
+		return messageLimit;
+	}
+	
+	/**
+	 * Set maximum number of characters in the message of the errors created by this builder.
+	 * 
+	 * @throws IllegalArgumentException if specified limit is not positive
+	 * @see AssertError#AssertError(Collection, int)
+	 */
+	public AssertBuilder setMessageLimit(int messageLimit) {
+		Preconditions.checkArgument(messageLimit > 0, "Message limit should be positive!");
+		this.messageLimit = messageLimit;
+		return this;
+	}
+	
 	/**
 	 * If this builder contains any assert results (see {@link #getAssertResults()}) then an {@link Optional}
 	 * containing new instance of an AssertError will be returned. Otherwise an empty optional is returned.
 	 */
 	public Optional<AssertError> build() {
-		return assertResults.size() > 0 ? Optional.of(new AssertError(assertResults)) : Optional.empty();
+		return assertResults.size() > 0 ? Optional.of(new AssertError(assertResults, messageLimit)) : Optional.empty();
 	}
 	
 	/**
@@ -59,14 +81,17 @@ public class AssertBuilder {
 	}
 	
 	/**
-	 * {@link String#format(String, Object...)} is called for the specified message and arguments.
-	 * AssertResult is created with the result message and added to the builder.
+	 * AssertResult is created with the specified message and arguments and added to the builder.
+	 * {@link String#format(String, Object...)} is called for them only when the message of the result is requested,
+	 * so mutable arguments are rendered in the state they have at that moment.
+	 * 
+	 * @see AssertResult#setMessage(String, Object...)
 	 */
 	public AssertBuilder addMessage(String message, Object ... args) {
 		Objects.requireNonNull(message, "Message cannot be null!");
-		if (args.length > 0)
-			message = String.format(message, args);
-		addResult(new AssertResult(message));
+		AssertResult result = new AssertResult();
+		result.setMessage(message, args);
+		addResult(result);
 		return this;
 	}
 	
@@ -106,7 +131,7 @@ public class AssertBuilder {
 		return this;
 	}
 	
-	private static <T> Optional<? extends AssertResult> performCheck(T item, Matcher<T> matcher, String message, Throwable cause) {
+	static <T> Optional<? extends AssertResult> performCheck(T item, Matcher<T> matcher, String message, Throwable cause) {
 		if (matcher instanceof ResultProvidingMatcher)
 			return ((ResultProvidingMatcher<T>)matcher).matches(item, message, cause);
 		if (!matcher.matches(item))
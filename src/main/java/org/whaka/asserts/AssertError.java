@@ -1,49 +1,129 @@
 package org.whaka.asserts;
 
-import java.io.BufferedWriter;
-import java.io.IOException;
-import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
-import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
 
 /**
- * Required to have at least one {@link AssertResult}.
+ * <p>Required to have at least one {@link AssertResult}.
+ *
+ * <p>Message of the error is rendered from the results only when it is requested for the first time
+ * (see {@link #getMessage()}), and then cached. So errors that are caught, or only inspected
+ * with {@link #getResults()}, don't pay for the rendering.
+ *
+ * <p><b>Note:</b> since rendering is lazy - message reflects the state of the results (and of the arguments
+ * of their messages, see {@link AssertResult#setMessage(String, Object...)}) at the moment it is requested,
+ * not at the moment error is created. Results or arguments that are changed after the error is thrown,
+ * but before its message is requested, are rendered as changed.
+ *
  * @see #getResults()
+ * @see #DEFAULT_MESSAGE_LIMIT
  */
 public class AssertError extends Error {
 
+	/**
+	 * Default maximum number of characters in the rendered message of an error.
+	 *
+	 * @see #AssertError(Collection, int)
+	 */
+	public static final int DEFAULT_MESSAGE_LIMIT = 1 << 16;
+
 	private final List<AssertResult> results;
-	
+	private final int messageLimit;
+	private volatile String message;
+
+	/**
+	 * Equal to {@link #AssertError(Collection, int)} with {@link #DEFAULT_MESSAGE_LIMIT}
+	 */
 	public AssertError(Collection<AssertResult> results) {
-		super(formatMessage(results));
+		this(results, DEFAULT_MESSAGE_LIMIT);
+	}
+
+	/**
+	 * <p>Rendered message of the error will contain no more than the specified number of characters
+	 * (not counting the tail, that reports how many results got truncated).
+	 *
+	 * @throws NullPointerException if specified collection is <code>null</code> or contains <code>null</code>
+	 * @throws IllegalArgumentException if specified collection is empty, or specified limit is not positive
+	 */
+	public AssertError(Collection<AssertResult> results, int messageLimit) {
 		Preconditions.checkArgument(results.size() > 0, "At least one assert result is required!");
+		Preconditions.checkArgument(messageLimit > 0, "Message limit should be positive!");
+		results.forEach(r -> Objects.requireNonNull(r, "Assert result cannot be null!"));
 		this.results = Collections.unmodifiableList(new ArrayList<>(results));
+		this.messageLimit = messageLimit;
 	}
-	
+
 	public List<AssertResult> getResults() {
 		return results;
 	}
-	
-	private static String formatMessage(Collection<AssertResult> results) {
-		try (StringWriter sw = new StringWriter(); BufferedWriter out = new BufferedWriter(sw)) {
-			out.write("Assertion fail!");
-			for (AssertResult result: results) {
-				for (String line : result.toString().split("[\r\n]+")) {
-					out.newLine();
-					out.write("\t");
-					out.write(line);
+
+	public int getMessageLimit() {
+		return messageLimit;
+	}
+
+	/**
+	 * Message is rendered from the results on the first call and cached.
+	 */
+	@Override
+	public String getMessage() {
+		String message = this.message;
+		if (message == null)
+			this.message = message = formatMessage(results, messageLimit);
+		return message;
+	}
+
+	/**
+	 * Results are appended one by one, until the limit is reached. Nothing is appended beyond the limit,
+	 * and the results that come after it are not even converted to strings.
+	 */
+	private static String formatMessage(List<AssertResult> results, int limit) {
+		StringBuilder sb = new StringBuilder("Assertion fail!");
+		int rendered = 0;
+		boolean truncated = false;
+		for (AssertResult result : results) {
+			if (sb.length() >= limit || !appendLines(sb, result.toString(), limit)) {
+				truncated = true;
+				break;
+			}
+			rendered++;
+		}
+		if (truncated) {
+			sb.setLength(Math.min(sb.length(), limit));
+			sb.append(System.lineSeparator()).append('\t')
+				.append(String.format("... message truncated to %d characters (%d of %d results rendered)",
+						limit, rendered, results.size()));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Each non-empty line of the specified text is appended on a new line with an indent, but no more
+	 * than the limit of characters in total. Returns <code>false</code> if text is truncated.
+	 */
+	private static boolean appendLines(StringBuilder sb, String text, int limit) {
+		String separator = System.lineSeparator() + '\t';
+		int start = 0;
+		while (start < text.length()) {
+			int end = start;
+			while (end < text.length() && text.charAt(end) != '\r' && text.charAt(end) != '\n')
+				end++;
+			if (end > start) {
+				int remaining = limit - sb.length() - separator.length();
+				if (remaining < end - start) {
+					if (remaining > 0)
+						sb.append(separator).append(text, start, start + remaining);
+					return false;
 				}
+				sb.append(separator).append(text, start, end);
 			}
-			out.flush();
-			return sw.toString();
-		} catch (IOException e) {
-			throw new RuntimeException(e);
+			start = end + 1;
 		}
+		return true;
 	}
 
 	@Override
@@ -55,8 +135,8 @@ public class AssertError extends Error {
 	public boolean equals(Object object) {
 		if (object != null && getClass() == object.getClass()) {
 			AssertError that = (AssertError) object;
-			return Objects.equal(getResults(), that.getResults());
+			return Objects.equals(getResults(), that.getResults());
 		}
 		return false;
 	}
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package org.whaka.asserts;
 
+import org.whaka.util.BoundedRenderer;
+
 import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.base.Objects;
@@ -9,6 +11,8 @@ public class AssertResult {
 	private Object actual;
 	private Object expected;
 	private String message;
+	private String messageFormat;
+	private volatile Object[] messageArgs;
 	private Throwable cause;
 
 	public AssertResult() {
@@ -58,22 +62,53 @@ public class AssertResult {
 	}
 
 	public void setMessage(String message) {
+		this.messageArgs = null;
 		this.message = message;
 	}
+	
+	/**
+	 * <p>Set message that will be created by {@link String#format(String, Object...)} from the specified
+	 * format and arguments. If no arguments are specified - this method is equal to the {@link #setMessage(String)}.
+	 * 
+	 * <p>Formatting is deferred until the first call to the {@link #getMessage()}, and its result is cached.
+	 * So results that are never rendered don't pay for formatting.
+	 * 
+	 * <p><b>Note:</b> arguments are not copied, so message reflects their state at the moment
+	 * it is requested for the first time. Mutable arguments changed after this call are rendered as changed.
+	 * This also means that an illegal format will be reported only when message is requested.
+	 */
+	public void setMessage(String format, Object... args) {
+		if (args == null || args.length == 0) {
+			setMessage(format);
+			return;
+		}
+		this.message = null;
+		this.messageFormat = format;
+		this.messageArgs = args;
+	}
 
 	public String getMessage() {
+		Object[] args = messageArgs;
+		if (args != null) {
+			message = String.format(messageFormat, args);
+			messageArgs = null;
+		}
 		return message;
 	}
 
+	/**
+	 * Values and message are rendered with the {@link BoundedRenderer#DEFAULT}, so size of the result string
+	 * is limited no matter how big the values are.
+	 */
 	@Override
 	public String toString() {
 		ToStringHelper tsh = MoreObjects.toStringHelper(this);
 		if (getActual() != null || getExpected() != null) {
-			tsh.add("actual", getActual());
-			tsh.add("expected", getExpected());
+			tsh.add("actual", BoundedRenderer.DEFAULT.render(getActual()));
+			tsh.add("expected", BoundedRenderer.DEFAULT.render(getExpected()));
 		}
 		if (getMessage() != null)
-			tsh.add("message", getMessage());
+			tsh.add("message", BoundedRenderer.DEFAULT.render(getMessage()));
 		if (getCause() != null)
 			tsh.add("cause", getCause().getClass());
 		return tsh.toString();
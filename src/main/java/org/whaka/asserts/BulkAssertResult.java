@@ -0,0 +1,93 @@
+package org.whaka.asserts;
+
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * <p>Assert result of a check performed over many elements at once (e.g. elements of a numeric array).
+ * Instead of a separate result for each mismatching element - single result reports number of checked elements,
+ * number of mismatching elements, and indexes and values of the first few of them.
+ *
+ * <p>"Actual" value of the result is a short summary string like:
+ * <code>"2 of 100 elements don't match: [3]=1.5, [17]=NaN"</code>
+ *
+ * @see org.whaka.asserts.matcher.DoubleArrayMatcher
+ */
+public class BulkAssertResult extends AssertResult {
+
+	private final long length;
+	private final long mismatchCount;
+	private final long[] mismatchIndexes;
+	private final double[] mismatchValues;
+
+	/**
+	 * @throws IllegalArgumentException if number of reported indexes and values is not the same,
+	 * or is greater than the number of mismatches
+	 */
+	public BulkAssertResult(long length, long mismatchCount, long[] mismatchIndexes, double[] mismatchValues,
+			Object expected, String message, Throwable cause) {
+		super(null, expected, message, cause);
+		Preconditions.checkArgument(mismatchIndexes.length == mismatchValues.length,
+				"Number of indexes and values should be the same!");
+		Preconditions.checkArgument(mismatchIndexes.length <= mismatchCount,
+				"Number of reported mismatches cannot be greater than the total number!");
+		this.length = length;
+		this.mismatchCount = mismatchCount;
+		this.mismatchIndexes = mismatchIndexes.clone();
+		this.mismatchValues = mismatchValues.clone();
+		setActual(formatSummary());
+	}
+
+	private String formatSummary() {
+		StringBuilder sb = new StringBuilder()
+				.append(mismatchCount).append(" of ").append(length).append(" elements don't match");
+		for (int i = 0; i < mismatchIndexes.length; i++)
+			sb.append(i == 0 ? ": " : ", ").append('[').append(mismatchIndexes[i]).append("]=").append(mismatchValues[i]);
+		if (mismatchIndexes.length < mismatchCount)
+			sb.append(", ...");
+		return sb.toString();
+	}
+
+	/**
+	 * Total number of checked elements.
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	public long getMismatchCount() {
+		return mismatchCount;
+	}
+
+	/**
+	 * Indexes of the first reported mismatching elements, in ascending order.
+	 */
+	public long[] getMismatchIndexes() {
+		return mismatchIndexes.clone();
+	}
+
+	/**
+	 * Values of the first reported mismatching elements, in the same order as {@link #getMismatchIndexes()}.
+	 */
+	public double[] getMismatchValues() {
+		return mismatchValues.clone();
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * super.hashCode() + Arrays.hashCode(mismatchIndexes);
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (super.equals(object)) {
+			BulkAssertResult that = (BulkAssertResult) object;
+			return length == that.length
+					&& mismatchCount == that.mismatchCount
+					&& Arrays.equals(mismatchIndexes, that.mismatchIndexes)
+					&& Arrays.equals(mismatchValues, that.mismatchValues);
+		}
+		return false;
+	}
+}
@@ -1,17 +1,16 @@
 package org.whaka.asserts;
 
-import java.io.BufferedWriter;
-import java.io.IOException;
-import java.io.StringWriter;
 import java.util.Map;
 import java.util.Objects;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.base.Preconditions;
+import org.whaka.util.BoundedRenderer;
 import org.whaka.util.reflection.comparison.ComparisonFail;
 import org.whaka.util.reflection.comparison.ComparisonResult;
 import org.whaka.util.reflection.comparison.ComplexComparisonResult;
+import org.whaka.util.reflection.properties.ClassPropertyKey;
 import org.whaka.util.reflection.properties.ClassPropertyStack;
 
 public class ComparisonAssertResult extends AssertResult {
@@ -97,6 +96,14 @@ public class ComparisonAssertResult extends AssertResult {
 		return false;
 	}
 	
+	/**
+	 * <p>Head of the result string contains values rendered with the {@link BoundedRenderer#DEFAULT}.
+	 * If comparison result is a {@link ComplexComparisonResult} - each unsuccessful property result
+	 * is rendered on a separate line.
+	 * 
+	 * <p>Number of rendered property lines is limited by {@link BoundedRenderer#getMaxElements()}, and rendering
+	 * stops as soon as property lines exceed {@link BoundedRenderer#getMaxChars()} characters.
+	 */
 	@Override
 	public String toString() {
 		String head = formatHeadString();
@@ -108,10 +115,10 @@ public class ComparisonAssertResult extends AssertResult {
 	
 	private String formatHeadString() {
 		ToStringHelper tsh = MoreObjects.toStringHelper(this)
-			.add("actual", getActual())
-			.add("expected", getExpected());
+			.add("actual", BoundedRenderer.DEFAULT.render(getActual()))
+			.add("expected", BoundedRenderer.DEFAULT.render(getExpected()));
 		if (getMessage() != null)
-			tsh.add("message", getMessage());
+			tsh.add("message", BoundedRenderer.DEFAULT.render(getMessage()));
 		if (getCause() != null)
 			tsh.add("cause", getCause().getClass());
 		tsh.add("performer", getComparisonResult().getComparisonPerformer());
@@ -119,21 +126,39 @@ public class ComparisonAssertResult extends AssertResult {
 	}
 	
 	private static String formatComplexResult(String head, ComplexComparisonResult result) {
-		try (StringWriter sw = new StringWriter(); BufferedWriter out = new BufferedWriter(sw)) {
-			out.write(head);
-			for (Map.Entry<ClassPropertyStack, ComparisonResult> e : result.flatten().entrySet()) {
-				if (e.getValue().isSuccess())
-					continue;
-				out.newLine();
-				out.write("\t");
-				out.write(e.getKey().toCallString());
-				out.write(" = ");
-				out.write(e.getValue().toString());
+		StringBuilder sb = new StringBuilder(head);
+		int limit = sb.length() + BoundedRenderer.DEFAULT.getMaxChars();
+		int[] linesLeft = {BoundedRenderer.DEFAULT.getMaxElements()};
+		if (!appendPropertyResults(sb, null, result, linesLeft, limit))
+			sb.append(System.lineSeparator()).append("\t... (more property results are omitted)");
+		return sb.toString();
+	}
+	
+	/**
+	 * Recursively appends unsuccessful simple property results, the same way as they are presented by
+	 * {@link ComplexComparisonResult#flatten()}, but without building the whole flat map.
+	 * Returns <code>false</code> if rendering was stopped due to limits.
+	 */
+	private static boolean appendPropertyResults(StringBuilder sb, ClassPropertyStack parent,
+			ComplexComparisonResult result, int[] linesLeft, int limit) {
+		for (Map.Entry<ClassPropertyKey, ComparisonResult> e : result.getPropertyResults().entrySet()) {
+			ComparisonResult value = e.getValue();
+			if (value == null || value.isSuccess())
+				continue;
+			ClassPropertyStack stack = new ClassPropertyStack(parent, e.getKey());
+			if (value instanceof ComplexComparisonResult) {
+				if (!appendPropertyResults(sb, stack, (ComplexComparisonResult) value, linesLeft, limit))
+					return false;
+				continue;
 			}
-			out.flush();
-			return sw.toString();
-		} catch (IOException e) {
-			throw new RuntimeException(e);
+			if (linesLeft[0]-- <= 0 || sb.length() >= limit)
+				return false;
+			sb.append(System.lineSeparator())
+				.append('\t')
+				.append(stack.toCallString())
+				.append(" = ")
+				.append(value.toString());
 		}
+		return true;
 	}
 }
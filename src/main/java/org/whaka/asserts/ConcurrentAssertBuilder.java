@@ -0,0 +1,190 @@
+package org.whaka.asserts;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hamcrest.Matcher;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * <p>Thread-safe analogue of the {@link AssertBuilder}. Any number of threads might perform checks
+ * and add results into the same instance of the builder, and then a single {@link AssertError}
+ * containing all the results might be built, or thrown.
+ *
+ * <p>Results are stored in a number of independent buffers ("stripes") selected by the id of the current thread,
+ * so concurrent threads almost never compete for the same lock. And since only failed checks get stored
+ * successful checks don't touch any shared state at all.
+ *
+ * <p>Number of stored results might be limited (see {@link #ConcurrentAssertBuilder(int)}). Results exceeding
+ * the limit are dropped, and only counted (see {@link #getDroppedCount()}). If any results were dropped
+ * - additional message result reporting the number of them is added to the built error.
+ *
+ * <p><b>Note:</b> results added by the same thread are kept in the order of addition, but there's no
+ * guaranteed order between results added by different threads.
+ *
+ * @see Assert#concurrentBuilder()
+ * @see #checkThat(Object, Matcher)
+ * @see #build()
+ */
+public class ConcurrentAssertBuilder {
+
+	private static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1;
+	
+	private final List<AssertResult>[] stripes;
+	private final int maxResults;
+	private final AtomicInteger storedCount = new AtomicInteger();
+	private final LongAdder droppedCount = new LongAdder();
+	private volatile int messageLimit = AssertError.DEFAULT_MESSAGE_LIMIT;
+	
+	/**
+	 * Create builder with no limit on number of stored results.
+	 */
+	public ConcurrentAssertBuilder() {
+		this(Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Create builder that stores no more than the specified number of results.
+	 * 
+	 * @throws IllegalArgumentException if specified limit is not positive
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public ConcurrentAssertBuilder(int maxResults) {
+		Preconditions.checkArgument(maxResults > 0, "Max results should be positive!");
+		this.maxResults = maxResults;
+		this.stripes = new List[STRIPES];
+		for (int i = 0; i < stripes.length; i++)
+			stripes[i] = new ArrayList<>();
+	}
+	
+	public int getMaxResults() {
+		return maxResults;
+	}
+	
+	/**
+	 * Number of results that were not stored, because {@link #getMaxResults()} limit was reached.
+	 */
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+	
+	public int getMessageLimit() {
+		return messageLimit;
+	}
+	
+	/**
+	 * Set maximum number of characters in the message of the errors created by this builder.
+	 * 
+	 * @throws IllegalArgumentException if specified limit is not positive
+	 * @see AssertError#AssertError(Collection, int)
+	 */
+	public ConcurrentAssertBuilder setMessageLimit(int messageLimit) {
+		Preconditions.checkArgument(messageLimit > 0, "Message limit should be positive!");
+		this.messageLimit = messageLimit;
+		return this;
+	}
+	
+	/**
+	 * Snapshot of all the results stored at the moment. Returned list is unmodifiable,
+	 * and is not affected by any following changes in the builder.
+	 */
+	public List<AssertResult> getAssertResults() {
+		List<AssertResult> results = new ArrayList<>();
+		for (List<AssertResult> stripe : stripes) {
+			synchronized (stripe) {
+				results.addAll(stripe);
+			}
+		}
+		return Collections.unmodifiableList(results);
+	}
+	
+	/**
+	 * If this builder contains any assert results (see {@link #getAssertResults()}) then an {@link Optional}
+	 * containing new instance of an AssertError will be returned. Otherwise an empty optional is returned.
+	 * 
+	 * <p>If any results were dropped (see {@link #getDroppedCount()}) - additional message result is added
+	 * to the error, reporting the number of them.
+	 */
+	public Optional<AssertError> build() {
+		List<AssertResult> results = new ArrayList<>(getAssertResults());
+		long dropped = getDroppedCount();
+		if (dropped > 0) {
+			AssertResult result = new AssertResult();
+			result.setMessage("%d more assert results were dropped (limit of %d results reached)", dropped, maxResults);
+			results.add(result);
+		}
+		return results.size() > 0 ? Optional.of(new AssertError(results, messageLimit)) : Optional.empty();
+	}
+	
+	/**
+	 * Method {@link #build()} is called. If it returns instance of the AssertError - it got thrown.
+	 */
+	public void performAssert() throws AssertError {
+		Optional<AssertError> error = build();
+		if (error.isPresent())
+			throw error.get();
+	}
+	
+	/**
+	 * Result is stored in the buffer of the current thread, or dropped if {@link #getMaxResults()} limit is reached.
+	 * Shared counter of stored results is used only if the limit is specified.
+	 */
+	public ConcurrentAssertBuilder addResult(AssertResult result) {
+		Objects.requireNonNull(result, "Assert result cannot be null!");
+		if (maxResults != Integer.MAX_VALUE && !tryStore()) {
+			droppedCount.increment();
+			return this;
+		}
+		List<AssertResult> stripe = stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)];
+		synchronized (stripe) {
+			stripe.add(result);
+		}
+		return this;
+	}
+	
+	private boolean tryStore() {
+		return storedCount.get() < maxResults && storedCount.getAndIncrement() < maxResults;
+	}
+	
+	/**
+	 * AssertResult is created with the specified message and arguments and added to the builder.
+	 * {@link String#format(String, Object...)} is called for them only when the message of the result is requested.
+	 * 
+	 * @see AssertResult#setMessage(String, Object...)
+	 */
+	public ConcurrentAssertBuilder addMessage(String message, Object ... args) {
+		Objects.requireNonNull(message, "Message cannot be null!");
+		AssertResult result = new AssertResult();
+		result.setMessage(message, args);
+		return addResult(result);
+	}
+	
+	/**
+	 * Equal to {@link AssertBuilder#checkThat(Object, Matcher)}
+	 */
+	public <T> ConcurrentAssertBuilder checkThat(T item, Matcher<T> matcher) {
+		return checkThat(item, matcher, null);
+	}
+	
+	/**
+	 * Equal to {@link AssertBuilder#checkThat(Object, Matcher, String)}
+	 */
+	public <T> ConcurrentAssertBuilder checkThat(T item, Matcher<T> matcher, String message) {
+		return checkThat(item, matcher, message, null);
+	}
+	
+	/**
+	 * Equal to {@link AssertBuilder#checkThat(Object, Matcher, String, Throwable)}
+	 */
+	public <T> ConcurrentAssertBuilder checkThat(T item, Matcher<T> matcher, String message, Throwable cause) {
+		AssertBuilder.performCheck(item, matcher, message, cause).ifPresent(this::addResult);
+		return this;
+	}
+}
@@ -1,16 +1,15 @@
 package org.whaka.asserts;
 
-import static org.whaka.util.DoubleMath.*;
-
 import java.util.Objects;
-import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import java.util.function.IntPredicate;
-import java.util.function.Predicate;
 
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
+import org.whaka.asserts.matcher.DoubleArrayMatcher;
+import org.whaka.asserts.matcher.DoubleMatcher;
 import org.whaka.asserts.matcher.FunctionalMatcher;
+import org.whaka.util.BoundedRenderer;
 import org.whaka.util.DoubleMath;
 
 import com.google.common.base.Preconditions;
@@ -18,7 +17,11 @@ import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 
 /**
- * Class provides static factory methods for custom Hamcrest matchers related to numbers.
+ * <p>Class provides static factory methods for custom Hamcrest matchers related to numbers.
+ * 
+ * <p>Matchers of the {@link Number} type are instances of the {@link DoubleMatcher}, so matched values
+ * are converted to primitive doubles without any boxing, and primitive values might be matched directly
+ * with {@link DoubleMatcher#matchesDouble(double)}.
  * 
  * @see DoubleMath
  * @see UberMatchers
@@ -34,13 +37,13 @@ public final class NumberMatchers {
 			() -> new FunctionalMatcher<>(Double.class, DoubleMath::isFinite, "finite number"));
 	
 	private static final Supplier<Matcher<Number>> IS_ZERO = Suppliers.memoize(
-			() -> new FunctionalMatcher<>(Number.class, convertPredicate(DoubleMath::isZero), d -> d.appendValue(0)));
+			() -> new DoubleMatcher(d -> DoubleMath.compare(d, 0.0) == 0, d -> d.appendValue(0)));
 	
 	private static final Supplier<Matcher<Number>> IS_POSITIVE = Suppliers.memoize(
-			() -> new FunctionalMatcher<>(Number.class, convertPredicate(DoubleMath::isPositive), "positive number"));
+			() -> new DoubleMatcher(d -> !Double.isNaN(d) && DoubleMath.compare(d, 0.0) > 0, "positive number"));
 	
 	private static final Supplier<Matcher<Number>> IS_NEGATIVE = Suppliers.memoize(
-			() -> new FunctionalMatcher<>(Number.class, convertPredicate(DoubleMath::isNegative), "negative number"));
+			() -> new DoubleMatcher(d -> !Double.isNaN(d) && DoubleMath.compare(d, 0.0) < 0, "negative number"));
 	
 	private NumberMatchers() {
 	}
@@ -85,22 +88,14 @@ public final class NumberMatchers {
 		return IS_NEGATIVE.get();
 	}
 	
-	private static Predicate<Number> convertPredicate(Predicate<Double> delegate) {
-		return a -> delegate.test(asDouble(a));
-	}
-	
 	/**
 	 * Matcher equivalent of the {@link DoubleMath#equals(Double, Double)}.
 	 * Matches if item is <b>double-equal</b> to the specified number value.
 	 */
 	public static Matcher<Number> equalTo(Number value) {
-		return new FunctionalMatcher<>(Number.class,
-				convertBiPredicate(DoubleMath::equals, value),
-				createSingleValueDescriber("equal to", value));
-	}
-	
-	private static Predicate<Number> convertBiPredicate(BiPredicate<Double, Double> delegate, Number value) {
-		return a -> delegate.test(asDouble(a), asDouble(value));
+		if (value == null)
+			return new FunctionalMatcher<>(Number.class, Objects::isNull, createSingleValueDescriber("equal to", value));
+		return createCompareMatcher(value, i -> i == 0, "equal to");
 	}
 	
 	/**
@@ -145,15 +140,12 @@ public final class NumberMatchers {
 	
 	private static Matcher<Number> createCompareMatcher(Number value, IntPredicate predicate, String op) {
 		Objects.requireNonNull(value, "Cannot compare to null!");
-		return new FunctionalMatcher<>(Number.class,
-				convertCompareResultPredicate(predicate, value),
+		double b = value.doubleValue();
+		return new DoubleMatcher(
+				a -> predicate.test(DoubleMath.compare(a, b)),
 				createSingleValueDescriber(op, value));
 	}
 	
-	private static Predicate<Number> convertCompareResultPredicate(IntPredicate predicate, Number value) {
-		return convertBiPredicate((a, b) -> a != null && b != null && predicate.test(DoubleMath.compare(a, b)), value);
-	}
-	
 	private static Consumer<Description> createSingleValueDescriber(String operationName, Number value) {
 		return d -> d.appendText(String.format("number %s ", operationName)).appendValue(value);
 	}
@@ -182,22 +174,113 @@ public final class NumberMatchers {
 		return createBiCompareMatcher(min, max, (a, b) -> a >= 0 && b <= 0, "number between or equal");
 	}
 	
-	private static Matcher<Number> createBiCompareMatcher(Number min, Number max, BiPredicate<Integer, Integer> predicate, String op) {
+	private static Matcher<Number> createBiCompareMatcher(Number min, Number max, IntBinaryPredicate predicate, String op) {
 		Objects.requireNonNull(min, "Cannot compare to null!");
 		Objects.requireNonNull(max, "Cannot compare to null!");
-		Preconditions.checkArgument(DoubleMath.compare(asDouble(min), asDouble(max)) <= 0, "min is greater than max!");
-		return new FunctionalMatcher<>(Number.class,
-				convertBiCompareResultPredicate(predicate, min, max),
+		double a = min.doubleValue();
+		double b = max.doubleValue();
+		Preconditions.checkArgument(DoubleMath.compare(a, b) <= 0, "min is greater than max!");
+		return new DoubleMatcher(
+				x -> predicate.test(DoubleMath.compare(x, a), DoubleMath.compare(x, b)),
 				createBiCompareDescriber(op, min, max));
 	}
 	
-	private static Predicate<Number> convertBiCompareResultPredicate(BiPredicate<Integer, Integer> predicate, Number a, Number b) {
-		return convertPredicate(x -> x != null && predicate.test(
-				DoubleMath.compare(x, asDouble(a)),
-				DoubleMath.compare(x, asDouble(b))));
+	@FunctionalInterface
+	private interface IntBinaryPredicate {
+		boolean test(int a, int b);
 	}
 	
 	private static Consumer<Description> createBiCompareDescriber(String operationName, Number min, Number max) {
 		return d -> d.appendText(operationName + " ").appendValue(min).appendText(" and ").appendValue(max);
 	}
+	
+	/**
+	 * <p>Bulk matcher equivalent of the {@link #equalTo(Number)}.
+	 * Matches if each element of an array is <b>double-equal</b> to the specified value.
+	 * 
+	 * @see DoubleArrayMatcher
+	 */
+	public static DoubleArrayMatcher eachEqualTo(double value) {
+		return new DoubleArrayMatcher((i, x) -> DoubleMath.compare(x, value) == 0,
+				createSingleValueDescriber("equal to", value));
+	}
+	
+	/**
+	 * <p>Bulk matcher equivalent of the {@link DoubleMath#compare(double, double, double)}.
+	 * Matches if each element of an array is <b>double-equal</b> to the specified value with the specified accuracy.
+	 * 
+	 * @throws IllegalArgumentException if specified accuracy is not a finite positive number
+	 * @see DoubleArrayMatcher
+	 */
+	public static DoubleArrayMatcher eachCloseTo(double value, double accuracy) {
+		checkAccuracy(accuracy);
+		return new DoubleArrayMatcher((i, x) -> DoubleMath.compare(x, value, accuracy) == 0,
+				d -> d.appendText("number equal to ").appendValue(value).appendText(" within ").appendValue(accuracy));
+	}
+	
+	/**
+	 * <p>Bulk matcher equivalent of the {@link #betweenOrEqual(Number, Number)}.
+	 * Matches if each element of an array is <b>double-greater</b> than or <b>double-equal</b> to the specified min,
+	 * and <b>double-lower</b> than or <b>double-equal</b> to the specified max.
+	 * 
+	 * @throws IllegalArgumentException if specified min is greater than specified max
+	 * @see DoubleArrayMatcher
+	 */
+	public static DoubleArrayMatcher eachBetweenOrEqual(double min, double max) {
+		Preconditions.checkArgument(DoubleMath.compare(min, max) <= 0, "min is greater than max!");
+		return new DoubleArrayMatcher((i, x) -> DoubleMath.compare(x, min) >= 0 && DoubleMath.compare(x, max) <= 0,
+				createBiCompareDescriber("number between or equal", min, max));
+	}
+	
+	/**
+	 * <p>Bulk matcher equivalent of the {@link #finite()}.
+	 * Matches if each element of an array is not {@link Double#NaN} and is finite.
+	 * 
+	 * @see DoubleArrayMatcher
+	 */
+	public static DoubleArrayMatcher eachFinite() {
+		return new DoubleArrayMatcher((i, x) -> Double.isFinite(x), "finite number");
+	}
+	
+	/**
+	 * <p>Matches if an array has the same length as the specified one, and each its element is <b>double-equal</b>
+	 * to the element with the same index in the specified array.
+	 * 
+	 * @throws NullPointerException if specified array is <code>null</code>
+	 * @see DoubleArrayMatcher
+	 */
+	public static DoubleArrayMatcher elementsEqualTo(double[] expected) {
+		double[] values = Objects.requireNonNull(expected, "Cannot compare to null!").clone();
+		return new DoubleArrayMatcher((i, x) -> DoubleMath.compare(x, values[(int) i]) == 0,
+				d -> describeElements(d, values), values.length);
+	}
+	
+	/**
+	 * <p>Matches if an array has the same length as the specified one, and each its element is <b>double-equal</b>
+	 * to the element with the same index in the specified array with the specified accuracy.
+	 * 
+	 * @throws NullPointerException if specified array is <code>null</code>
+	 * @throws IllegalArgumentException if specified accuracy is not a finite positive number
+	 * @see DoubleArrayMatcher
+	 */
+	public static DoubleArrayMatcher elementsEqualTo(double[] expected, double accuracy) {
+		double[] values = Objects.requireNonNull(expected, "Cannot compare to null!").clone();
+		checkAccuracy(accuracy);
+		return new DoubleArrayMatcher((i, x) -> DoubleMath.compare(x, values[(int) i], accuracy) == 0,
+				d -> describeElements(d, values).appendText(" within ").appendValue(accuracy), values.length);
+	}
+	
+	/**
+	 * Expected array is described by its length, and rendered with the {@link BoundedRenderer#DEFAULT},
+	 * so description stays small no matter how big the array is.
+	 */
+	private static Description describeElements(Description d, double[] values) {
+		return d.appendText("equal to the element of double[" + values.length + "] ")
+				.appendText(BoundedRenderer.DEFAULT.render(values));
+	}
+	
+	private static void checkAccuracy(double accuracy) {
+		Preconditions.checkArgument(Double.isFinite(accuracy) && accuracy >= 0.0,
+				"Accuracy should be a finite positive number!");
+	}
 }
@@ -1,10 +1,13 @@
 package org.whaka.asserts;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
@@ -18,6 +21,8 @@ import org.whaka.util.reflection.comparison.ComparisonPerformer;
 import org.whaka.util.reflection.comparison.ComparisonPerformers;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 
 
 /**
@@ -118,6 +123,19 @@ public final class UberMatchers {
 		return RegexpMatcher.create(pattern);
 	}
 	
+	/**
+	 * Create a matcher that will check that string representation of <b>any</b> object
+	 * matches <b>any</b> of the specified regexp patterns. Patterns are checked in turn, until the first match.
+	 * 
+	 * @throws NullPointerException if any of the specified strings is <code>null</code>
+	 * @throws IllegalArgumentException if no patterns are specified
+	 * 
+	 * @see RegexpMatcher#createAny(java.util.Collection)
+	 */
+	public static Matcher<Object> matchesAny(String... patterns) {
+		return RegexpMatcher.createAny(patterns);
+	}
+	
 	/**
 	 * Create a matcher that will check that an exception is an instance of the specified type.
 	 * And will set asserted throwable as cause of the result.
@@ -205,6 +223,77 @@ public final class UberMatchers {
 				d -> d.appendText("one of ").appendValue(col).appendText(" with a predicate"));
 	}
 	
+	/**
+	 * <p>Create a matcher that will check that a collection contains an element with the same key as the specified item.
+	 * Key of the specified item is calculated once, and keys are compared using {@link Objects#equals(Object, Object)}.
+	 * 
+	 * <p><b>Note:</b> matcher will throw an NPE if matched against a <code>null</code> value!
+	 * 
+	 * @throws NullPointerException if specified key extractor is <code>null</code>
+	 * 
+	 * @see #hasItem(Object, BiPredicate)
+	 */
+	public static <T> Matcher<Collection<? extends T>> hasItemBy(T item, Function<? super T, ?> key) {
+		Objects.requireNonNull(key, "Key extractor cannot be null!");
+		Object itemKey = key.apply(item);
+		return new FunctionalMatcher<Collection<? extends T>>(
+				Collection.class,
+				c -> c.stream().anyMatch(e -> Objects.equals(key.apply(e), itemKey)),
+				d -> d.appendText("has item ").appendValue(item).appendText(" by key"));
+	}
+	
+	/**
+	 * <p>Create a matcher that will check that a collection contains an element with the same key
+	 * as any one of the specified items. Keys are compared using {@link Object#equals(Object)} and {@link Object#hashCode()}
+	 * ({@link Function#identity()} might be used to compare items themselves).
+	 * 
+	 * <p>Hash index of the keys of the specified items is built once, when the matcher is used for the first time,
+	 * and then reused by all the following matches. So the matcher performs in <code>O(n)</code>
+	 * of the matched collection size, instead of <code>O(n*m)</code> of the {@link #hasAnyItem(Collection, BiPredicate)}.
+	 * <b>Note:</b> changes in the specified collection made after the first match are not reflected by the index.
+	 * 
+	 * <p><b>Note:</b> matcher will throw an NPE if matched against a <code>null</code> value!
+	 * 
+	 * @throws NullPointerException if specified collection or key extractor is <code>null</code>
+	 * @throws IllegalArgumentException if specified collection is <code>empty</code>
+	 */
+	public static <T> Matcher<Collection<? extends T>> hasAnyItemBy(Collection<T> items, Function<? super T, ?> key) {
+		Objects.requireNonNull(items, "Items collection cannot be null!");
+		Objects.requireNonNull(key, "Key extractor cannot be null!");
+		Preconditions.checkArgument(!items.isEmpty(), "Items cannot be empty!");
+		Supplier<Set<Object>> index = createKeyIndex(items, key);
+		return new FunctionalMatcher<Collection<? extends T>>(
+				Collection.class,
+				c -> c.stream().map(key).anyMatch(index.get()::contains),
+				d -> d.appendText("has any one of ").appendValue(items).appendText(" by key"));
+	}
+	
+	/**
+	 * <p>Create a matcher that will check that an item has the same key as any one of the elements
+	 * of the specified collection. Keys are compared using {@link Object#equals(Object)} and {@link Object#hashCode()}
+	 * ({@link Function#identity()} might be used to compare items themselves).
+	 * 
+	 * <p>Hash index of the keys of the specified collection is built once, when the matcher is used for the first time,
+	 * and then reused by all the following matches. So each match is performed in <code>O(1)</code>,
+	 * instead of <code>O(n)</code> of the {@link #isIn(Collection, BiPredicate)}.
+	 * <b>Note:</b> changes in the specified collection made after the first match are not reflected by the index.
+	 * 
+	 * @throws NullPointerException if specified collection or key extractor is <code>null</code>
+	 */
+	public static <T> Matcher<T> isInBy(Collection<? extends T> col, Function<? super T, ?> key) {
+		Objects.requireNonNull(col, "Collection cannot be null!");
+		Objects.requireNonNull(key, "Key extractor cannot be null!");
+		Supplier<Set<Object>> index = createKeyIndex(col, key);
+		return new FunctionalMatcher<T>(
+				Object.class,
+				t -> index.get().contains(key.apply(t)),
+				d -> d.appendText("one of ").appendValue(col).appendText(" by key"));
+	}
+	
+	private static <T> Supplier<Set<Object>> createKeyIndex(Collection<? extends T> col, Function<? super T, ?> key) {
+		return Suppliers.memoize(() -> col.stream().map(key).collect(Collectors.toCollection(HashSet::new)));
+	}
+	
 	/**
 	 * Create a matcher that will apply specified function to the received value and then delegate result
 	 * to the specified matcher delegate.
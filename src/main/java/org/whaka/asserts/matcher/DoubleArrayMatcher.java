@@ -0,0 +1,262 @@
+package org.whaka.asserts.matcher;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.whaka.asserts.AssertResult;
+import org.whaka.asserts.BulkAssertResult;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * <p>{@link Matcher} checking each element of a <code>double[]</code> array with an {@link ElementPredicate}.
+ * All the elements are checked in a single loop with no boxing, and a single {@link BulkAssertResult}
+ * is provided, reporting number of mismatching elements, and indexes and values of the first
+ * {@link #getReportLimit()} of them.
+ *
+ * <p>Array is checked sequentially by default, but {@link #parallel()} matcher splits big arrays into chunks
+ * that are checked in parallel (using common fork-join pool). Reported mismatches are the same in both cases.
+ *
+ * <p>The same checks might be performed for <code>long[]</code> arrays (see {@link #forLongs()}), and
+ * for {@link DoubleStream} (see {@link #forStreams()}).
+ *
+ * @see org.whaka.asserts.NumberMatchers#eachEqualTo(double)
+ * @see org.whaka.asserts.NumberMatchers#elementsEqualTo(double[])
+ */
+public class DoubleArrayMatcher extends ResultProvidingMatcher<double[]> {
+
+	/**
+	 * Default number of mismatching elements reported in the result.
+	 */
+	public static final int DEFAULT_REPORT_LIMIT = 10;
+
+	private static final int MIN_CHUNK_SIZE = 1 << 14;
+
+	private final ElementPredicate predicate;
+	private final Consumer<Description> describer;
+	private final int expectedLength;
+	private final int reportLimit;
+	private final boolean parallel;
+
+	public DoubleArrayMatcher(ElementPredicate predicate, String description) {
+		this(predicate, d -> d.appendText(description));
+	}
+
+	public DoubleArrayMatcher(ElementPredicate predicate, Consumer<Description> describer) {
+		this(predicate, describer, -1);
+	}
+
+	/**
+	 * If specified expected length is not negative - arrays of any other length are not matched,
+	 * and their elements are not checked at all.
+	 */
+	public DoubleArrayMatcher(ElementPredicate predicate, Consumer<Description> describer, int expectedLength) {
+		this(predicate, describer, expectedLength, DEFAULT_REPORT_LIMIT, false);
+	}
+
+	private DoubleArrayMatcher(ElementPredicate predicate, Consumer<Description> describer,
+			int expectedLength, int reportLimit, boolean parallel) {
+		this.predicate = Objects.requireNonNull(predicate, "predicate");
+		this.describer = Objects.requireNonNull(describer, "describer");
+		this.expectedLength = expectedLength;
+		this.reportLimit = reportLimit;
+		this.parallel = parallel;
+	}
+
+	public ElementPredicate getPredicate() {
+		return predicate;
+	}
+
+	public Consumer<Description> getDescriber() {
+		return describer;
+	}
+
+	/**
+	 * Negative value means that arrays of any length are matched.
+	 */
+	public int getExpectedLength() {
+		return expectedLength;
+	}
+
+	public int getReportLimit() {
+		return reportLimit;
+	}
+
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Create a copy of this matcher reporting no more than the specified number of mismatching elements.
+	 *
+	 * @throws IllegalArgumentException if specified limit is negative
+	 */
+	public DoubleArrayMatcher withReportLimit(int reportLimit) {
+		Preconditions.checkArgument(reportLimit >= 0, "Report limit cannot be negative!");
+		return new DoubleArrayMatcher(predicate, describer, expectedLength, reportLimit, parallel);
+	}
+
+	/**
+	 * Create a copy of this matcher checking big arrays in parallel.
+	 */
+	public DoubleArrayMatcher parallel() {
+		return new DoubleArrayMatcher(predicate, describer, expectedLength, reportLimit, true);
+	}
+
+	@Override
+	public Optional<AssertResult> matches(double[] item, String message, Throwable cause) {
+		if (item == null)
+			return Optional.of(new AssertResult(null, StringDescription.toString(this), message, cause));
+		return checkAll(item.length, i -> item[i], message, cause);
+	}
+
+	/**
+	 * Create matcher performing the same checks for <code>long[]</code> arrays.
+	 * Elements are converted to doubles, so for values greater than 2^53 precision might be lost.
+	 */
+	public ResultProvidingMatcher<long[]> forLongs() {
+		return new ResultProvidingMatcher<long[]>() {
+			@Override
+			public Optional<AssertResult> matches(long[] item, String message, Throwable cause) {
+				if (item == null)
+					return Optional.of(new AssertResult(null, StringDescription.toString(this), message, cause));
+				return checkAll(item.length, i -> item[i], message, cause);
+			}
+			@Override
+			public void describeTo(Description description) {
+				DoubleArrayMatcher.this.describeTo(description);
+			}
+		};
+	}
+
+	/**
+	 * <p>Create matcher performing the same checks for elements of a {@link DoubleStream}.
+	 * Matched stream is consumed.
+	 *
+	 * <p>Sequential matcher iterates the stream element by element without collecting it. Parallel matcher
+	 * collects the stream into an array first, and then checks the array in parallel.
+	 */
+	public ResultProvidingMatcher<DoubleStream> forStreams() {
+		return new ResultProvidingMatcher<DoubleStream>() {
+			@Override
+			public Optional<AssertResult> matches(DoubleStream item, String message, Throwable cause) {
+				if (item == null)
+					return Optional.of(new AssertResult(null, StringDescription.toString(this), message, cause));
+				if (parallel)
+					return DoubleArrayMatcher.this.matches(item.toArray(), message, cause);
+				Mismatches mismatches = new Mismatches(reportLimit);
+				long index = 0;
+				for (PrimitiveIterator.OfDouble it = item.iterator(); it.hasNext(); index++) {
+					double value = it.nextDouble();
+					if (expectedLength < 0 || index < expectedLength)
+						mismatches.check(predicate, index, value);
+				}
+				if (expectedLength >= 0 && index != expectedLength)
+					return Optional.of(createLengthResult(index, message, cause));
+				return mismatches.toResult(index, StringDescription.toString(this), message, cause);
+			}
+			@Override
+			public void describeTo(Description description) {
+				DoubleArrayMatcher.this.describeTo(description);
+			}
+		};
+	}
+
+	private Optional<AssertResult> checkAll(int length, IntToDoubleFunction values, String message, Throwable cause) {
+		if (expectedLength >= 0 && length != expectedLength)
+			return Optional.of(createLengthResult(length, message, cause));
+		return scan(length, values).toResult(length, StringDescription.toString(this), message, cause);
+	}
+
+	private AssertResult createLengthResult(long length, String message, Throwable cause) {
+		return new AssertResult("length " + length, "length " + expectedLength, message, cause);
+	}
+
+	private Mismatches scan(int length, IntToDoubleFunction values) {
+		if (!parallel || length < MIN_CHUNK_SIZE * 2)
+			return scanRange(values, 0, length);
+		int chunks = Math.min(length / MIN_CHUNK_SIZE, ForkJoinPool.getCommonPoolParallelism() * 4);
+		int chunkSize = (length + chunks - 1) / chunks;
+		return IntStream.range(0, chunks).parallel()
+				.mapToObj(c -> scanRange(values, c * chunkSize, Math.min(length, (c + 1) * chunkSize)))
+				.reduce(Mismatches::merge)
+				.get();
+	}
+
+	private Mismatches scanRange(IntToDoubleFunction values, int from, int to) {
+		Mismatches mismatches = new Mismatches(reportLimit);
+		for (int i = from; i < to; i++)
+			mismatches.check(predicate, i, values.applyAsDouble(i));
+		return mismatches;
+	}
+
+	@Override
+	public void describeTo(Description description) {
+		description.appendText("each element ");
+		getDescriber().accept(description);
+	}
+
+	/**
+	 * Predicate of an element of a numeric array, receiving both index and value of the element.
+	 */
+	@FunctionalInterface
+	public interface ElementPredicate {
+		boolean test(long index, double value);
+	}
+
+	private static final class Mismatches {
+
+		private final long[] indexes;
+		private final double[] values;
+		private int size;
+		private long count;
+
+		Mismatches(int limit) {
+			this.indexes = new long[limit];
+			this.values = new double[limit];
+		}
+
+		void check(ElementPredicate predicate, long index, double value) {
+			if (predicate.test(index, value))
+				return;
+			if (size < indexes.length) {
+				indexes[size] = index;
+				values[size++] = value;
+			}
+			count++;
+		}
+
+		/**
+		 * Specified mismatches are expected to follow this ones
+		 */
+		Mismatches merge(Mismatches next) {
+			Mismatches merged = new Mismatches(indexes.length);
+			merged.count = count + next.count;
+			merged.size = Math.min(indexes.length, size + next.size);
+			System.arraycopy(indexes, 0, merged.indexes, 0, size);
+			System.arraycopy(values, 0, merged.values, 0, size);
+			System.arraycopy(next.indexes, 0, merged.indexes, size, merged.size - size);
+			System.arraycopy(next.values, 0, merged.values, size, merged.size - size);
+			return merged;
+		}
+
+		Optional<AssertResult> toResult(long length, Object expected, String message, Throwable cause) {
+			if (count == 0)
+				return Optional.empty();
+			long[] reportedIndexes = new long[size];
+			double[] reportedValues = new double[size];
+			System.arraycopy(indexes, 0, reportedIndexes, 0, size);
+			System.arraycopy(values, 0, reportedValues, 0, size);
+			return Optional.of(new BulkAssertResult(length, count, reportedIndexes, reportedValues, expected, message, cause));
+		}
+	}
+}
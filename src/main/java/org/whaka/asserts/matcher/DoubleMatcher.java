@@ -0,0 +1,61 @@
+package org.whaka.asserts.matcher;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.DoublePredicate;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+/**
+ * <p>{@link Matcher} of numbers delegating actual matching to a {@link DoublePredicate}.
+ * Any matched {@link Number} is converted into a primitive double with {@link Number#doubleValue()},
+ * so no boxing happens at all when a {@link Double} is matched.
+ * <code>null</code>, or any other object is never matched.
+ * 
+ * <p>Method {@link #matchesDouble(double)} allows to match a primitive value directly, without any conversion.
+ * 
+ * @see #DoubleMatcher(DoublePredicate, Consumer)
+ * @see FunctionalMatcher
+ */
+public class DoubleMatcher extends BaseMatcher<Number> {
+
+	private final DoublePredicate predicate;
+	private final Consumer<Description> describer;
+	
+	/**
+	 * Equal to the {@link #DoubleMatcher(DoublePredicate, Consumer)} but with an automatically created
+	 * consumer that calls {@link Description#appendText(String)} with the specified string.
+	 */
+	public DoubleMatcher(DoublePredicate predicate, String description) {
+		this(predicate, d -> d.appendText(description));
+	}
+	
+	public DoubleMatcher(DoublePredicate predicate, Consumer<Description> describer) {
+		this.predicate = Objects.requireNonNull(predicate, "predicate");
+		this.describer = Objects.requireNonNull(describer, "describer");
+	}
+	
+	public DoublePredicate getPredicate() {
+		return predicate;
+	}
+	
+	public Consumer<Description> getDescriber() {
+		return describer;
+	}
+	
+	@Override
+	public boolean matches(Object item) {
+		return item instanceof Number && matchesDouble(((Number) item).doubleValue());
+	}
+	
+	public boolean matchesDouble(double item) {
+		return getPredicate().test(item);
+	}
+	
+	@Override
+	public void describeTo(Description description) {
+		getDescriber().accept(description);
+	}
+}
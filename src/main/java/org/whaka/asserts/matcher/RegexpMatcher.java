@@ -2,6 +2,10 @@ package org.whaka.asserts.matcher;
 
 import static java.util.Objects.*;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.hamcrest.BaseMatcher;
@@ -10,49 +14,129 @@ import org.hamcrest.Factory;
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
 
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
 /**
  * <p>{@link Matcher} implementation that can match <b>any</b> object against regexp {@link Pattern}.
  * Any matched object is converted into a string using {@link String#valueOf(Object)} and then matched
  * against the pattern specified at the construction. Therefore <code>null</code> value will be successfully
  * matched against pattern string: <code>"null"</code>.
  * 
+ * <p>Instances of the {@link CharSequence} (e.g. {@link StringBuilder}, or {@link java.nio.CharBuffer})
+ * are matched directly, without being copied into a string. Each thread reuses the same instance
+ * of the {@link java.util.regex.Matcher} for each matched item.
+ * 
+ * <p>Patterns compiled from strings by the {@link #create(String)} method are cached (see {@link #compile(String)}),
+ * so creating matchers for the same few patterns over and over again is cheap.
+ * 
  * <p><b>Note:</b> if matcher is required to match only strings, or non-null values - {@link Matchers#allOf(Matcher...)}
  * might be used to combine it with additional predicates.
  * 
  * @see #create(String)
  * @see #create(Pattern)
+ * @see #createAny(Collection)
  */
 public class RegexpMatcher extends BaseMatcher<Object> {
 
-	private final Pattern pattern;
+	/**
+	 * Maximum number of compiled patterns stored in the cache.
+	 */
+	public static final int PATTERN_CACHE_SIZE = 256;
+	
+	private static final LoadingCache<String, Pattern> PATTERN_CACHE = CacheBuilder.newBuilder()
+			.maximumSize(PATTERN_CACHE_SIZE)
+			.build(CacheLoader.from((String p) -> Pattern.compile(p)));
+	
+	private final List<Pattern> patterns;
+	private final ThreadLocal<java.util.regex.Matcher[]> matchers;
 	
 	private RegexpMatcher(Pattern pattern) {
-		this.pattern = requireNonNull(pattern, "Pattern cannot be null!");
+		this(Collections.singletonList(requireNonNull(pattern, "Pattern cannot be null!")));
+	}
+	
+	private RegexpMatcher(List<Pattern> patterns) {
+		this.patterns = Collections.unmodifiableList(patterns);
+		this.matchers = ThreadLocal.withInitial(() -> patterns.stream()
+				.map(p -> p.matcher(""))
+				.toArray(java.util.regex.Matcher[]::new));
 	}
 	
+	/**
+	 * The first pattern of the matcher. It's the only one, unless matcher is created by the {@link #createAny(Collection)}.
+	 * 
+	 * @see #getPatterns()
+	 */
 	public Pattern getPattern() {
-		return pattern;
+		return patterns.get(0);
+	}
+	
+	/**
+	 * Unmodifiable list of all the patterns of the matcher. Item is matched if it matches any of them.
+	 */
+	public List<Pattern> getPatterns() {
+		return patterns;
 	}
 	
 	@Override
 	public boolean matches(Object item) {
-		return getPattern().matcher(String.valueOf(item)).matches();
+		return matches(item instanceof CharSequence ? (CharSequence) item : String.valueOf(item));
+	}
+	
+	/**
+	 * Match specified sequence directly, with no conversions.
+	 */
+	public boolean matches(CharSequence item) {
+		for (java.util.regex.Matcher m : matchers.get()) {
+			try {
+				if (m.reset(item).matches())
+					return true;
+			} finally {
+				// matcher should not keep reference to the matched item
+				m.reset("");
+			}
+		}
+		return false;
 	}
 
 	@Override
 	public void describeTo(Description description) {
-		description.appendText("matching ").appendValue(getPattern());
+		if (patterns.size() == 1)
+			description.appendText("matching ").appendValue(getPattern());
+		else
+			description.appendText("matching any of ").appendValueList("[", ", ", "]", patterns);
 	}
 	
 	/**
-	 * Creates new instance of the {@link RegexpMatcher} with a new {@link Pattern} created from the specified string.
+	 * <p>Compile specified string into a pattern, or get the pattern compiled earlier from the cache.
+	 * No more than {@link #PATTERN_CACHE_SIZE} patterns are stored at once, least recently used ones are evicted.
+	 * 
+	 * @throws NullPointerException if specified string is <code>null</code>
+	 * @throws java.util.regex.PatternSyntaxException if specified string is not a valid pattern
+	 */
+	public static Pattern compile(String pattern) {
+		requireNonNull(pattern, "Pattern cannot be null!");
+		try {
+			return PATTERN_CACHE.getUnchecked(pattern);
+		} catch (UncheckedExecutionException e) {
+			throw Throwables.propagate(e.getCause());
+		}
+	}
+	
+	/**
+	 * Creates new instance of the {@link RegexpMatcher} with a {@link Pattern} created from the specified string.
 	 * 
 	 * @see #create(Pattern)
+	 * @see #compile(String)
 	 * @throws NullPointerException if specified string is <code>null</code>
 	 */
 	@Factory
 	public static RegexpMatcher create(String pattern) {
-		return create(Pattern.compile(requireNonNull(pattern, "Pattern cannot be null!")));
+		return create(compile(pattern));
 	}
 	
 	/**
@@ -65,4 +149,29 @@ public class RegexpMatcher extends BaseMatcher<Object> {
 	public static RegexpMatcher create(Pattern pattern) {
 		return new RegexpMatcher(pattern);
 	}
-}
\ No newline at end of file
+	
+	/**
+	 * Equal to {@link #createAny(Collection)}
+	 */
+	@Factory
+	public static RegexpMatcher createAny(String... patterns) {
+		return createAny(Arrays.asList(patterns));
+	}
+	
+	/**
+	 * <p>Creates new instance of the {@link RegexpMatcher} that matches an item if it matches <b>any</b>
+	 * of the specified patterns. Each pattern is compiled separately (see {@link #compile(String)}),
+	 * and an item is matched against them in turn, until the first match. So patterns don't affect each other:
+	 * quotes, comments, flags, or numbered groups of one pattern are never applied to another.
+	 * 
+	 * @throws NullPointerException if specified collection is <code>null</code> or contains <code>null</code>
+	 * @throws IllegalArgumentException if specified collection is empty
+	 * @throws java.util.regex.PatternSyntaxException if any of the specified strings is not a valid pattern
+	 */
+	public static RegexpMatcher createAny(Collection<String> patterns) {
+		Preconditions.checkArgument(!patterns.isEmpty(), "At least one pattern is required!");
+		return new RegexpMatcher(Arrays.asList(patterns.stream()
+				.map(RegexpMatcher::compile)
+				.toArray(Pattern[]::new)));
+	}
+}
@@ -16,6 +16,10 @@ import com.google.common.base.MoreObjects;
  * and contains a collection of 'data'. Column doesn't perform any assertion or validation of the data,
  * it just holds it.
  * 
+ * <p>Primitive data may be stored without boxing in the {@link IntColumn}, {@link LongColumn},
+ * or {@link DoubleColumn}. Each of them provides a regular column (see {@link IntColumn#getColumn()}),
+ * whose data list boxes values only on access.
+ * 
  * <p><b>Note:</b> class doesn't override default hash-code and equals functionality.
  * Each column is immutable and unique "by instance" so they can be compared by links.
  */
@@ -34,13 +38,16 @@ public final class Column<T> {
 	
 	/**
 	 * If specified collection is <code>null</code> - result column will contain empty list as data.
+	 * Data of a primitive column is immutable already, so it's shared instead of being copied.
 	 * 
 	 * @throws NullPointerException if specified key is null
 	 */
+	@SuppressWarnings("unchecked")
 	public Column(ColumnKey<T> key, Collection<T> data) {
 		this.key = requireNonNull(key, "Column key cannot be null!");
-		this.data = data == null || data.isEmpty() ?
-			emptyList() : unmodifiableList(new ArrayList<>(data));
+		this.data = data == null || data.isEmpty() ? emptyList()
+			: data instanceof PrimitiveList ? (List<T>) data
+			: unmodifiableList(new ArrayList<>(data));
 	}
 	
 	@SafeVarargs
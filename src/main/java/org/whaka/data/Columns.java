@@ -1,16 +1,18 @@
 package org.whaka.data;
 
 import static com.google.common.base.Preconditions.*;
-import static org.whaka.util.UberStreams.*;
 import static java.util.Collections.*;
+import static java.util.Objects.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Map;
+import java.util.Spliterator;
 
 import com.google.common.base.MoreObjects;
 
@@ -19,12 +21,15 @@ import com.google.common.base.MoreObjects;
  * <p>Provides functionality to add columns as already created instances, or as keys and data.
  * Also to get, or remove added columns.
  * 
+ * <p>Columns are indexed by their keys (by identity), so lookup of a column by a key takes constant time.
+ * 
  * <p><b>Note:</b> class doesn't override default hash-code and equals functionality!
  * Columns is immutable and unique "by instance" and may be compared by links.
  */
 public final class Columns implements Iterable<Column<?>> {
 
 	public final List<Column<?>> columns;
+	private final Map<ColumnKey<?>, Integer> index;
 	
 	/**
 	 * Equal to {@link #Columns(Collection)} with specified columns
@@ -41,17 +46,21 @@ public final class Columns implements Iterable<Column<?>> {
 	public Columns(Collection<Column<?>> columns) {
 		if (columns == null || columns.isEmpty()) {
 			this.columns = Collections.emptyList();
+			this.index = Collections.emptyMap();
 		}
 		else {
-			checkArgument(!columns.contains(null), "Column cannot be null!");
-			long distinctKeys = stream(columns).map(Column::getKey).distinct().count();
-			checkArgument(columns.size() == distinctKeys, "Keys duplication in the columns!");
 			this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+			this.index = new IdentityHashMap<>(columns.size());
+			for (int i = 0; i < this.columns.size(); i++) {
+				Column<?> column = this.columns.get(i);
+				checkArgument(column != null, "Column cannot be null!");
+				checkArgument(index.put(column.getKey(), i) == null, "Keys duplication in the columns!");
+			}
 		}
 	}
 	
 	public boolean isPresent(ColumnKey<?> key) {
-		return stream(columns).anyMatch(keyMatcher(key));
+		return index.containsKey(key);
 	}
 	
 	/**
@@ -59,11 +68,50 @@ public final class Columns implements Iterable<Column<?>> {
 	 */
 	@SuppressWarnings("unchecked")
 	public <T> Column<T> getColumn(ColumnKey<T> key) {
-		return (Column<T>) stream(columns).find(keyMatcher(key)).orElse(null);
+		int i = indexOf(key);
+		return i < 0 ? null : (Column<T>) columns.get(i);
 	}
 	
-	private static Predicate<Column<?>> keyMatcher(ColumnKey<?> key) {
-		return column -> column.getKey() == key;
+	/**
+	 * Index of the column with the same key as specified, or <code>-1</code>.
+	 */
+	int indexOf(ColumnKey<?> key) {
+		Integer i = index.get(key);
+		return i == null ? -1 : i;
+	}
+	
+	/**
+	 * <p>Create a lightweight {@link Row} view over these columns. Each element of the specified array
+	 * is an index of a value in the column with the same index, or a negative number if the row has no value
+	 * for that column. Array might be shorter than number of columns, then missing columns are treated the same way.
+	 * 
+	 * <p>Array is copied, and values are resolved lazily, when they are requested from the row.
+	 * 
+	 * @throws NullPointerException if specified array is <code>null</code>
+	 * @throws IllegalArgumentException if array is longer than number of columns, or has no non-negative index
+	 * @throws IndexOutOfBoundsException if any index is not less than size of the corresponding column
+	 * 
+	 * @see Rows#Rows(Columns, int[][])
+	 */
+	public Row createRow(int... indexes) {
+		requireNonNull(indexes, "Indexes cannot be null!");
+		return new Row(this, checkIndexes(indexes).clone());
+	}
+	
+	/**
+	 * Validates specified row indexes against these columns, and returns the same array.
+	 */
+	int[] checkIndexes(int[] row) {
+		checkArgument(row.length <= columns.size(), "Row is longer than number of columns!");
+		boolean present = false;
+		for (int i = 0; i < row.length; i++) {
+			if (row[i] >= 0) {
+				checkElementIndex(row[i], columns.get(i).getData().size());
+				present = true;
+			}
+		}
+		checkArgument(present, "Row data cannot be null or empty!");
+		return row;
 	}
 	
 	public List<Column<?>> getColumns() {
@@ -75,6 +123,14 @@ public final class Columns implements Iterable<Column<?>> {
 		return getColumns().iterator();
 	}
 	
+	/**
+	 * Spliterator of the underlying list, so it's sized, and can be split by sizes.
+	 */
+	@Override
+	public Spliterator<Column<?>> spliterator() {
+		return getColumns().spliterator();
+	}
+	
 	@Override
 	public String toString() {
 		return MoreObjects.toStringHelper(this)
@@ -1,18 +1,20 @@
 package org.whaka.data;
 
-import static org.whaka.util.UberStreams.*;
 import static java.util.Collections.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Map;
 
 import com.google.common.base.MoreObjects;
 
 /**
- * Class provides mutable usability functionality to build {@link Columns} instance.
+ * <p>Class provides mutable usability functionality to build {@link Columns} instance.
+ * 
+ * <p>Added columns are indexed by their keys (by identity), so lookup of a column by a key takes constant time.
  * 
  * @see #addColumn(Column)
  * @see #addColumn(Column, int)
@@ -24,9 +26,10 @@ import com.google.common.base.MoreObjects;
 public final class ColumnsBuilder {
 
 	private List<Column<?>> columns = new ArrayList<>();
+	private Map<ColumnKey<?>, Column<?>> index = new IdentityHashMap<>();
 	
 	public boolean isPresent(ColumnKey<?> key) {
-		return stream(getColumns()).anyMatch(keyMatcher(key));
+		return index.containsKey(key);
 	}
 	
 	/**
@@ -34,11 +37,7 @@ public final class ColumnsBuilder {
 	 */
 	@SuppressWarnings("unchecked")
 	public <T> Column<T> getColumn(ColumnKey<T> key) {
-		return (Column<T>) stream(getColumns()).find(keyMatcher(key)).orElse(null);
-	}
-	
-	private static Predicate<Column<?>> keyMatcher(ColumnKey<?> key) {
-		return column -> column.getKey() == key;
+		return (Column<T>) index.get(key);
 	}
 	
 	public List<Column<?>> getColumns() {
@@ -82,6 +81,7 @@ public final class ColumnsBuilder {
 		if (isPresent(key))
 			throw new IllegalArgumentException("Column with specified key is already present: " + getColumn(key));
 		columns.add(idx, column);
+		index.put(key, column);
 		return this;
 	}
 	
@@ -89,9 +89,11 @@ public final class ColumnsBuilder {
 	 * Removes column with the specified key from the list.
 	 * Returns removed column or <code>null</code> if there was no such column.
 	 */
+	@SuppressWarnings("unchecked")
 	public <T> Column<T> removeColumn(ColumnKey<T> key) {
-		Column<T> column = getColumn(key);
-		columns.remove(column);
+		Column<T> column = (Column<T>) index.remove(key);
+		if (column != null)
+			columns.remove(column);
 		return column;
 	}
 	
@@ -0,0 +1,82 @@
+package org.whaka.data;
+
+import static java.util.Objects.*;
+
+import java.nio.DoubleBuffer;
+import java.util.stream.DoubleStream;
+
+/**
+ * <p>Column of the primitive <code>double</code> values. Data is stored in a {@link DoubleBuffer}, either on heap
+ * (wrapping an array), or off heap (see {@link #direct(ColumnKey, double...)}), so no object is created per value.
+ * 
+ * <p>Use {@link #getColumn()} to get a regular {@link Column} that may be used with the {@link Columns},
+ * or any shuffle. Its data is an immutable list view, that boxes values only when they are requested.
+ * Use {@link #getDouble(int)}, {@link #stream()}, or {@link #toArray()} to access values without boxing.
+ * 
+ * <p><b>Note:</b> primitive column cannot contain <code>null</code> values.
+ */
+public final class DoubleColumn extends PrimitiveColumn<Double, DoubleBuffer> {
+
+	/**
+	 * Values are copied into a heap buffer.
+	 * 
+	 * @throws NullPointerException if specified key or data is <code>null</code>
+	 */
+	public DoubleColumn(ColumnKey<Double> key, double... data) {
+		this(key, DoubleBuffer.wrap(requireNonNull(data, "Column data cannot be null!").clone()));
+	}
+
+	private DoubleColumn(ColumnKey<Double> key, DoubleBuffer buffer) {
+		super(key, buffer);
+	}
+
+	public static DoubleColumn create(double... data) {
+		return new DoubleColumn(new ColumnKey<>(Double.class), data);
+	}
+
+	/**
+	 * Create column with values copied into a direct buffer, allocated outside of the heap,
+	 * in the native byte order.
+	 * 
+	 * @throws NullPointerException if specified key or data is <code>null</code>
+	 * @throws IllegalArgumentException if data is too big to fit into a single buffer
+	 */
+	public static DoubleColumn direct(ColumnKey<Double> key, double... data) {
+		requireNonNull(data, "Column data cannot be null!");
+		DoubleBuffer buffer = allocateDirect(data.length, Double.BYTES).asDoubleBuffer();
+		buffer.put(data).flip();
+		return new DoubleColumn(key, buffer.asReadOnlyBuffer());
+	}
+
+	/**
+	 * Equal to {@link #direct(ColumnKey, double...)} with values collected from the specified stream.
+	 */
+	public static DoubleColumn direct(ColumnKey<Double> key, DoubleStream data) {
+		return direct(key, requireNonNull(data, "Column data cannot be null!").toArray());
+	}
+
+	/**
+	 * @throws IndexOutOfBoundsException if index is negative or not less than {@link #size()}
+	 */
+	public double getDouble(int index) {
+		return buffer.get(index);
+	}
+
+	/**
+	 * Sized and splittable stream of the column values.
+	 */
+	public DoubleStream stream() {
+		return indexes().mapToDouble(buffer::get);
+	}
+
+	public double[] toArray() {
+		double[] array = new double[size()];
+		buffer.duplicate().get(array);
+		return array;
+	}
+
+	@Override
+	Double box(int index) {
+		return buffer.get(index);
+	}
+}
@@ -0,0 +1,82 @@
+package org.whaka.data;
+
+import static java.util.Objects.*;
+
+import java.nio.IntBuffer;
+import java.util.stream.IntStream;
+
+/**
+ * <p>Column of the primitive <code>int</code> values. Data is stored in a {@link IntBuffer}, either on heap
+ * (wrapping an array), or off heap (see {@link #direct(ColumnKey, int...)}), so no object is created per value.
+ * 
+ * <p>Use {@link #getColumn()} to get a regular {@link Column} that may be used with the {@link Columns},
+ * or any shuffle. Its data is an immutable list view, that boxes values only when they are requested.
+ * Use {@link #getInt(int)}, {@link #stream()}, or {@link #toArray()} to access values without boxing.
+ * 
+ * <p><b>Note:</b> primitive column cannot contain <code>null</code> values.
+ */
+public final class IntColumn extends PrimitiveColumn<Integer, IntBuffer> {
+
+	/**
+	 * Values are copied into a heap buffer.
+	 * 
+	 * @throws NullPointerException if specified key or data is <code>null</code>
+	 */
+	public IntColumn(ColumnKey<Integer> key, int... data) {
+		this(key, IntBuffer.wrap(requireNonNull(data, "Column data cannot be null!").clone()));
+	}
+
+	private IntColumn(ColumnKey<Integer> key, IntBuffer buffer) {
+		super(key, buffer);
+	}
+
+	public static IntColumn create(int... data) {
+		return new IntColumn(new ColumnKey<>(Integer.class), data);
+	}
+
+	/**
+	 * Create column with values copied into a direct buffer, allocated outside of the heap,
+	 * in the native byte order.
+	 * 
+	 * @throws NullPointerException if specified key or data is <code>null</code>
+	 * @throws IllegalArgumentException if data is too big to fit into a single buffer
+	 */
+	public static IntColumn direct(ColumnKey<Integer> key, int... data) {
+		requireNonNull(data, "Column data cannot be null!");
+		IntBuffer buffer = allocateDirect(data.length, Integer.BYTES).asIntBuffer();
+		buffer.put(data).flip();
+		return new IntColumn(key, buffer.asReadOnlyBuffer());
+	}
+
+	/**
+	 * Equal to {@link #direct(ColumnKey, int...)} with values collected from the specified stream.
+	 */
+	public static IntColumn direct(ColumnKey<Integer> key, IntStream data) {
+		return direct(key, requireNonNull(data, "Column data cannot be null!").toArray());
+	}
+
+	/**
+	 * @throws IndexOutOfBoundsException if index is negative or not less than {@link #size()}
+	 */
+	public int getInt(int index) {
+		return buffer.get(index);
+	}
+
+	/**
+	 * Sized and splittable stream of the column values.
+	 */
+	public IntStream stream() {
+		return indexes().map(buffer::get);
+	}
+
+	public int[] toArray() {
+		int[] array = new int[size()];
+		buffer.duplicate().get(array);
+		return array;
+	}
+
+	@Override
+	Integer box(int index) {
+		return buffer.get(index);
+	}
+}
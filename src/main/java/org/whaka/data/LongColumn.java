@@ -0,0 +1,82 @@
+package org.whaka.data;
+
+import static java.util.Objects.*;
+
+import java.nio.LongBuffer;
+import java.util.stream.LongStream;
+
+/**
+ * <p>Column of the primitive <code>long</code> values. Data is stored in a {@link LongBuffer}, either on heap
+ * (wrapping an array), or off heap (see {@link #direct(ColumnKey, long...)}), so no object is created per value.
+ * 
+ * <p>Use {@link #getColumn()} to get a regular {@link Column} that may be used with the {@link Columns},
+ * or any shuffle. Its data is an immutable list view, that boxes values only when they are requested.
+ * Use {@link #getLong(int)}, {@link #stream()}, or {@link #toArray()} to access values without boxing.
+ * 
+ * <p><b>Note:</b> primitive column cannot contain <code>null</code> values.
+ */
+public final class LongColumn extends PrimitiveColumn<Long, LongBuffer> {
+
+	/**
+	 * Values are copied into a heap buffer.
+	 * 
+	 * @throws NullPointerException if specified key or data is <code>null</code>
+	 */
+	public LongColumn(ColumnKey<Long> key, long... data) {
+		this(key, LongBuffer.wrap(requireNonNull(data, "Column data cannot be null!").clone()));
+	}
+
+	private LongColumn(ColumnKey<Long> key, LongBuffer buffer) {
+		super(key, buffer);
+	}
+
+	public static LongColumn create(long... data) {
+		return new LongColumn(new ColumnKey<>(Long.class), data);
+	}
+
+	/**
+	 * Create column with values copied into a direct buffer, allocated outside of the heap,
+	 * in the native byte order.
+	 * 
+	 * @throws NullPointerException if specified key or data is <code>null</code>
+	 * @throws IllegalArgumentException if data is too big to fit into a single buffer
+	 */
+	public static LongColumn direct(ColumnKey<Long> key, long... data) {
+		requireNonNull(data, "Column data cannot be null!");
+		LongBuffer buffer = allocateDirect(data.length, Long.BYTES).asLongBuffer();
+		buffer.put(data).flip();
+		return new LongColumn(key, buffer.asReadOnlyBuffer());
+	}
+
+	/**
+	 * Equal to {@link #direct(ColumnKey, long...)} with values collected from the specified stream.
+	 */
+	public static LongColumn direct(ColumnKey<Long> key, LongStream data) {
+		return direct(key, requireNonNull(data, "Column data cannot be null!").toArray());
+	}
+
+	/**
+	 * @throws IndexOutOfBoundsException if index is negative or not less than {@link #size()}
+	 */
+	public long getLong(int index) {
+		return buffer.get(index);
+	}
+
+	/**
+	 * Sized and splittable stream of the column values.
+	 */
+	public LongStream stream() {
+		return indexes().mapToLong(buffer::get);
+	}
+
+	public long[] toArray() {
+		long[] array = new long[size()];
+		buffer.duplicate().get(array);
+		return array;
+	}
+
+	@Override
+	Long box(int index) {
+		return buffer.get(index);
+	}
+}
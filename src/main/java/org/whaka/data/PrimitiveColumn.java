@@ -0,0 +1,111 @@
+package org.whaka.data;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.stream.IntStream;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * <p>Base class of the columns of primitive values, stored in a {@link Buffer}. Each instance provides
+ * a regular {@link Column} (see {@link #getColumn()}) whose data is an immutable list view over the buffer,
+ * that boxes values only when they are requested.
+ *
+ * <p><b>Note:</b> buffer is never modified after the column is created, and is never exposed,
+ * so column is immutable.
+ *
+ * @see IntColumn
+ * @see LongColumn
+ * @see DoubleColumn
+ */
+abstract class PrimitiveColumn<T, B extends Buffer> {
+
+	final B buffer;
+	private final Column<T> column;
+
+	/**
+	 * @throws NullPointerException if specified key is <code>null</code>
+	 */
+	PrimitiveColumn(ColumnKey<T> key, B buffer) {
+		this.buffer = buffer;
+		this.column = new Column<>(key, new BufferList());
+	}
+
+	/**
+	 * Allocate a direct buffer, in the native byte order, for the specified number of values
+	 * of the specified size in bytes.
+	 *
+	 * @throws IllegalArgumentException if values don't fit into a single buffer
+	 */
+	static ByteBuffer allocateDirect(int length, int bytes) {
+		checkArgument(length <= Integer.MAX_VALUE / bytes, "Too many values for a direct column: %s", length);
+		return ByteBuffer.allocateDirect(length * bytes).order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Regular column with the same key, that may be used with the {@link Columns}, or any shuffle.
+	 * The same instance is always returned, and its data is not copied.
+	 */
+	public Column<T> getColumn() {
+		return column;
+	}
+
+	public ColumnKey<T> getKey() {
+		return column.getKey();
+	}
+
+	/**
+	 * Equal to #getKey().getType()
+	 */
+	public Class<T> getType() {
+		return column.getType();
+	}
+
+	/**
+	 * Returns <code>true</code> if values are stored outside of the heap.
+	 */
+	public boolean isDirect() {
+		return buffer.isDirect();
+	}
+
+	public int size() {
+		return buffer.limit();
+	}
+
+	/**
+	 * Sized and splittable stream of indexes of all the values.
+	 */
+	IntStream indexes() {
+		return IntStream.range(0, size());
+	}
+
+	/**
+	 * Boxed value with the specified index.
+	 */
+	abstract T box(int index);
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.addValue(getKey())
+				.add("size", size())
+				.add("direct", isDirect())
+				.toString();
+	}
+
+	private final class BufferList extends PrimitiveList<T> {
+
+		@Override
+		public T get(int index) {
+			return box(index);
+		}
+
+		@Override
+		public int size() {
+			return PrimitiveColumn.this.size();
+		}
+	}
+}
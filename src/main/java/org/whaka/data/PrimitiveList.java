@@ -0,0 +1,16 @@
+package org.whaka.data;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * <p>Immutable list view over the primitive data of a column. Values are boxed only when they are requested.
+ * 
+ * <p><b>Note:</b> {@link Column} recognizes instances of this class and shares them instead of copying.
+ * 
+ * @see IntColumn
+ * @see LongColumn
+ * @see DoubleColumn
+ */
+abstract class PrimitiveList<T> extends AbstractList<T> implements RandomAccess {
+}
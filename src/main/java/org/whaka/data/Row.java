@@ -1,15 +1,17 @@
 package org.whaka.data;
 
 import static com.google.common.base.Preconditions.*;
-import static org.whaka.util.UberStreams.*;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.function.Predicate;
 
 import com.google.common.base.MoreObjects;
 
@@ -18,13 +20,22 @@ import com.google.common.base.MoreObjects;
  * 
  * <p>Each row is an ordered collection of {@link RowEntry} instances of various type.
  * The main rule is that row cannot have two entries with the same {@link ColumnKey}.
+ * Entries are indexed by their keys (by identity), so lookup of a value takes constant time.
  * 
- * <p><b>Note:</b> class doesn't override default hash-code and equals functionality!
- * Row is immutable and unique "by instance" and may be compared by links.
+ * <p>Rows of a columnar {@link Rows} are lightweight views over a {@link Columns} and an array of indexes.
+ * Values of such a row are resolved on request, and entries (see {@link #getEntries()}) are created
+ * on each access, and are not retained.
+ * 
+ * <p><b>Note:</b> regular row is immutable and unique "by instance" and may be compared by links.
+ * Columnar rows are created for each request, so they are equal when they are views of the same indexes
+ * over the same {@link Columns} instance (no matter which row of the {@link Rows} it is).
  */
 public final class Row implements Iterable<RowEntry<?>> {
 
 	public final List<RowEntry<?>> entries;
+	private final Map<ColumnKey<?>, RowEntry<?>> index;
+	private final Columns columns;
+	private final int[] indexes;
 	
 	/**
 	 * @throws IllegalArgumentException if specified entries is <code>null</code>, empty,
@@ -33,14 +44,34 @@ public final class Row implements Iterable<RowEntry<?>> {
 	 */
 	public Row(Collection<RowEntry<?>> entries) {
 		checkArgument(entries != null && !entries.isEmpty(), "Row data cannot be null or empty!");
-		checkArgument(!entries.contains(null), "Row data cannot contain null values!");
-		long distinctKeys = stream(entries).map(RowEntry::getKey).distinct().count();
-		checkArgument(entries.size() == distinctKeys, "Keys duplication in the row data!");
 		this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+		this.index = new IdentityHashMap<>(entries.size());
+		for (RowEntry<?> entry : this.entries) {
+			checkArgument(entry != null, "Row data cannot contain null values!");
+			checkArgument(index.put(entry.getKey(), entry) == null, "Keys duplication in the row data!");
+		}
+		this.columns = null;
+		this.indexes = null;
+	}
+	
+	/**
+	 * Columnar row view. Each element of the specified array is an index of a value in the column
+	 * with the same index, or a negative number if the row has no value for that column.
+	 * Arguments are expected to be validated by the {@link Rows}.
+	 */
+	Row(Columns columns, int[] indexes) {
+		this.columns = columns;
+		this.indexes = indexes;
+		this.entries = new ColumnarEntries();
+		this.index = null;
 	}
 	
 	public boolean isPresent(ColumnKey<?> key) {
-		return stream(entries).anyMatch(keyMatcher(key));
+		if (indexes != null) {
+			int column = columns.indexOf(key);
+			return column >= 0 && column < indexes.length && indexes[column] >= 0;
+		}
+		return index.containsKey(key);
 	}
 	
 	/**
@@ -49,13 +80,16 @@ public final class Row implements Iterable<RowEntry<?>> {
 	 */
 	@SuppressWarnings("unchecked")
 	public <T> T getValue(ColumnKey<T> key) {
-		return (T) stream(entries).find(keyMatcher(key))
-			.orElseThrow(() -> new NoSuchElementException("No such column: " + key))
-			.getValue();
-	}
-	
-	private static Predicate<RowEntry<?>> keyMatcher(ColumnKey<?> key) {
-		return value -> value.getKey() == key;
+		if (indexes != null) {
+			int column = columns.indexOf(key);
+			if (column < 0 || column >= indexes.length || indexes[column] < 0)
+				throw new NoSuchElementException("No such column: " + key);
+			return (T) columns.columns.get(column).getData().get(indexes[column]);
+		}
+		RowEntry<?> entry = index.get(key);
+		if (entry == null)
+			throw new NoSuchElementException("No such column: " + key);
+		return (T) entry.getValue();
 	}
 
 	public List<RowEntry<?>> getEntries() {
@@ -67,10 +101,92 @@ public final class Row implements Iterable<RowEntry<?>> {
 		return entries.iterator();
 	}
 	
+	/**
+	 * Regular rows are compared by identity. Columnar rows are equal if they are views of the same
+	 * {@link Columns} instance, and have equal indexes.
+	 */
+	@Override
+	public boolean equals(Object object) {
+		if (this == object)
+			return true;
+		if (indexes != null && object instanceof Row) {
+			Row that = (Row) object;
+			return columns == that.columns && Arrays.equals(indexes, that.indexes);
+		}
+		return false;
+	}
+	
+	@Override
+	public int hashCode() {
+		return indexes != null ? Arrays.hashCode(indexes) : System.identityHashCode(this);
+	}
+	
 	@Override
 	public String toString() {
 		return MoreObjects.toStringHelper(this)
 				.addValue(entries)
 				.toString();
 	}
+	
+	/**
+	 * Entries of a columnar row. Columns with negative indexes are skipped.
+	 * Entries are created on each access, and are not retained.
+	 */
+	private final class ColumnarEntries extends AbstractList<RowEntry<?>> {
+		
+		@Override
+		public RowEntry<?> get(int index) {
+			if (index >= 0)
+				for (int i = 0, n = 0; i < indexes.length; i++)
+					if (indexes[i] >= 0 && n++ == index)
+						return entry(i);
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+		}
+		
+		@Override
+		public int size() {
+			int size = 0;
+			for (int index : indexes)
+				if (index >= 0)
+					size++;
+			return size;
+		}
+		
+		/**
+		 * Linear scan over the indexes, instead of a search for each position.
+		 */
+		@Override
+		public Iterator<RowEntry<?>> iterator() {
+			return new Iterator<RowEntry<?>>() {
+				
+				private int next = skip(0);
+				
+				@Override
+				public boolean hasNext() {
+					return next < indexes.length;
+				}
+				
+				@Override
+				public RowEntry<?> next() {
+					if (!hasNext())
+						throw new NoSuchElementException();
+					RowEntry<?> entry = entry(next);
+					next = skip(next + 1);
+					return entry;
+				}
+			};
+		}
+		
+		private int skip(int from) {
+			while (from < indexes.length && indexes[from] < 0)
+				from++;
+			return from;
+		}
+		
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private RowEntry<?> entry(int column) {
+			Column<?> col = columns.columns.get(column);
+			return new RowEntry(col.getKey(), col.getData().get(indexes[column]));
+		}
+	}
 }
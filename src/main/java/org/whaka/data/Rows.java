@@ -2,11 +2,15 @@ package org.whaka.data;
 
 import static com.google.common.base.Preconditions.*;
 import static java.util.Collections.*;
+import static java.util.Objects.*;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
 
 import com.google.common.base.MoreObjects;
 
@@ -14,8 +18,14 @@ import com.google.common.base.MoreObjects;
  * <p>Class represents a table-like structure as an ordered list of {@link Row} instances.
  * Each row contains a list of entries, and each entry is represented by a {@link ColumnKey} instance.
  * 
+ * <p>Rows may also be created in the columnar form (see {@link #Rows(Columns, int[][])}), holding only
+ * the {@link Columns} and a matrix of value indexes - about 4 bytes per cell. Each {@link Row} of such
+ * instance is a lightweight view, created on each request, and resolving values lazily. Views are not retained,
+ * so memory footprint stays the same no matter how many times rows are traversed.
+ * 
  * <p><b>Note:</b> class doesn't override default hash-code and equals functionality!
- * Rows is immutable and unique "by instance" and may be compared by links.
+ * Rows is immutable and unique "by instance" and may be compared by links. But columnar rows
+ * are not unique by instance: they are equal when they are views of the same row (see {@link Row}).
  */
 public final class Rows implements Iterable<Row> {
 
@@ -27,6 +37,27 @@ public final class Rows implements Iterable<Row> {
 				emptyList() : unmodifiableList(new ArrayList<>(rows));
 	}
 	
+	/**
+	 * <p>Create columnar rows. Each array in the specified matrix represents a single row,
+	 * where each element is an index of a value in the column with the same index in the specified columns.
+	 * Negative index means that row has no value for the corresponding column. Row array might be shorter
+	 * than number of columns, then missing columns are treated the same way.
+	 * 
+	 * <p>Matrix is copied, so later changes to it don't affect created rows.
+	 * 
+	 * @throws NullPointerException if any argument, or any row in the matrix is <code>null</code>
+	 * @throws IllegalArgumentException if any row is longer than number of columns, or has no non-negative index
+	 * @throws IndexOutOfBoundsException if any index is not less than size of the corresponding column
+	 */
+	public Rows(Columns columns, int[][] indexes) {
+		requireNonNull(columns, "Columns cannot be null!");
+		requireNonNull(indexes, "Indexes cannot be null!");
+		int[][] copy = new int[indexes.length][];
+		for (int i = 0; i < indexes.length; i++)
+			copy[i] = columns.checkIndexes(requireNonNull(indexes[i], "Row cannot be null!")).clone();
+		this.rows = copy.length == 0 ? emptyList() : new ColumnarRows(columns, copy);
+	}
+	
 	public List<Row> getRows() {
 		return rows;
 	}
@@ -36,10 +67,42 @@ public final class Rows implements Iterable<Row> {
 		return getRows().iterator();
 	}
 	
+	/**
+	 * Spliterator of the underlying list, so it's sized, and can be split by sizes.
+	 */
+	@Override
+	public Spliterator<Row> spliterator() {
+		return getRows().spliterator();
+	}
+	
 	@Override
 	public String toString() {
 		return MoreObjects.toStringHelper(this)
 				.addValue(rows)
 				.toString();
 	}
+	
+	private static final class ColumnarRows extends AbstractList<Row> implements RandomAccess {
+		
+		private final Columns columns;
+		private final int[][] indexes;
+		
+		public ColumnarRows(Columns columns, int[][] indexes) {
+			this.columns = columns;
+			this.indexes = indexes;
+		}
+		
+		/**
+		 * New view is created for each call, and is not retained.
+		 */
+		@Override
+		public Row get(int index) {
+			return new Row(columns, indexes[index]);
+		}
+		
+		@Override
+		public int size() {
+			return indexes.length;
+		}
+	}
 }
@@ -0,0 +1,173 @@
+package org.whaka.data.shuffle;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
+
+import org.whaka.data.Columns;
+import org.whaka.data.Row;
+import org.whaka.util.function.UberStream;
+
+/**
+ * <p>Shuffle producing full multiplication (cartesian product) of the column dictionaries.
+ * Rows are ordered the same way as nested loops would produce them, so the last column changes first:
+ * <pre>
+ * 	int[] sizes = [2, 3]
+ * 	int[][] rows = [
+ * 		[0, 0],
+ * 		[0, 1],
+ * 		[0, 2],
+ * 		[1, 0],
+ * 		[1, 1],
+ * 		[1, 2],
+ * 	]
+ * </pre>
+ * Empty column is represented by a negative index in each row (see {@link IndexShuffle}).
+ * 
+ * <p>{@link #stream(Columns)} generates rows lazily, with constant memory, so it may be used even when
+ * number of combinations is too big to be materialized. Stream is sized, and splits by ranges of rows,
+ * so it may be effectively processed in parallel.
+ * 
+ * @see #INSTANCE
+ * @see #count(int[])
+ */
+public class CartesianShuffle extends IndexShuffle {
+
+	/**
+	 * Just an instance of the class. Currently shuffle has no state, so all instances act equally.
+	 */
+	public static final CartesianShuffle INSTANCE = new CartesianShuffle();
+
+	public CartesianShuffle() {
+		super(CartesianShuffle::product);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if specified columns are empty,
+	 * or if number of combinations exceeds {@link Long#MAX_VALUE}
+	 */
+	@Override
+	public UberStream<Row> stream(Columns cols) {
+		int[] sizes = columnSizes(cols);
+		Spliterator<Row> spliterator = new ProductSpliterator(cols, sizes, 0, count(sizes));
+		return new UberStream<>(StreamSupport.stream(spliterator, false));
+	}
+
+	/**
+	 * Number of rows in the multiplication of the dictionaries with the specified sizes.
+	 * Empty dictionary doesn't affect the number, but if all of them are empty - result is zero.
+	 * 
+	 * @throws IllegalArgumentException if number of combinations exceeds {@link Long#MAX_VALUE}
+	 */
+	public static long count(int[] sizes) {
+		if (Arrays.stream(sizes).allMatch(size -> size <= 0))
+			return 0;
+		long count = 1;
+		for (int size : sizes) {
+			try {
+				count = Math.multiplyExact(count, Math.max(size, 1));
+			} catch (ArithmeticException e) {
+				throw new IllegalArgumentException("Too many combinations for sizes: " + Arrays.toString(sizes), e);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if number of combinations is too big to fit into an array
+	 */
+	private static int[][] product(int[] sizes) {
+		long count = count(sizes);
+		checkArgument(count < Integer.MAX_VALUE, "Too many combinations to materialize: %s, stream them instead", count);
+		int[][] rows = new int[(int) count][];
+		int[] row = decode(sizes, 0);
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = row.clone();
+			increment(sizes, row);
+		}
+		return rows;
+	}
+
+	/**
+	 * Indexes of the row with the specified number.
+	 */
+	private static int[] decode(int[] sizes, long number) {
+		int[] row = new int[sizes.length];
+		for (int i = sizes.length - 1; i >= 0; i--) {
+			if (sizes[i] <= 0) {
+				row[i] = -1;
+				continue;
+			}
+			row[i] = (int) (number % sizes[i]);
+			number /= sizes[i];
+		}
+		return row;
+	}
+
+	/**
+	 * Moves specified row to the next one, as an odometer.
+	 */
+	private static void increment(int[] sizes, int[] row) {
+		for (int i = sizes.length - 1; i >= 0; i--) {
+			if (sizes[i] <= 0)
+				continue;
+			if (++row[i] < sizes[i])
+				return;
+			row[i] = 0;
+		}
+	}
+
+	private static final class ProductSpliterator implements Spliterator<Row> {
+
+		private final Columns cols;
+		private final int[] sizes;
+		private long index;
+		private final long fence;
+		private int[] row;
+
+		public ProductSpliterator(Columns cols, int[] sizes, long index, long fence) {
+			this.cols = cols;
+			this.sizes = sizes;
+			this.index = index;
+			this.fence = fence;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Row> action) {
+			if (index >= fence)
+				return false;
+			if (row == null)
+				row = decode(sizes, index);
+			else
+				increment(sizes, row);
+			index++;
+			action.accept(cols.createRow(row));
+			return true;
+		}
+
+		@Override
+		public Spliterator<Row> trySplit() {
+			if (row != null)
+				return null;
+			long mid = index + (fence - index) / 2;
+			if (mid <= index)
+				return null;
+			ProductSpliterator prefix = new ProductSpliterator(cols, sizes, index, mid);
+			index = mid;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return fence - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+		}
+	}
+}
@@ -1,9 +1,7 @@
 package org.whaka.data.shuffle;
 
 import static com.google.common.base.Preconditions.*;
-import static org.whaka.util.UberStreams.*;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -14,6 +12,7 @@ import org.whaka.data.Columns;
 import org.whaka.data.Row;
 import org.whaka.data.RowEntry;
 import org.whaka.data.Rows;
+import org.whaka.util.UberStreams;
 
 /**
  * <p>Implementation of a {@link Shuffle} type, that delegates core calculations to a specified function.
@@ -75,23 +74,17 @@ public class IndexShuffle implements Shuffle {
 	
 	@Override
 	public Rows apply(Columns cols) {
-		checkArgument(!cols.getColumns().isEmpty(), "Cannot shuffle empty columns!");
-		int[] columnSizes = stream(cols).map(Column::getData).mapToInt(List::size).toArray();
-		int[][] rowsIndexes = indexCalculator.apply(columnSizes);
-		List<Row> rows = stream(rowsIndexes).map(arr -> createRow(arr, cols)).toList();
-		return new Rows(rows);
+		int[][] rowsIndexes = indexCalculator.apply(columnSizes(cols));
+		return new Rows(cols, rowsIndexes);
 	}
 	
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private static Row createRow(int[] rowIndexes, Columns cols) {
-		List<RowEntry<?>> data = new ArrayList<>();
-		for (int i = 0; i < rowIndexes.length; i++) {
-			if (rowIndexes[i] < 0)
-				continue;
-			Column<?> col = cols.getColumns().get(i);
-			Object value = col.getData().get(rowIndexes[i]);
-			data.add(new RowEntry(col.getKey(), value));
-		}
-		return new Row(data);
+	/**
+	 * "Size array" of the specified columns.
+	 * 
+	 * @throws IllegalArgumentException if specified columns are empty
+	 */
+	static int[] columnSizes(Columns cols) {
+		checkArgument(!cols.getColumns().isEmpty(), "Cannot shuffle empty columns!");
+		return UberStreams.stream(cols).map(Column::getData).mapToInt(List::size).toArray();
 	}
 }
@@ -0,0 +1,90 @@
+package org.whaka.data.shuffle;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import org.whaka.data.Columns;
+import org.whaka.data.Row;
+import org.whaka.util.function.UberStream;
+
+/**
+ * <p>Shuffle producing specified number of rows, where each element is selected from the column dictionary
+ * uniformly at random. Rows may repeat. Empty column is represented by a negative index in each row
+ * (see {@link IndexShuffle}).
+ * 
+ * <p>Each row is calculated from the seed of the shuffle and the number of the row only,
+ * so the same shuffle produces the same rows for the same columns, even if they are streamed in parallel.
+ * 
+ * <p>{@link #stream(Columns)} generates rows lazily, with constant memory, so it may be used for any number of rows.
+ * 
+ * @see #getSeed()
+ */
+public class RandomShuffle extends IndexShuffle {
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private final long rows;
+	private final long seed;
+
+	/**
+	 * Equal to {@link #RandomShuffle(long, long)} with a random seed.
+	 */
+	public RandomShuffle(long rows) {
+		this(rows, ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * @throws IllegalArgumentException if specified number of rows is negative
+	 */
+	public RandomShuffle(long rows, long seed) {
+		super(calculator(rows, seed));
+		this.rows = rows;
+		this.seed = seed;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if specified columns are empty
+	 */
+	@Override
+	public UberStream<Row> stream(Columns cols) {
+		int[] sizes = columnSizes(cols);
+		long count = isEmpty(sizes) ? 0 : rows;
+		return new UberStream<>(LongStream.range(0, count).mapToObj(i -> cols.createRow(randomRow(sizes, seed, i))));
+	}
+
+	private static Function<int[], int[][]> calculator(long rows, long seed) {
+		checkArgument(rows >= 0, "Number of rows cannot be negative!");
+		return sizes -> {
+			checkArgument(rows < Integer.MAX_VALUE, "Too many rows to materialize: %s, stream them instead", rows);
+			int[][] result = new int[isEmpty(sizes) ? 0 : (int) rows][];
+			for (int i = 0; i < result.length; i++)
+				result[i] = randomRow(sizes, seed, i);
+			return result;
+		};
+	}
+
+	private static boolean isEmpty(int[] sizes) {
+		return Arrays.stream(sizes).allMatch(size -> size <= 0);
+	}
+
+	private static int[] randomRow(int[] sizes, long seed, long number) {
+		SplittableRandom random = new SplittableRandom(seed * GOLDEN_GAMMA + number);
+		int[] row = new int[sizes.length];
+		for (int i = 0; i < sizes.length; i++)
+			row[i] = sizes[i] > 0 ? random.nextInt(sizes[i]) : -1;
+		return row;
+	}
+}
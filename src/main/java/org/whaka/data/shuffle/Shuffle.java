@@ -3,11 +3,30 @@ package org.whaka.data.shuffle;
 import java.util.function.Function;
 
 import org.whaka.data.Columns;
+import org.whaka.data.Row;
 import org.whaka.data.Rows;
+import org.whaka.util.UberStreams;
+import org.whaka.util.function.UberStream;
 
 /**
  * <p>Type represents a strategy to convert a collection of columns
  * with various data dictionaries, into a table-like rows.
+ * 
+ * <p>Strategies able to produce rows incrementally may override {@link #stream(Columns)},
+ * so rows are generated lazily and don't have to fit into memory all at once.
+ * 
+ * @see CartesianShuffle
+ * @see RandomShuffle
  */
 public interface Shuffle extends Function<Columns, Rows> {
+
+	/**
+	 * <p>Stream of the rows produced from the specified columns.
+	 * 
+	 * <p>By default result of the {@link #apply(Object)} is streamed, so all rows are created before
+	 * the stream is returned.
+	 */
+	default UberStream<Row> stream(Columns cols) {
+		return UberStreams.stream(apply(cols));
+	}
 }
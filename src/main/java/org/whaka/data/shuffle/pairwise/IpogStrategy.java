@@ -0,0 +1,349 @@
+package org.whaka.data.shuffle.pairwise;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.whaka.data.shuffle.IndexShuffle;
+
+/**
+ * <p>Class implements PairWising strategy as "index mapping" function <code>(int[] -> int[][])</code>
+ * according to {@link IndexShuffle}, using the IPOG algorithm (In-Parameter-Order-General).
+ * 
+ * <p>Unlike the {@link SequentialStrategy} this one produces <i>"true"</i> pairwising: each pair of elements
+ * from any two columns is present in the result at least once. Strategy also tracks pairs that are not covered yet,
+ * instead of matching each candidate row against all the collected rows, so it easily handles dozens of columns
+ * with dozens of elements each.
+ * 
+ * <p>Columns are processed from the biggest to the smallest. Full multiplication of the first two columns
+ * is created, then each next column is added in two steps:
+ * <ul>
+ * 	<li><b>Horizontal growth</b>: for each existing row an element of the new column is selected,
+ * so that it covers the most of the pairs not covered yet.
+ * 	<li><b>Vertical growth</b>: each pair still not covered is placed into an existing row
+ * with <i>"free"</i> elements, or into a new row.
+ * </ul>
+ * Elements left <i>"free"</i> in the end are filled in a round-robin manner. Example:
+ * <pre>
+ * 	// 81 possible combinations are covered by 9 rows - a perfect orthogonal array
+ * 	int[] sizes = [3,3,3,3]
+ * 	int[][] rows = [
+ * 		[0, 0, 0, 0],
+ * 		[0, 1, 1, 1],
+ * 		[0, 2, 2, 2],
+ * 		[1, 0, 1, 2],
+ * 		[1, 1, 2, 0],
+ * 		[1, 2, 0, 1],
+ * 		[2, 0, 2, 1],
+ * 		[2, 1, 0, 2],
+ * 		[2, 2, 1, 0],
+ * 	]
+ * </pre>
+ * Empty column is represented by a negative index in each row.
+ * 
+ * <p>Strategy created with a seed (see {@link #IpogStrategy(long, boolean)}) breaks ties, and fills "free" elements,
+ * starting from a pseudo-random offset for each column, instead of zero. In parallel mode candidate elements for
+ * blocks of rows are scored concurrently (with fork/join), against the state of coverage at the start of the block.
+ * Then rows are processed in order, and scores are corrected by the pairs covered by the previous rows of the block.
+ * So parallel strategy produces exactly the same rows as the sequential one with the same seed,
+ * regardless of number of threads.
+ * 
+ * @see #INSTANCE
+ * @see PairWise
+ */
+public class IpogStrategy implements Function<int[], int[][]> {
+
+	/**
+	 * Unseeded sequential strategy (see {@link #IpogStrategy()}). Seeded or parallel strategies are created
+	 * with {@link #IpogStrategy(long, boolean)}.
+	 */
+	public static final IpogStrategy INSTANCE = new IpogStrategy();
+
+	/**
+	 * Marker of a "free" element in a row, that may be set to any value.
+	 */
+	private static final int ANY = -2;
+
+	/**
+	 * Number of rows scored concurrently in parallel mode.
+	 */
+	private static final int BLOCK_SIZE = 64;
+
+	private final Long seed;
+	private final boolean parallel;
+
+	/**
+	 * Sequential strategy without seed: ties are broken in a round-robin manner, starting from zero.
+	 */
+	public IpogStrategy() {
+		this.seed = null;
+		this.parallel = false;
+	}
+
+	/**
+	 * @param seed used to calculate starting offset of the tie-breaking for each column
+	 * @param parallel if <code>true</code> - candidate elements are scored concurrently
+	 */
+	public IpogStrategy(long seed, boolean parallel) {
+		this.seed = seed;
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Returns <code>null</code> if strategy was created without seed.
+	 */
+	public Long getSeed() {
+		return seed;
+	}
+
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	@Override
+	public int[][] apply(int[] sizes) {
+		int[] order = IntStream.range(0, sizes.length)
+			.filter(i -> sizes[i] > 0)
+			.boxed()
+			.sorted(Comparator.comparingInt(i -> -sizes[i]))
+			.mapToInt(Integer::intValue)
+			.toArray();
+		if (order.length == 0)
+			return new int[0][0];
+		int[] ordered = Arrays.stream(order).map(i -> sizes[i]).toArray();
+		int[] offsets = createOffsets(ordered.length);
+		List<int[]> rows = createInitialRows(ordered);
+		for (int column = 2; column < ordered.length; column++)
+			appendColumn(rows, column, ordered, offsets[column]);
+		return createResult(rows, order, ordered, offsets, sizes.length);
+	}
+
+	/**
+	 * Starting offsets of the tie-breaking for each column. All zero if there's no seed.
+	 */
+	private int[] createOffsets(int columns) {
+		if (seed == null)
+			return new int[columns];
+		return new SplittableRandom(seed).ints(columns, 0, Integer.MAX_VALUE).toArray();
+	}
+
+	/**
+	 * Full multiplication of the first two columns (or just elements of the first one, if it's the only column).
+	 */
+	private static List<int[]> createInitialRows(int[] sizes) {
+		int second = sizes.length > 1 ? sizes[1] : 1;
+		List<int[]> rows = new ArrayList<>(sizes[0] * second);
+		for (int a = 0; a < sizes[0]; a++) {
+			for (int b = 0; b < second; b++) {
+				int[] row = new int[sizes.length];
+				Arrays.fill(row, ANY);
+				row[0] = a;
+				if (sizes.length > 1)
+					row[1] = b;
+				rows.add(row);
+			}
+		}
+		return rows;
+	}
+
+	private void appendColumn(List<int[]> rows, int column, int[] sizes, int offset) {
+		int size = sizes[column];
+		BitSet[] uncovered = new BitSet[column];
+		for (int j = 0; j < column; j++) {
+			uncovered[j] = new BitSet(sizes[j] * size);
+			uncovered[j].set(0, sizes[j] * size);
+		}
+		if (parallel)
+			growHorizontallyInParallel(rows, column, sizes, offset, uncovered);
+		else
+			growHorizontally(rows, column, size, offset, uncovered);
+		growVertically(rows, column, size, uncovered);
+	}
+
+	/**
+	 * Each row gets an element that covers the most of the uncovered pairs. Ties are broken in a round-robin manner,
+	 * to keep elements evenly distributed. If no element covers anything - row is left "free" in the column.
+	 */
+	private static void growHorizontally(List<int[]> rows, int column, int size, int offset, BitSet[] uncovered) {
+		int[] gains = new int[size];
+		for (int r = 0; r < rows.size(); r++) {
+			int[] row = rows.get(r);
+			score(row, column, size, uncovered, gains);
+			int best = selectBest(gains, r, offset);
+			if (best >= 0) {
+				row[column] = best;
+				cover(row, column, size, uncovered);
+			}
+		}
+	}
+
+	/**
+	 * <p>Same as {@link #growHorizontally(List, int, int, int, BitSet[])}, but gains of each block of rows
+	 * are scored concurrently against the coverage at the start of the block.
+	 * 
+	 * <p>Then rows of the block are processed in order. Pairs covered by the previous rows of the block are logged,
+	 * and subtracted from the gains of each next row, before the best element is selected. Coverage only decreases,
+	 * so corrected gains are exactly the same as if the row was scored sequentially.
+	 */
+	private static void growHorizontallyInParallel(List<int[]> rows, int column, int[] sizes, int offset,
+			BitSet[] uncovered) {
+		int size = sizes[column];
+		int[][] gains = new int[BLOCK_SIZE][size];
+		CoveredPairs covered = new CoveredPairs(sizes, column, BLOCK_SIZE * column);
+		for (int from = 0; from < rows.size(); from += BLOCK_SIZE) {
+			int start = from;
+			int length = Math.min(BLOCK_SIZE, rows.size() - from);
+			IntStream.range(0, length).parallel()
+				.forEach(i -> score(rows.get(start + i), column, size, uncovered, gains[i]));
+			covered.clear();
+			for (int i = 0; i < length; i++) {
+				int[] row = rows.get(start + i);
+				covered.subtract(row, column, gains[i]);
+				int best = selectBest(gains[i], start + i, offset);
+				if (best < 0)
+					continue;
+				row[column] = best;
+				for (int j = 0; j < column; j++) {
+					int pair = row[j] * size + best;
+					if (row[j] != ANY && uncovered[j].get(pair)) {
+						uncovered[j].clear(pair);
+						covered.add(j, row[j], best);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stores into the specified array number of the uncovered pairs each element of the column would cover in the row.
+	 */
+	private static void score(int[] row, int column, int size, BitSet[] uncovered, int[] gains) {
+		Arrays.fill(gains, 0);
+		for (int j = 0; j < column; j++) {
+			if (row[j] == ANY)
+				continue;
+			int base = row[j] * size;
+			for (int b = 0; b < size; b++)
+				if (uncovered[j].get(base + b))
+					gains[b]++;
+		}
+	}
+
+	/**
+	 * Element with the biggest positive gain, searched in a round-robin manner starting from the row number
+	 * plus the offset. Or <code>-1</code> if no element covers anything.
+	 */
+	private static int selectBest(int[] gains, int r, int offset) {
+		int size = gains.length;
+		int best = -1;
+		for (int i = 0, b = (int) ((r + (long) offset) % size); i < size; i++, b = (b + 1) % size)
+			if (gains[b] > 0 && (best < 0 || gains[b] > gains[best]))
+				best = b;
+		return best;
+	}
+
+	/**
+	 * Each uncovered pair is placed into the first row that has matching or "free" elements in both columns,
+	 * or into a new row.
+	 */
+	private static void growVertically(List<int[]> rows, int column, int size, BitSet[] uncovered) {
+		for (int j = 0; j < column; j++) {
+			for (int pair = uncovered[j].nextSetBit(0); pair >= 0; pair = uncovered[j].nextSetBit(pair + 1)) {
+				int a = pair / size;
+				int b = pair % size;
+				int[] row = findRow(rows, j, a, column, b);
+				if (row == null) {
+					row = new int[rows.get(0).length];
+					Arrays.fill(row, ANY);
+					rows.add(row);
+				}
+				row[j] = a;
+				row[column] = b;
+				cover(row, column, size, uncovered);
+			}
+		}
+	}
+
+	private static int[] findRow(List<int[]> rows, int j, int a, int column, int b) {
+		for (int[] row : rows)
+			if ((row[j] == a || row[j] == ANY) && (row[column] == b || row[column] == ANY))
+				return row;
+		return null;
+	}
+
+	/**
+	 * Marks all the pairs of the specified row with the element in the specified column as covered.
+	 */
+	private static void cover(int[] row, int column, int size, BitSet[] uncovered) {
+		for (int j = 0; j < column; j++)
+			if (row[j] != ANY)
+				uncovered[j].clear(row[j] * size + row[column]);
+	}
+
+	/**
+	 * Fills "free" elements, and places columns back in the original order, with <code>-1</code>
+	 * in the place of each empty column.
+	 */
+	private static int[][] createResult(List<int[]> rows, int[] order, int[] sizes, int[] offsets, int width) {
+		int[][] result = new int[rows.size()][];
+		for (int r = 0; r < result.length; r++) {
+			int[] row = rows.get(r);
+			result[r] = new int[width];
+			Arrays.fill(result[r], -1);
+			for (int i = 0; i < order.length; i++)
+				result[r][order[i]] = row[i] == ANY ? (int) ((r + (long) offsets[i]) % sizes[i]) : row[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Log of the pairs covered within a block of rows, linked by the element of the previous column,
+	 * so pairs relevant to a row are found without scanning the whole log.
+	 */
+	private static final class CoveredPairs {
+
+		private final int[][] heads;
+		private final int[] elements;
+		private final int[] next;
+		private int count;
+
+		public CoveredPairs(int[] sizes, int column, int capacity) {
+			this.heads = new int[column][];
+			for (int j = 0; j < column; j++)
+				heads[j] = new int[sizes[j]];
+			this.elements = new int[capacity];
+			this.next = new int[capacity];
+		}
+
+		/**
+		 * Log pair of the element <code>a</code> in the column <code>j</code>,
+		 * and the element <code>b</code> in the new column.
+		 */
+		public void add(int j, int a, int b) {
+			elements[count] = b;
+			next[count] = heads[j][a];
+			heads[j][a] = ++count;
+		}
+
+		/**
+		 * Subtract logged pairs of the specified row from the gains of the new column elements.
+		 */
+		public void subtract(int[] row, int column, int[] gains) {
+			for (int j = 0; j < column; j++)
+				if (row[j] != ANY)
+					for (int e = heads[j][row[j]]; e > 0; e = next[e - 1])
+						gains[elements[e - 1]]--;
+		}
+
+		public void clear() {
+			for (int[] head : heads)
+				Arrays.fill(head, 0);
+			count = 0;
+		}
+	}
+}
@@ -3,13 +3,17 @@ package org.whaka.data.shuffle.pairwise;
 import java.util.function.Function;
 
 import org.whaka.data.Columns;
+import org.whaka.data.Row;
 import org.whaka.data.Rows;
 import org.whaka.data.shuffle.IndexShuffle;
 import org.whaka.data.shuffle.Shuffle;
+import org.whaka.util.function.UberStream;
 
 /**
  * 
  * @see #SEQUENTIAL
+ * @see #IPOG
+ * @see #PARALLEL
  */
 public final class PairWise implements Shuffle {
 
@@ -21,6 +25,25 @@ public final class PairWise implements Shuffle {
 	 */
 	public static final PairWise SEQUENTIAL = new PairWise(SequentialStrategy.INSTANCE);
 	
+	/**
+	 * <p>PairWising shuffle, covering each pair of elements from any two columns,
+	 * while tracking pairs that are not covered yet. Suitable for big numbers of columns.
+	 * 
+	 * @see #ipog(Columns)
+	 * @see IpogStrategy
+	 */
+	public static final PairWise IPOG = new PairWise(IpogStrategy.INSTANCE);
+	
+	/**
+	 * <p>Same as {@link #IPOG}, but candidate rows are scored concurrently (with fork/join),
+	 * using zero as a seed. Result is the same no matter how many threads are available.
+	 * 
+	 * @see #parallel(Columns)
+	 * @see #parallel(long)
+	 * @see IpogStrategy#IpogStrategy(long, boolean)
+	 */
+	public static final PairWise PARALLEL = parallel(0);
+	
 	private final Shuffle delegate;
 	
 	private PairWise(Function<int[], int[][]> strategy) {
@@ -36,6 +59,11 @@ public final class PairWise implements Shuffle {
 		return delegate.apply(t);
 	}
 	
+	@Override
+	public UberStream<Row> stream(Columns cols) {
+		return delegate.stream(cols);
+	}
+	
 	/**
 	 * <p>Performs {@link Shuffle} operation using {@link #SEQUENTIAL} instance.
 	 * <p>Usability method for more comfortable manual use.
@@ -43,4 +71,30 @@ public final class PairWise implements Shuffle {
 	public static Rows sequential(Columns cols) {
 		return SEQUENTIAL.apply(cols);
 	}
+	
+	/**
+	 * <p>Performs {@link Shuffle} operation using {@link #IPOG} instance.
+	 * <p>Usability method for more comfortable manual use.
+	 */
+	public static Rows ipog(Columns cols) {
+		return IPOG.apply(cols);
+	}
+	
+	/**
+	 * <p>Performs {@link Shuffle} operation using {@link #PARALLEL} instance.
+	 * <p>Usability method for more comfortable manual use.
+	 */
+	public static Rows parallel(Columns cols) {
+		return PARALLEL.apply(cols);
+	}
+	
+	/**
+	 * <p>Creates parallel PairWising shuffle with the specified seed. The same seed always produces the same rows
+	 * for the same columns.
+	 * 
+	 * @see #PARALLEL
+	 */
+	public static PairWise parallel(long seed) {
+		return new PairWise(new IpogStrategy(seed, true));
+	}
 }
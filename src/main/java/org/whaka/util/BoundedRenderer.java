@@ -0,0 +1,255 @@
+package org.whaka.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * <p>Renders objects into strings (or any {@link Appendable}) with a fixed "budget", so that size of the output
+ * and time spent on it stay bounded no matter how big the rendered value is.
+ *
+ * <p>Arrays, collections and maps are rendered recursively in the same format as {@link UberObjects#toString(Object)}
+ * does, but:
+ * <ul>
+ * 	<li>No more than {@link #getMaxElements()} elements of each array, collection, or map are rendered.
+ * The rest is replaced with the marker: <code>"... (N more)"</code>
+ * 	<li>Containers deeper than {@link #getMaxDepth()} levels are replaced with <code>"[...]"</code> or <code>"{...}"</code>
+ * 	<li>No more than {@link #getMaxChars()} characters are written. Output is cut at the limit,
+ * and {@link #ELLIPSIS} is appended.
+ * </ul>
+ *
+ * <p><b>Note:</b> any other object is rendered with {@link String#valueOf(Object)}, so the budget can limit
+ * only the size of the output, but not the time spent by the {@link Object#toString()} itself.
+ *
+ * @see #DEFAULT
+ * @see #render(Object)
+ * @see #render(Object, Appendable)
+ */
+public final class BoundedRenderer {
+
+	/**
+	 * Marker appended to the output when it got cut by the characters limit.
+	 */
+	public static final String ELLIPSIS = "...";
+
+	/**
+	 * Renderer with limits of 4096 characters, 100 elements, and depth of 8.
+	 * Used to render assertion results.
+	 */
+	public static final BoundedRenderer DEFAULT = new BoundedRenderer(4096, 100, 8);
+
+	private final int maxChars;
+	private final int maxElements;
+	private final int maxDepth;
+
+	/**
+	 * @throws IllegalArgumentException if any of the specified limits is not positive
+	 */
+	public BoundedRenderer(int maxChars, int maxElements, int maxDepth) {
+		Preconditions.checkArgument(maxChars > 0, "Max chars should be positive!");
+		Preconditions.checkArgument(maxElements > 0, "Max elements should be positive!");
+		Preconditions.checkArgument(maxDepth > 0, "Max depth should be positive!");
+		this.maxChars = maxChars;
+		this.maxElements = maxElements;
+		this.maxDepth = maxDepth;
+	}
+
+	public int getMaxChars() {
+		return maxChars;
+	}
+
+	public int getMaxElements() {
+		return maxElements;
+	}
+
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * Create a copy of this renderer with the specified characters limit.
+	 */
+	public BoundedRenderer withMaxChars(int maxChars) {
+		return new BoundedRenderer(maxChars, maxElements, maxDepth);
+	}
+
+	/**
+	 * Create a copy of this renderer with the specified elements limit.
+	 */
+	public BoundedRenderer withMaxElements(int maxElements) {
+		return new BoundedRenderer(maxChars, maxElements, maxDepth);
+	}
+
+	/**
+	 * Create a copy of this renderer with the specified depth limit.
+	 */
+	public BoundedRenderer withMaxDepth(int maxDepth) {
+		return new BoundedRenderer(maxChars, maxElements, maxDepth);
+	}
+
+	/**
+	 * Render specified object into a string.
+	 *
+	 * @see #render(Object, Appendable)
+	 */
+	public String render(Object o) {
+		return render(o, new StringBuilder()).toString();
+	}
+
+	/**
+	 * Render specified object into the specified appendable. Appendable is returned.
+	 * Any {@link IOException} thrown by the appendable is wrapped into an {@link UncheckedIOException}.
+	 */
+	public <A extends Appendable> A render(Object o, A out) {
+		try {
+			renderValue(o, new Budget(out, maxChars), 0);
+		} catch (BudgetExhausted e) {
+			// output is already finished with the ellipsis
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out;
+	}
+
+	private void renderValue(Object o, Budget out, int depth) throws IOException {
+		if (o instanceof CharSequence)
+			out.append((CharSequence) o);
+		else if (o != null && o.getClass().isArray())
+			renderArray(o, out, depth);
+		else if (o instanceof Collection<?>)
+			renderCollection((Collection<?>) o, out, depth);
+		else if (o instanceof Map<?, ?>)
+			renderMap((Map<?, ?>) o, out, depth);
+		else
+			out.append(String.valueOf(o));
+	}
+
+	private void renderArray(Object array, Budget out, int depth) throws IOException {
+		if (depth >= maxDepth) {
+			out.append("[...]");
+			return;
+		}
+		int length = Array.getLength(array);
+		out.append('[');
+		for (int i = 0; i < length; i++) {
+			if (i > 0)
+				out.append(", ");
+			if (i == maxElements) {
+				appendMore(out, length - i);
+				break;
+			}
+			renderValue(Array.get(array, i), out, depth + 1);
+		}
+		out.append(']');
+	}
+
+	private void renderCollection(Collection<?> col, Budget out, int depth) throws IOException {
+		if (depth >= maxDepth) {
+			out.append("[...]");
+			return;
+		}
+		out.append('[');
+		Iterator<?> iterator = col.iterator();
+		for (int i = 0; iterator.hasNext(); i++) {
+			if (i > 0)
+				out.append(", ");
+			if (i == maxElements) {
+				appendMore(out, col.size() - i);
+				break;
+			}
+			Object next = iterator.next();
+			renderValue(next == col ? "(this Collection)" : next, out, depth + 1);
+		}
+		out.append(']');
+	}
+
+	private void renderMap(Map<?, ?> map, Budget out, int depth) throws IOException {
+		if (depth >= maxDepth) {
+			out.append("{...}");
+			return;
+		}
+		out.append('{');
+		Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator();
+		for (int i = 0; iterator.hasNext(); i++) {
+			if (i > 0)
+				out.append(", ");
+			if (i == maxElements) {
+				appendMore(out, map.size() - i);
+				break;
+			}
+			Map.Entry<?, ?> e = iterator.next();
+			renderValue(e.getKey() == map ? "(this Map)" : e.getKey(), out, depth + 1);
+			out.append('=');
+			renderValue(e.getValue() == map ? "(this Map)" : e.getValue(), out, depth + 1);
+		}
+		out.append('}');
+	}
+
+	private static void appendMore(Budget out, int more) throws IOException {
+		out.append("... (").append(String.valueOf(more)).append(" more)");
+	}
+
+	/**
+	 * Appendable that passes through no more than specified number of characters,
+	 * then appends {@link BoundedRenderer#ELLIPSIS} and throws {@link BudgetExhausted}.
+	 */
+	private static final class Budget implements Appendable {
+
+		private final Appendable out;
+		private int remaining;
+
+		public Budget(Appendable out, int remaining) {
+			this.out = out;
+			this.remaining = remaining;
+		}
+
+		@Override
+		public Budget append(CharSequence csq) throws IOException {
+			return append(csq, 0, csq.length());
+		}
+
+		@Override
+		public Budget append(CharSequence csq, int start, int end) throws IOException {
+			int length = end - start;
+			if (length <= remaining) {
+				out.append(csq, start, end);
+				remaining -= length;
+				return this;
+			}
+			out.append(csq, start, start + remaining).append(ELLIPSIS);
+			remaining = 0;
+			throw BudgetExhausted.INSTANCE;
+		}
+
+		@Override
+		public Budget append(char c) throws IOException {
+			if (remaining == 0) {
+				out.append(ELLIPSIS);
+				throw BudgetExhausted.INSTANCE;
+			}
+			out.append(c);
+			remaining--;
+			return this;
+		}
+	}
+
+	/**
+	 * Stackless exception used to interrupt rendering once the budget is exhausted.
+	 * Neither stack trace nor suppression is recorded, so the shared instance stays immutable.
+	 */
+	private static final class BudgetExhausted extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final BudgetExhausted INSTANCE = new BudgetExhausted();
+
+		private BudgetExhausted() {
+			super("Rendering budget is exhausted", null, false, false);
+		}
+	}
+}
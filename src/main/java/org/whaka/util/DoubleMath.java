@@ -42,6 +42,28 @@ public final class DoubleMath {
 	 */
 	public static final int MAXIMUM_POSSIBLE_DECIMALS = 42;
 
+	/*
+	 * Powers of ten from 0 to MAXIMUM_POSSIBLE_DECIMALS (positive and negative) are precalculated with Math#pow,
+	 * so using them gives exactly the same results as calling Math#pow each time.
+	 */
+	private static final double[] POWERS_OF_TEN = new double[MAXIMUM_POSSIBLE_DECIMALS + 1];
+	private static final double[] NEGATIVE_POWERS_OF_TEN = new double[MAXIMUM_POSSIBLE_DECIMALS + 1];
+
+	/*
+	 * Math#log10 might round a value just below a power of ten up to the exact power.
+	 * Values that close to a power of ten are resolved with the Math#log10 itself.
+	 */
+	private static final double[] LOG10_SAFE_BOUNDS = new double[MAXIMUM_DEFAULT_DECIMALS + 2];
+
+	static {
+		for (int i = 0; i <= MAXIMUM_POSSIBLE_DECIMALS; i++) {
+			POWERS_OF_TEN[i] = Math.pow(10, i);
+			NEGATIVE_POWERS_OF_TEN[i] = Math.pow(10, -i);
+		}
+		for (int i = 0; i < LOG10_SAFE_BOUNDS.length; i++)
+			LOG10_SAFE_BOUNDS[i] = POWERS_OF_TEN[i] * (1.0 - 1e-12);
+	}
+
 	private DoubleMath() {
 	}
 	
@@ -104,7 +126,7 @@ public final class DoubleMath {
 	}
 
 	public static int compare(double a, double b) {
-		return performCompareWithOptionalAccuracy(a, b, null);
+		return performCompareWithOptionalAccuracy(a, b, Double.NaN);
 	}
 
 	public static int compare(double a, double b, double accuracy) {
@@ -114,23 +136,26 @@ public final class DoubleMath {
 		return performCompareWithOptionalAccuracy(a, b, accuracy);
 	}
 
+	/**
+	 * {@link Double#NaN} as accuracy means that it's selected automatically
+	 */
 	private static int performCompareWithOptionalAccuracy(double a, double b,
-			Double accuracy) {
+			double accuracy) {
 		if (!Double.isFinite(a) || !Double.isFinite(b))
 			return Double.compare(a, b);
 		int lastDecimal = getLastAffectedDecimal(a);
 		if (lastDecimal != getLastAffectedDecimal(b))
 			return Double.compare(a, b);
-		if (accuracy == null)
-			accuracy = Math.pow(10, -lastDecimal);
-		double delta = roundTo(a - b, lastDecimal + 1);
+		if (Double.isNaN(accuracy))
+			accuracy = NEGATIVE_POWERS_OF_TEN[lastDecimal];
+		double delta = performRound(a - b, lastDecimal + 1);
 		if (Math.abs(delta) >= accuracy)
 			return (int) Math.signum(delta);
 		return 0;
 	}
 
 	public static double round(double a) {
-		return roundTo(a, getLastAffectedDecimal(a));
+		return performRound(a, getLastAffectedDecimal(a));
 	}
 
 	/**
@@ -161,10 +186,24 @@ public final class DoubleMath {
 	 * than {@link #MAXIMUM_DEFAULT_DECIMALS}.<br>
 	 * Basically for any <code>x</code> where <code>|x| < 10.0</code> - maximum possible accuracy will be used.<br>
 	 * For any double with more than {@value #MAXIMUM_DEFAULT_DECIMALS} digits before decimal point - 0 is returned.
+	 * 
+	 * <p>Number of digits is found with a table of precalculated powers of ten, instead of calculating logarithm,
+	 * but the result is always the same.
 	 */
 	public static int getLastAffectedDecimal(double d) {
 		if (!Double.isFinite(d))
 			return 0;
+		double abs = Math.abs(d);
+		for (int i = 1; i < LOG10_SAFE_BOUNDS.length; i++) {
+			if (abs < LOG10_SAFE_BOUNDS[i])
+				return MAXIMUM_DEFAULT_DECIMALS - (i - 1);
+			if (abs < POWERS_OF_TEN[i])
+				return getLastAffectedDecimalByLogarithm(abs);
+		}
+		return 0;
+	}
+
+	private static int getLastAffectedDecimalByLogarithm(double d) {
 		int decimalPosition = (int) Math.log10(Math.abs(d));
 		if (decimalPosition < 0)
 			return MAXIMUM_DEFAULT_DECIMALS;
@@ -181,11 +220,15 @@ public final class DoubleMath {
 				Math.abs(decimals) <= MAXIMUM_POSSIBLE_DECIMALS,
 				"Illegal decimals! Max possible value: "
 						+ MAXIMUM_POSSIBLE_DECIMALS);
+		return performRound(a, decimals);
+	}
+
+	private static double performRound(double a, int decimals) {
 		if (!Double.isFinite(a))
 			return a;
 		if (decimals == 0)
 			return Math.round(a);
-		double pow = Math.pow(10, decimals);
+		double pow = decimals > 0 ? POWERS_OF_TEN[decimals] : NEGATIVE_POWERS_OF_TEN[-decimals];
 		return Math.round(a * pow) / pow;
 	}
 }
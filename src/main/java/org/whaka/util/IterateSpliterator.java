@@ -0,0 +1,228 @@
+package org.whaka.util;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * <p>Spliterator presenting the seed and each next value produced by the function from the previous one,
+ * while values are matched by the validator. Validator and function are called exactly once for each
+ * presented value. Same as {@link UberIterators.FunctionIterator} next value is produced right when
+ * the current one is presented.
+ * 
+ * <p>Unlike an iterator based spliterator this one keeps its state in plain fields. It's split by
+ * copying a batch of the next values into an array. First batch contains {@link #INITIAL_BATCH} values,
+ * and each next batch is twice as big, up to the {@link #MAX_BATCH} values. So parallel downstream work is
+ * distributed even if the iteration is short.
+ * 
+ * <p>Primitive versions are {@link OfInt} and {@link OfLong}.
+ * 
+ * @see UberStreams#iterate(Object, Function, Predicate)
+ */
+class IterateSpliterator<T> implements Spliterator<T> {
+
+	static final int INITIAL_BATCH = 64;
+	static final int MAX_BATCH = 1 << 16;
+	
+	private final Function<T, T> next;
+	private final Predicate<T> validator;
+	private T current;
+	private boolean finished;
+	private int batch = INITIAL_BATCH;
+	
+	public IterateSpliterator(T seed, Function<T, T> next, Predicate<T> validator) {
+		this.current = seed;
+		this.next = Objects.requireNonNull(next, "Next function cannot be null!");
+		this.validator = Objects.requireNonNull(validator, "Validator cannot be null!");
+	}
+	
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if (finished || !validator.test(current)) {
+			finished = true;
+			return false;
+		}
+		T t = current;
+		current = next.apply(t);
+		action.accept(t);
+		return true;
+	}
+	
+	@Override
+	public void forEachRemaining(Consumer<? super T> action) {
+		while (!finished && validator.test(current)) {
+			T t = current;
+			current = next.apply(t);
+			action.accept(t);
+		}
+		finished = true;
+	}
+	
+	@Override
+	public Spliterator<T> trySplit() {
+		if (finished)
+			return null;
+		Object[] array = new Object[batch];
+		int size = 0;
+		while (size < array.length && validator.test(current)) {
+			array[size++] = current;
+			current = next.apply(current);
+		}
+		finished = size < array.length;
+		batch = Math.min(batch << 1, MAX_BATCH);
+		return size == 0 ? null : Spliterators.spliterator(array, 0, size, ORDERED);
+	}
+	
+	@Override
+	public long estimateSize() {
+		return finished ? 0 : Long.MAX_VALUE;
+	}
+	
+	@Override
+	public int characteristics() {
+		return ORDERED;
+	}
+	
+	/**
+	 * Primitive int version of the {@link IterateSpliterator}.
+	 * 
+	 * @see UberStreams#iterateInt(int, IntUnaryOperator, IntPredicate)
+	 */
+	static class OfInt implements Spliterator.OfInt {
+		
+		private final IntUnaryOperator next;
+		private final IntPredicate validator;
+		private int current;
+		private boolean finished;
+		private int batch = INITIAL_BATCH;
+		
+		public OfInt(int seed, IntUnaryOperator next, IntPredicate validator) {
+			this.current = seed;
+			this.next = Objects.requireNonNull(next, "Next function cannot be null!");
+			this.validator = Objects.requireNonNull(validator, "Validator cannot be null!");
+		}
+		
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			if (finished || !validator.test(current)) {
+				finished = true;
+				return false;
+			}
+			int t = current;
+			current = next.applyAsInt(t);
+			action.accept(t);
+			return true;
+		}
+		
+		@Override
+		public void forEachRemaining(IntConsumer action) {
+			while (!finished && validator.test(current)) {
+				int t = current;
+				current = next.applyAsInt(t);
+				action.accept(t);
+			}
+			finished = true;
+		}
+		
+		@Override
+		public Spliterator.OfInt trySplit() {
+			if (finished)
+				return null;
+			int[] array = new int[batch];
+			int size = 0;
+			while (size < array.length && validator.test(current)) {
+				array[size++] = current;
+				current = next.applyAsInt(current);
+			}
+			finished = size < array.length;
+			batch = Math.min(batch << 1, MAX_BATCH);
+			return size == 0 ? null : Spliterators.spliterator(array, 0, size, ORDERED | NONNULL | IMMUTABLE);
+		}
+		
+		@Override
+		public long estimateSize() {
+			return finished ? 0 : Long.MAX_VALUE;
+		}
+		
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL | IMMUTABLE;
+		}
+	}
+	
+	/**
+	 * Primitive long version of the {@link IterateSpliterator}.
+	 * 
+	 * @see UberStreams#iterateLong(long, LongUnaryOperator, LongPredicate)
+	 */
+	static class OfLong implements Spliterator.OfLong {
+		
+		private final LongUnaryOperator next;
+		private final LongPredicate validator;
+		private long current;
+		private boolean finished;
+		private int batch = INITIAL_BATCH;
+		
+		public OfLong(long seed, LongUnaryOperator next, LongPredicate validator) {
+			this.current = seed;
+			this.next = Objects.requireNonNull(next, "Next function cannot be null!");
+			this.validator = Objects.requireNonNull(validator, "Validator cannot be null!");
+		}
+		
+		@Override
+		public boolean tryAdvance(LongConsumer action) {
+			if (finished || !validator.test(current)) {
+				finished = true;
+				return false;
+			}
+			long t = current;
+			current = next.applyAsLong(t);
+			action.accept(t);
+			return true;
+		}
+		
+		@Override
+		public void forEachRemaining(LongConsumer action) {
+			while (!finished && validator.test(current)) {
+				long t = current;
+				current = next.applyAsLong(t);
+				action.accept(t);
+			}
+			finished = true;
+		}
+		
+		@Override
+		public Spliterator.OfLong trySplit() {
+			if (finished)
+				return null;
+			long[] array = new long[batch];
+			int size = 0;
+			while (size < array.length && validator.test(current)) {
+				array[size++] = current;
+				current = next.applyAsLong(current);
+			}
+			finished = size < array.length;
+			batch = Math.min(batch << 1, MAX_BATCH);
+			return size == 0 ? null : Spliterators.spliterator(array, 0, size, ORDERED | NONNULL | IMMUTABLE);
+		}
+		
+		@Override
+		public long estimateSize() {
+			return finished ? 0 : Long.MAX_VALUE;
+		}
+		
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL | IMMUTABLE;
+		}
+	}
+}
@@ -1,11 +1,17 @@
 package org.whaka.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 
 /**
  * <b>Note:</b> methods
@@ -21,6 +27,16 @@ import java.util.function.BiPredicate;
  * 	<li>{@link #containsEqualElements(Collection, Collection)}
  * </ul>
  * Use default 'deep-equal' predicate. See: {@link UberCollections#deepEqualsPredicate()}
+ * 
+ * <p>When the default predicate is used, and all the elements are of the types known to have {@link Object#hashCode()}
+ * consistent with {@link Object#equals(Object)} (strings, boxed primitives, enums, and classes) - elements
+ * are compared by hashing, which takes linear time instead of quadratic. Elements of any other type are compared
+ * pairwise, so results never depend on their hash codes. Methods:
+ * <ul>
+ * 	<li>{@link #containsAllBy(Collection, Collection, Function)}
+ * 	<li>{@link #containsEqualElementsBy(Collection, Collection, Function)}
+ * </ul>
+ * Always compare elements by hashing the keys produced by the specified function.
  */
 public class UberCollections {
 	
@@ -45,6 +61,25 @@ public class UberCollections {
 		return col1.size() == col2.size() && containsAll(col1, col2, predicate);
 	}
 	
+	/**
+	 * <p>Elements order is not important. Elements are considered equal if keys produced by the specified function
+	 * are equal. Each element is matched only once, so collections are compared as multisets of keys.
+	 * 
+	 * <p>Keys are compared by hashing, so the method performs in linear time.
+	 * 
+	 * <p><b>Note:</b> keys are required to have {@link Object#hashCode()} consistent with {@link Object#equals(Object)},
+	 * otherwise equal keys might not be matched. Arrays are compared by identity, so they are not suitable as keys.
+	 * 
+	 * @see #containsAllBy(Collection, Collection, Function)
+	 */
+	public static <T> boolean containsEqualElementsBy(Collection<? extends T> col1, Collection<? extends T> col2, Function<? super T, ?> key) {
+		if ((col1 == null || col2 == null) && col1 != col2)
+			return false;
+		if (col1 == col2)
+			return true;
+		return col1.size() == col2.size() && containsAllBy(col1, col2, key);
+	}
+	
 	/**
 	 * Equal to {@link #containsAny(Collection, Collection, BiPredicate)} with element wrapped into singleton list.
 	 */
@@ -59,6 +94,10 @@ public class UberCollections {
 	public static <T> boolean containsAny(Collection<? extends T> col, Collection<? extends T> anyOf, BiPredicate<T, T> predicate) {
 		if (anyOf.isEmpty())
 			return true;
+		if (predicate == DEEP_EQUALS_PREDICATE && isHashable(col) && isHashable(anyOf)) {
+			Set<T> set = new HashSet<>(anyOf);
+			return col.stream().anyMatch(set::contains);
+		}
 		for (T o : anyOf)
 			for (T t : col)
 				if (predicate.test(t, o))
@@ -71,6 +110,8 @@ public class UberCollections {
 	}
 	
 	public static <T> boolean containsAll(Collection<? extends T> col, Collection<? extends T> allOf, BiPredicate<T, T> predicate) {
+		if (predicate == DEEP_EQUALS_PREDICATE && isHashable(col) && isHashable(allOf))
+			return containsAllBy(col, allOf, Function.identity());
 		List<T> list = new ArrayList<>(col);
 		for (T item : allOf) {
 			int idx = UberLists.getIndex(list, item, predicate);
@@ -82,6 +123,48 @@ public class UberCollections {
 		return true;
 	}
 	
+	/**
+	 * <p>Check that the first collection contains an element with an equal key for each element of the second collection.
+	 * Each element is matched only once, so if the second collection contains the same key twice - the first one
+	 * also has to contain it at least twice.
+	 * 
+	 * <p>Keys are counted in a hash map, so the method performs in linear time.
+	 * 
+	 * <p><b>Note:</b> keys are required to have {@link Object#hashCode()} consistent with {@link Object#equals(Object)},
+	 * otherwise equal keys might not be matched. Arrays are compared by identity, so they are not suitable as keys.
+	 */
+	public static <T> boolean containsAllBy(Collection<? extends T> col, Collection<? extends T> allOf, Function<? super T, ?> key) {
+		if (allOf.size() > col.size())
+			return false;
+		Map<Object, int[]> counters = new HashMap<>(col.size() * 4 / 3 + 1);
+		for (T t : col)
+			counters.computeIfAbsent(key.apply(t), k -> new int[1])[0]++;
+		for (T t : allOf) {
+			int[] counter = counters.get(key.apply(t));
+			if (counter == null || counter[0]-- == 0)
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Types whose deep equality is the same as {@link Object#equals(Object)},
+	 * and whose hash codes are known to be consistent with it.
+	 */
+	private static final Set<Class<?>> HASHABLE_TYPES = new HashSet<>(Arrays.asList(
+			String.class, Boolean.class, Character.class, Byte.class, Short.class,
+			Integer.class, Long.class, Float.class, Double.class, Class.class));
+	
+	/**
+	 * All the elements are either <code>null</code>, enums, or of the {@link #HASHABLE_TYPES}.
+	 */
+	private static boolean isHashable(Collection<?> col) {
+		for (Object o : col)
+			if (o != null && !HASHABLE_TYPES.contains(o.getClass()) && !(o instanceof Enum<?>))
+				return false;
+		return true;
+	}
+	
 	public static String toString(Collection<?> collection) {
 		return collection == null ? "null" : UberArrays.toString(collection.toArray());
 	}
@@ -5,6 +5,11 @@ import java.util.Objects;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import org.whaka.util.collections.IntIntMap;
+import org.whaka.util.collections.IntObjMap;
+import org.whaka.util.collections.LongLongMap;
+import org.whaka.util.collections.LongObjMap;
+
 import com.google.common.base.MoreObjects;
 
 public class UberMaps {
@@ -29,6 +34,41 @@ public class UberMaps {
 		return new Entry<>(key, val);
 	}
 	
+	/**
+	 * Copy specified boxed map into a primitive {@link IntIntMap}.
+	 * 
+	 * @throws NullPointerException if specified map contains <code>null</code> key or value
+	 */
+	public static IntIntMap toIntIntMap(Map<Integer, Integer> map) {
+		return IntIntMap.from(map);
+	}
+	
+	/**
+	 * Copy specified boxed map into a primitive {@link LongLongMap}.
+	 * 
+	 * @throws NullPointerException if specified map contains <code>null</code> key or value
+	 */
+	public static LongLongMap toLongLongMap(Map<Long, Long> map) {
+		return LongLongMap.from(map);
+	}
+	
+	/**
+	 * Copy specified map into an {@link IntObjMap}, so that keys are not boxed.
+	 * 
+	 * @throws NullPointerException if specified map contains <code>null</code> key
+	 */
+	public static <V> IntObjMap<V> toIntObjMap(Map<Integer, ? extends V> map) {
+		return IntObjMap.from(map);
+	}
+	
+	/**
+	 * Copy specified map into a {@link LongObjMap}, so that keys are not boxed.
+	 * 
+	 * @throws NullPointerException if specified map contains <code>null</code> key
+	 */
+	public static <V> LongObjMap<V> toLongObjMap(Map<Long, ? extends V> map) {
+		return LongObjMap.from(map);
+	}
 	
 	/**
 	 * <p><b>Immutable</b> implementation of {@link java.util.Map.Map.Entry}.
@@ -3,7 +3,13 @@ package org.whaka.util;
 import java.util.Collection;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -15,8 +21,31 @@ public class UberStreams {
 	private UberStreams() {
 	}
 	
+	/**
+	 * <p>Create a stream of the seed and each next value produced by the specified function from the previous one,
+	 * while values are matched by the validator. Validator and function are called exactly once for each value.
+	 * 
+	 * <p>Stream is ordered and can be processed in parallel: values are split into growing batches.
+	 * 
+	 * @see #iterateInt(int, IntUnaryOperator, IntPredicate)
+	 * @see #iterateLong(long, LongUnaryOperator, LongPredicate)
+	 */
 	public static <T> UberStream<T> iterate(T seed, Function<T, T> next, Predicate<T> validator) {
-		return stream(StreamSupport.stream(UberIterators.iterate(seed, next, validator).spliterator(), false));
+		return stream(StreamSupport.stream(new IterateSpliterator<>(seed, next, validator), false));
+	}
+	
+	/**
+	 * Primitive int version of the {@link #iterate(Object, Function, Predicate)}.
+	 */
+	public static IntStream iterateInt(int seed, IntUnaryOperator next, IntPredicate validator) {
+		return StreamSupport.intStream(new IterateSpliterator.OfInt(seed, next, validator), false);
+	}
+	
+	/**
+	 * Primitive long version of the {@link #iterate(Object, Function, Predicate)}.
+	 */
+	public static LongStream iterateLong(long seed, LongUnaryOperator next, LongPredicate validator) {
+		return StreamSupport.longStream(new IterateSpliterator.OfLong(seed, next, validator), false);
 	}
 	
 	@SafeVarargs
@@ -24,7 +53,15 @@ public class UberStreams {
 		return stream(Stream.of(array));
 	}
 	
+	/**
+	 * If specified iterable is a {@link Collection} - stream is created by the {@link Collection#stream()},
+	 * so the exact size is known to the stream, and it might be split by sizes (if collection supports it).
+	 * Otherwise stream is created from the {@link Iterable#spliterator()}.
+	 */
+	@SuppressWarnings("unchecked")
 	public static <T> UberStream<T> stream(Iterable<T> iterable) {
+		if (iterable instanceof Collection<?>)
+			return stream((Collection<T>) iterable);
 		return stream(StreamSupport.stream(iterable.spliterator(), false));
 	}
 	
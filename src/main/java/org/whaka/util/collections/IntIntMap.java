@@ -0,0 +1,367 @@
+package org.whaka.util.collections;
+
+import static org.whaka.util.collections.OpenHashing.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * <p>Hash map of primitive int keys to primitive int values. Open addressing with linear probing is used,
+ * and keys and values are stored in two plain arrays, so no object is created for an entry.
+ * Memory consumption is predictable: table capacity is always a power of two, no more than 3/4 of it is filled,
+ * and each slot takes {@value #SLOT_BYTES} bytes.
+ * 
+ * <p>Entries are iterated with a {@link Cursor} (see {@link #cursor()}), that doesn't create any objects
+ * while iterating. Order of the entries is not defined.
+ * 
+ * <p><b>Note:</b> map is not thread-safe, and doesn't detect concurrent modification.
+ * 
+ * @see PrimitiveCollectors#toIntIntMap(java.util.function.ToIntFunction, java.util.function.ToIntFunction)
+ * @see org.whaka.util.UberMaps#toIntIntMap(Map)
+ */
+public final class IntIntMap {
+
+	/**
+	 * Number of bytes taken by each slot of the table.
+	 */
+	public static final int SLOT_BYTES = 8;
+	
+	private int[] keys;
+	private int[] values;
+	private int mask;
+	private int maxFill;
+	private int size;
+	
+	// zero key is stored separately, for zero marks a free slot in the table
+	private boolean hasZeroKey;
+	private int zeroValue;
+	
+	public IntIntMap() {
+		this(0);
+	}
+	
+	/**
+	 * Map is created with enough capacity to hold the specified number of entries without resizing.
+	 * 
+	 * @throws IllegalArgumentException if specified size is negative, or too big
+	 */
+	public IntIntMap(int expectedSize) {
+		allocate(capacityFor(expectedSize));
+	}
+	
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+		maxFill = maxFill(capacity);
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Number of slots in the table.
+	 */
+	public int capacity() {
+		return keys.length;
+	}
+	
+	public boolean containsKey(int key) {
+		return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+	}
+	
+	/**
+	 * Value associated with the specified key, or <code>0</code>.
+	 * 
+	 * @see #getOrDefault(int, int)
+	 */
+	public int get(int key) {
+		return getOrDefault(key, 0);
+	}
+	
+	/**
+	 * Value associated with the specified key, or the specified default value.
+	 */
+	public int getOrDefault(int key, int defaultValue) {
+		if (key == 0)
+			return hasZeroKey ? zeroValue : defaultValue;
+		int index = indexOf(key);
+		return index < 0 ? defaultValue : values[index];
+	}
+	
+	/**
+	 * Associate specified value with the specified key.
+	 * Returns <code>true</code> if the key wasn't present in the map.
+	 */
+	public boolean put(int key, int value) {
+		if (key == 0) {
+			boolean added = !hasZeroKey;
+			if (added)
+				size++;
+			hasZeroKey = true;
+			zeroValue = value;
+			return added;
+		}
+		int index = slotOf(key);
+		if (keys[index] == key) {
+			values[index] = value;
+			return false;
+		}
+		insert(index, key, value);
+		return true;
+	}
+	
+	/**
+	 * Add specified increment to the value associated with the specified key (<code>0</code> if key is not present).
+	 * New value is returned. Useful for counting.
+	 */
+	public int addTo(int key, int increment) {
+		if (key == 0) {
+			if (!hasZeroKey) {
+				hasZeroKey = true;
+				size++;
+			}
+			return zeroValue += increment;
+		}
+		int index = slotOf(key);
+		if (keys[index] == key)
+			return values[index] += increment;
+		insert(index, key, increment);
+		return increment;
+	}
+	
+	/**
+	 * If the key is present - its value is replaced with the result of the specified function applied to the current
+	 * value and the specified one. Otherwise the specified value is associated with the key.
+	 */
+	public void merge(int key, int value, IntBinaryOperator mergeFunction) {
+		if (containsKey(key))
+			put(key, mergeFunction.applyAsInt(get(key), value));
+		else
+			put(key, value);
+	}
+	
+	/**
+	 * Put all the entries from the specified map into this one.
+	 */
+	public void putAll(IntIntMap map) {
+		for (Cursor c = map.cursor(); c.next();)
+			put(c.key(), c.value());
+	}
+	
+	/**
+	 * Remove the specified key. Returns <code>true</code> if the key was present in the map.
+	 */
+	public boolean remove(int key) {
+		if (key == 0) {
+			boolean removed = hasZeroKey;
+			if (removed)
+				size--;
+			hasZeroKey = false;
+			zeroValue = 0;
+			return removed;
+		}
+		int index = indexOf(key);
+		if (index < 0)
+			return false;
+		shiftKeys(index);
+		size--;
+		return true;
+	}
+	
+	/**
+	 * Remove all the entries. Capacity is not changed.
+	 */
+	public void clear() {
+		Arrays.fill(keys, 0);
+		Arrays.fill(values, 0);
+		hasZeroKey = false;
+		zeroValue = 0;
+		size = 0;
+	}
+	
+	/**
+	 * Create a cursor to iterate entries of the map. Cursor is positioned before the first entry.
+	 */
+	public Cursor cursor() {
+		return new Cursor();
+	}
+	
+	/**
+	 * Copy all the entries into a new boxed {@link HashMap}.
+	 */
+	public Map<Integer, Integer> toMap() {
+		Map<Integer, Integer> map = new HashMap<>(capacityFor(size));
+		for (Cursor c = cursor(); c.next();)
+			map.put(c.key(), c.value());
+		return map;
+	}
+	
+	/**
+	 * Create a map with all the entries from the specified boxed map.
+	 * 
+	 * @throws NullPointerException if specified map contains <code>null</code> key or value
+	 */
+	public static IntIntMap from(Map<Integer, Integer> map) {
+		IntIntMap result = new IntIntMap(map.size());
+		map.forEach((k, v) -> result.put(
+				Objects.requireNonNull(k, "Key cannot be null!"), Objects.requireNonNull(v, "Value cannot be null!")));
+		return result;
+	}
+	
+	private int indexOf(int key) {
+		int index = mix(key) & mask;
+		for (int k; (k = keys[index]) != 0; index = (index + 1) & mask)
+			if (k == key)
+				return index;
+		return -1;
+	}
+	
+	/**
+	 * Index of the slot containing the specified key, or of the free slot where it should be inserted
+	 */
+	private int slotOf(int key) {
+		int index = mix(key) & mask;
+		for (int k; (k = keys[index]) != 0 && k != key; index = (index + 1) & mask);
+		return index;
+	}
+	
+	private void insert(int index, int key, int value) {
+		keys[index] = key;
+		values[index] = value;
+		if (++size - (hasZeroKey ? 1 : 0) > maxFill)
+			rehash(keys.length << 1);
+	}
+	
+	private void rehash(int capacity) {
+		if (keys.length == MAX_CAPACITY)
+			throw new IllegalStateException("Map is too big!");
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != 0) {
+				int index = slotOf(oldKeys[i]);
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+	
+	/**
+	 * Backward shift deletion: entries following the removed one are moved to keep probe sequences unbroken
+	 */
+	private void shiftKeys(int pos) {
+		while (true) {
+			int last = pos;
+			pos = (pos + 1) & mask;
+			int key;
+			while (true) {
+				if ((key = keys[pos]) == 0) {
+					keys[last] = 0;
+					values[last] = 0;
+					return;
+				}
+				int slot = mix(key) & mask;
+				if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos)
+					break;
+				pos = (pos + 1) & mask;
+			}
+			keys[last] = key;
+			values[last] = values[pos];
+		}
+	}
+	
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		for (Cursor c = cursor(); c.next();)
+			hash += Integer.hashCode(c.key()) ^ Integer.hashCode(c.value());
+		return hash;
+	}
+	
+	@Override
+	public boolean equals(Object object) {
+		if (object == this)
+			return true;
+		if (object != null && getClass() == object.getClass()) {
+			IntIntMap that = (IntIntMap) object;
+			if (size != that.size)
+				return false;
+			for (Cursor c = cursor(); c.next();)
+				if (!that.containsKey(c.key()) || that.get(c.key()) != c.value())
+					return false;
+			return true;
+		}
+		return false;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		for (Cursor c = cursor(); c.next();) {
+			if (sb.length() > 1)
+				sb.append(", ");
+			sb.append(c.key()).append('=').append(c.value());
+		}
+		return sb.append('}').toString();
+	}
+	
+	/**
+	 * <p>Cursor over the entries of the map. Call {@link #next()} to move to the next entry,
+	 * and then {@link #key()} and {@link #value()} to access it:
+	 * <pre>
+	 * 	for (Cursor c = map.cursor(); c.next();)
+	 * 		process(c.key(), c.value());
+	 * </pre>
+	 * 
+	 * <p><b>Note:</b> map should not be modified while cursor is used.
+	 */
+	public final class Cursor {
+		
+		// -2: before the zero key, -1: at the zero key, then index in the table
+		private int index = -2;
+		
+		private Cursor() {
+		}
+		
+		/**
+		 * Move to the next entry. Returns <code>false</code> if there're no more entries.
+		 */
+		public boolean next() {
+			if (index == -2) {
+				index = -1;
+				if (hasZeroKey)
+					return true;
+			}
+			while (++index < keys.length)
+				if (keys[index] != 0)
+					return true;
+			index = keys.length;
+			return false;
+		}
+		
+		public int key() {
+			checkPosition();
+			return index < 0 ? 0 : keys[index];
+		}
+		
+		public int value() {
+			checkPosition();
+			return index < 0 ? zeroValue : values[index];
+		}
+		
+		private void checkPosition() {
+			if (index == -2 || index >= keys.length)
+				throw new IllegalStateException("Cursor is not positioned at an entry!");
+		}
+	}
+}
@@ -0,0 +1,321 @@
+package org.whaka.util.collections;
+
+import static org.whaka.util.collections.OpenHashing.*;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * <p>Hash set of primitive int values. Open addressing with linear probing is used, and values are stored
+ * in a plain array, so they are not boxed. Memory consumption is predictable: table capacity is always a power of two,
+ * no more than 3/4 of it is filled, and each slot takes {@value #SLOT_BYTES} bytes.
+ * 
+ * <p>Values are iterated with a {@link Cursor} (see {@link #cursor()}), that doesn't create any objects
+ * while iterating, or with the {@link #forEach(IntConsumer)}. Order of the values is not defined.
+ * Set can be collected from a primitive stream like this:
+ * <pre>
+ * 	intStream.collect(IntSet::new, IntSet::add, IntSet::addAll);
+ * </pre>
+ * 
+ * <p><b>Note:</b> set is not thread-safe, and doesn't detect concurrent modification.
+ * 
+ * @see PrimitiveCollectors#toIntSet(java.util.function.ToIntFunction)
+ */
+public final class IntSet {
+
+	/**
+	 * Number of bytes taken by each slot of the table.
+	 */
+	public static final int SLOT_BYTES = 4;
+	
+	private int[] keys;
+	private int mask;
+	private int maxFill;
+	private int size;
+	
+	// zero is stored separately, for zero marks a free slot in the table
+	private boolean hasZero;
+	
+	public IntSet() {
+		this(0);
+	}
+	
+	/**
+	 * Set is created with enough capacity to hold the specified number of values without resizing.
+	 * 
+	 * @throws IllegalArgumentException if specified size is negative, or too big
+	 */
+	public IntSet(int expectedSize) {
+		allocate(capacityFor(expectedSize));
+	}
+	
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		mask = capacity - 1;
+		maxFill = maxFill(capacity);
+	}
+	
+	/**
+	 * Create a set of the specified values.
+	 */
+	public static IntSet of(int... values) {
+		IntSet set = new IntSet(values.length);
+		for (int value : values)
+			set.add(value);
+		return set;
+	}
+	
+	/**
+	 * Create a set with all the values from the specified boxed collection.
+	 * 
+	 * @throws NullPointerException if specified collection contains <code>null</code>
+	 */
+	public static IntSet from(Collection<Integer> values) {
+		IntSet set = new IntSet(values.size());
+		for (Integer value : values)
+			set.add(Objects.requireNonNull(value, "Value cannot be null!"));
+		return set;
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Number of slots in the table.
+	 */
+	public int capacity() {
+		return keys.length;
+	}
+	
+	public boolean contains(int value) {
+		if (value == 0)
+			return hasZero;
+		int index = mix(value) & mask;
+		for (int k; (k = keys[index]) != 0; index = (index + 1) & mask)
+			if (k == value)
+				return true;
+		return false;
+	}
+	
+	/**
+	 * Add specified value to the set. Returns <code>true</code> if the value wasn't present in the set.
+	 */
+	public boolean add(int value) {
+		if (value == 0) {
+			if (hasZero)
+				return false;
+			hasZero = true;
+			size++;
+			return true;
+		}
+		int index = slotOf(value);
+		if (keys[index] == value)
+			return false;
+		keys[index] = value;
+		if (++size - (hasZero ? 1 : 0) > maxFill)
+			rehash(keys.length << 1);
+		return true;
+	}
+	
+	/**
+	 * Add all the values from the specified set into this one.
+	 */
+	public void addAll(IntSet set) {
+		set.forEach(this::add);
+	}
+	
+	/**
+	 * Remove the specified value. Returns <code>true</code> if the value was present in the set.
+	 */
+	public boolean remove(int value) {
+		if (value == 0) {
+			if (!hasZero)
+				return false;
+			hasZero = false;
+			size--;
+			return true;
+		}
+		int index = slotOf(value);
+		if (keys[index] != value)
+			return false;
+		shiftKeys(index);
+		size--;
+		return true;
+	}
+	
+	/**
+	 * Remove all the values. Capacity is not changed.
+	 */
+	public void clear() {
+		Arrays.fill(keys, 0);
+		hasZero = false;
+		size = 0;
+	}
+	
+	/**
+	 * Perform specified action for each value of the set.
+	 */
+	public void forEach(IntConsumer action) {
+		if (hasZero)
+			action.accept(0);
+		for (int k : keys)
+			if (k != 0)
+				action.accept(k);
+	}
+	
+	/**
+	 * Create a cursor to iterate values of the set. Cursor is positioned before the first value.
+	 */
+	public Cursor cursor() {
+		return new Cursor();
+	}
+	
+	/**
+	 * Copy all the values into a new array.
+	 */
+	public int[] toArray() {
+		int[] array = new int[size];
+		int i = hasZero ? 1 : 0;
+		for (int k : keys)
+			if (k != 0)
+				array[i++] = k;
+		return array;
+	}
+	
+	/**
+	 * Stream of a copy of all the values.
+	 */
+	public IntStream stream() {
+		return Arrays.stream(toArray());
+	}
+	
+	/**
+	 * Copy all the values into a new boxed {@link HashSet}.
+	 */
+	public Set<Integer> toSet() {
+		Set<Integer> set = new HashSet<>(capacityFor(size));
+		forEach(set::add);
+		return set;
+	}
+	
+	/**
+	 * Index of the slot containing the specified value, or of the free slot where it should be inserted
+	 */
+	private int slotOf(int value) {
+		int index = mix(value) & mask;
+		for (int k; (k = keys[index]) != 0 && k != value; index = (index + 1) & mask);
+		return index;
+	}
+	
+	private void rehash(int capacity) {
+		if (keys.length == MAX_CAPACITY)
+			throw new IllegalStateException("Set is too big!");
+		int[] oldKeys = keys;
+		allocate(capacity);
+		for (int k : oldKeys)
+			if (k != 0)
+				keys[slotOf(k)] = k;
+	}
+	
+	/**
+	 * Backward shift deletion: values following the removed one are moved to keep probe sequences unbroken
+	 */
+	private void shiftKeys(int pos) {
+		while (true) {
+			int last = pos;
+			pos = (pos + 1) & mask;
+			int key;
+			while (true) {
+				if ((key = keys[pos]) == 0) {
+					keys[last] = 0;
+					return;
+				}
+				int slot = mix(key) & mask;
+				if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos)
+					break;
+				pos = (pos + 1) & mask;
+			}
+			keys[last] = key;
+		}
+	}
+	
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		for (int k : keys)
+			hash += Integer.hashCode(k);
+		return hash;
+	}
+	
+	@Override
+	public boolean equals(Object object) {
+		if (object == this)
+			return true;
+		if (object != null && getClass() == object.getClass()) {
+			IntSet that = (IntSet) object;
+			if (size != that.size || hasZero != that.hasZero)
+				return false;
+			for (int k : keys)
+				if (k != 0 && !that.contains(k))
+					return false;
+			return true;
+		}
+		return false;
+	}
+	
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+	
+	/**
+	 * <p>Cursor over the values of the set. Call {@link #next()} to move to the next value,
+	 * and then {@link #value()} to access it:
+	 * <pre>
+	 * 	for (Cursor c = set.cursor(); c.next();)
+	 * 		process(c.value());
+	 * </pre>
+	 * 
+	 * <p><b>Note:</b> set should not be modified while cursor is used.
+	 */
+	public final class Cursor {
+		
+		// -2: before the zero, -1: at the zero, then index in the table
+		private int index = -2;
+		
+		private Cursor() {
+		}
+		
+		/**
+		 * Move to the next value. Returns <code>false</code> if there're no more values.
+		 */
+		public boolean next() {
+			if (index == -2) {
+				index = -1;
+				if (hasZero)
+					return true;
+			}
+			while (++index < keys.length)
+				if (keys[index] != 0)
+					return true;
+			index = keys.length;
+			return false;
+		}
+		
+		public int value() {
+			if (index == -2 || index >= keys.length)
+				throw new IllegalStateException("Cursor is not positioned at a value!");
+			return index < 0 ? 0 : keys[index];
+		}
+	}
+}
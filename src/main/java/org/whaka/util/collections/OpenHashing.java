@@ -0,0 +1,55 @@
+package org.whaka.util.collections;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Hashing and sizing functions shared by the open-addressing collections of this package.
+ */
+final class OpenHashing {
+
+	/**
+	 * Maximum capacity of a table (number of slots).
+	 */
+	static final int MAX_CAPACITY = 1 << 30;
+	
+	/**
+	 * Minimum capacity of a table (number of slots).
+	 */
+	static final int MIN_CAPACITY = 4;
+	
+	private OpenHashing() {
+	}
+	
+	/**
+	 * Smallest power of two capacity, such that the specified number of elements takes no more than 3/4 of it.
+	 * 
+	 * @throws IllegalArgumentException if specified size is negative, or too big
+	 */
+	static int capacityFor(int expectedSize) {
+		Preconditions.checkArgument(expectedSize >= 0, "Expected size cannot be negative!");
+		long required = (long) expectedSize * 4 / 3 + 1;
+		Preconditions.checkArgument(required <= MAX_CAPACITY, "Expected size is too big: %s", expectedSize);
+		int capacity = MIN_CAPACITY;
+		while (capacity < required)
+			capacity <<= 1;
+		return capacity;
+	}
+	
+	/**
+	 * Maximum number of elements in a table of the specified capacity, before it's resized.
+	 */
+	static int maxFill(int capacity) {
+		return capacity == MAX_CAPACITY ? capacity - 1 : capacity / 4 * 3;
+	}
+	
+	static int mix(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+	
+	static int mix(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		h ^= h >>> 32;
+		return (int) (h ^ (h >>> 16));
+	}
+}
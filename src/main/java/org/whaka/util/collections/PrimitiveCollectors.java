@@ -0,0 +1,112 @@
+package org.whaka.util.collections;
+
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * <p>Class provides static factory methods to create {@link Collector} instances that collect streams
+ * into the primitive collections of this package: {@link IntSet}, {@link LongSet}, {@link IntIntMap},
+ * {@link LongLongMap}, {@link IntObjMap}, and {@link LongObjMap}.
+ * 
+ * <p>Keys (and primitive values) are extracted from each element by primitive functions, so they are never boxed.
+ * All collectors support parallel streams: partial collections are merged. For maps any key collisions
+ * are resolved as "last one is to stay", except the counting collectors, which sum the counters.
+ * 
+ * <p>Map streams can be collected the same way, for example:
+ * <pre>
+ * 	mapStream.collect(PrimitiveCollectors.toIntObjMap(Entry::getKey, Entry::getValue));
+ * </pre>
+ */
+public class PrimitiveCollectors {
+
+	private PrimitiveCollectors() {
+	}
+	
+	public static <T> Collector<T, ?, IntSet> toIntSet(ToIntFunction<? super T> mapper) {
+		return Collector.of(IntSet::new, (set, t) -> set.add(mapper.applyAsInt(t)), (s1, s2) -> {
+			s1.addAll(s2);
+			return s1;
+		}, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+	}
+	
+	public static <T> Collector<T, ?, LongSet> toLongSet(ToLongFunction<? super T> mapper) {
+		return Collector.of(LongSet::new, (set, t) -> set.add(mapper.applyAsLong(t)), (s1, s2) -> {
+			s1.addAll(s2);
+			return s1;
+		}, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+	}
+	
+	public static <T> Collector<T, ?, IntIntMap> toIntIntMap(
+			ToIntFunction<? super T> keyMapper,
+			ToIntFunction<? super T> valueMapper
+			) {
+		return Collector.of(IntIntMap::new, (map, t) -> map.put(keyMapper.applyAsInt(t), valueMapper.applyAsInt(t)),
+				(m1, m2) -> {
+					m1.putAll(m2);
+					return m1;
+				}, Collector.Characteristics.IDENTITY_FINISH);
+	}
+	
+	public static <T> Collector<T, ?, LongLongMap> toLongLongMap(
+			ToLongFunction<? super T> keyMapper,
+			ToLongFunction<? super T> valueMapper
+			) {
+		return Collector.of(LongLongMap::new, (map, t) -> map.put(keyMapper.applyAsLong(t), valueMapper.applyAsLong(t)),
+				(m1, m2) -> {
+					m1.putAll(m2);
+					return m1;
+				}, Collector.Characteristics.IDENTITY_FINISH);
+	}
+	
+	public static <T, V> Collector<T, ?, IntObjMap<V>> toIntObjMap(
+			ToIntFunction<? super T> keyMapper,
+			Function<? super T, ? extends V> valueMapper
+			) {
+		return Collector.of(IntObjMap::new, (map, t) -> map.put(keyMapper.applyAsInt(t), valueMapper.apply(t)),
+				(m1, m2) -> {
+					m1.putAll(m2);
+					return m1;
+				}, Collector.Characteristics.IDENTITY_FINISH);
+	}
+	
+	public static <T, V> Collector<T, ?, LongObjMap<V>> toLongObjMap(
+			ToLongFunction<? super T> keyMapper,
+			Function<? super T, ? extends V> valueMapper
+			) {
+		return Collector.of(LongObjMap::new, (map, t) -> map.put(keyMapper.applyAsLong(t), valueMapper.apply(t)),
+				(m1, m2) -> {
+					m1.putAll(m2);
+					return m1;
+				}, Collector.Characteristics.IDENTITY_FINISH);
+	}
+	
+	/**
+	 * Count elements by the keys provided by the specified function. Result map contains number of elements
+	 * for each key.
+	 * 
+	 * @see #countingByLong(ToLongFunction)
+	 */
+	public static <T> Collector<T, ?, IntIntMap> countingByInt(ToIntFunction<? super T> keyMapper) {
+		return Collector.of(IntIntMap::new, (map, t) -> map.addTo(keyMapper.applyAsInt(t), 1), (m1, m2) -> {
+			for (IntIntMap.Cursor c = m2.cursor(); c.next();)
+				m1.addTo(c.key(), c.value());
+			return m1;
+		}, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+	}
+	
+	/**
+	 * Count elements by the keys provided by the specified function. Result map contains number of elements
+	 * for each key.
+	 * 
+	 * @see #countingByInt(ToIntFunction)
+	 */
+	public static <T> Collector<T, ?, LongLongMap> countingByLong(ToLongFunction<? super T> keyMapper) {
+		return Collector.of(LongLongMap::new, (map, t) -> map.addTo(keyMapper.applyAsLong(t), 1), (m1, m2) -> {
+			for (LongLongMap.Cursor c = m2.cursor(); c.next();)
+				m1.addTo(c.key(), c.value());
+			return m1;
+		}, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+	}
+}
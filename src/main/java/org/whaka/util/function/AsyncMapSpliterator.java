@@ -0,0 +1,190 @@
+package org.whaka.util.function;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+
+/**
+ * <p>Spliterator that maps elements of the source spliterator by the specified function asynchronously,
+ * using the specified executor. No more than <code>maxConcurrency</code> elements are mapped at the same time:
+ * next element is requested from the source only when there's a free slot.
+ * 
+ * <p>If spliterator is ordered - results are presented in the same order as the source elements,
+ * and no more than <code>maxConcurrency</code> results are buffered. Otherwise results are presented
+ * as soon as they are ready.
+ * 
+ * <p>Any exception thrown by the function is rethrown by the {@link #tryAdvance(Consumer)}, and all the other
+ * pending futures are cancelled. They are also cancelled by the {@link #cancel()}, that is expected to be called
+ * when the stream is closed, or short-circuited. Cancelled futures that are not started yet are never started,
+ * but the ones already running are not interrupted.
+ * 
+ * <p>Spliterator cannot be split.
+ * 
+ * @see UberStream#mapAsync(Function, int)
+ * @see UberStream#mapAsyncUnordered(Function, int)
+ */
+class AsyncMapSpliterator<T, R> implements Spliterator<R> {
+
+	/**
+	 * Maximum number of threads in the default pool, used when virtual threads are not available.
+	 * 
+	 * @see #defaultExecutor()
+	 */
+	static final int DEFAULT_POOL_SIZE = 64;
+	
+	/**
+	 * Executor shared by all the spliterators, created on the first request.
+	 * 
+	 * @see #defaultExecutor()
+	 */
+	private static final Supplier<ExecutorService> DEFAULT_EXECUTOR =
+			Suppliers.memoize(AsyncMapSpliterator::createDefaultExecutor);
+	
+	private final Spliterator<T> source;
+	private final Function<? super T, ? extends R> mapper;
+	private final int maxConcurrency;
+	private final Executor executor;
+	private final boolean ordered;
+	
+	private final Queue<CompletableFuture<R>> inFlight;
+	private final BlockingQueue<CompletableFuture<R>> completed;
+	private boolean sourceExhausted;
+	
+	public AsyncMapSpliterator(Spliterator<T> source, Function<? super T, ? extends R> mapper,
+			int maxConcurrency, Executor executor, boolean ordered) {
+		Preconditions.checkArgument(maxConcurrency > 0, "Max concurrency should be positive!");
+		this.source = Objects.requireNonNull(source, "Source spliterator cannot be null!");
+		this.mapper = Objects.requireNonNull(mapper, "Mapper cannot be null!");
+		this.executor = Objects.requireNonNull(executor, "Executor cannot be null!");
+		this.maxConcurrency = maxConcurrency;
+		this.ordered = ordered;
+		this.inFlight = new ArrayDeque<>(Math.min(maxConcurrency, 1024));
+		this.completed = ordered ? null : new LinkedBlockingQueue<>();
+	}
+	
+	/**
+	 * <p>Default executor for the async mapping, shared by all the spliterators: executor starting
+	 * a virtual thread for each task, if they are available in the current JVM.
+	 * 
+	 * <p>Otherwise - a single lazily created pool of no more than {@link #DEFAULT_POOL_SIZE} daemon threads,
+	 * shared by all the streams. So concurrency of each stream is limited by its own <code>maxConcurrency</code>,
+	 * and total concurrency of all the streams is limited by the size of the pool: extra tasks are queued
+	 * until a thread is free. Idle threads of the pool are terminated, so it doesn't have to be shut down.
+	 * 
+	 * <p><b>Note:</b> since tasks are queued - a mapper that blocks on another async stream using
+	 * the default executor might starve the pool. A dedicated executor should be used in such case.
+	 */
+	public static Executor defaultExecutor() {
+		return DEFAULT_EXECUTOR.get();
+	}
+	
+	private static ExecutorService createDefaultExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(DEFAULT_POOL_SIZE, DEFAULT_POOL_SIZE,
+					1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+						Thread thread = Executors.defaultThreadFactory().newThread(r);
+						thread.setDaemon(true);
+						return thread;
+					});
+			pool.allowCoreThreadTimeOut(true);
+			return pool;
+		}
+	}
+	
+	@Override
+	public boolean tryAdvance(Consumer<? super R> action) {
+		while (inFlight.size() < maxConcurrency && !sourceExhausted)
+			sourceExhausted = !source.tryAdvance(this::submit);
+		if (inFlight.isEmpty())
+			return false;
+		CompletableFuture<R> next = ordered ? inFlight.poll() : takeCompleted();
+		R result;
+		try {
+			result = join(next);
+		} catch (RuntimeException | Error e) {
+			cancel();
+			throw e;
+		}
+		action.accept(result);
+		return true;
+	}
+	
+	private void submit(T element) {
+		CompletableFuture<R> future = CompletableFuture.supplyAsync(() -> mapper.apply(element), executor);
+		inFlight.add(future);
+		if (!ordered)
+			future.whenComplete((r, e) -> completed.add(future));
+	}
+	
+	/**
+	 * Cancel all the pending futures. Their results are dropped, and no more elements are requested
+	 * from the source.
+	 */
+	public void cancel() {
+		sourceExhausted = true;
+		for (CompletableFuture<R> future; (future = inFlight.poll()) != null;)
+			future.cancel(false);
+		if (completed != null)
+			completed.clear();
+	}
+	
+	private CompletableFuture<R> takeCompleted() {
+		CompletableFuture<R> future;
+		try {
+			future = completed.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			cancel();
+			throw new CompletionException(e);
+		}
+		inFlight.remove(future);
+		return future;
+	}
+	
+	private static <R> R join(CompletableFuture<R> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw e;
+		}
+	}
+	
+	@Override
+	public Spliterator<R> trySplit() {
+		return null;
+	}
+	
+	@Override
+	public long estimateSize() {
+		long estimate = source.estimateSize();
+		return estimate == Long.MAX_VALUE ? estimate : estimate + inFlight.size();
+	}
+	
+	@Override
+	public int characteristics() {
+		return ordered ? source.characteristics() & ORDERED : 0;
+	}
+}
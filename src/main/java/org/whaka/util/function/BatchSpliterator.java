@@ -0,0 +1,114 @@
+package org.whaka.util.function;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * <p>Spliterator that groups elements of the source spliterator into lists of the specified size.
+ * Last list might contain less elements. Each list is a new instance, so it can be safely retained.
+ *
+ * <p>Spliterator is split only at multiples of the batch size, so batches are the same no matter
+ * whether it's used in a parallel stream or not. If source is {@link #SUBSIZED} - it is split, and elements
+ * missing to the full batch at the end of the prefix are moved from the suffix (if suffix has not enough
+ * elements - spliterator is not split). Otherwise a prefix of the source is buffered into an array
+ * (with increasing size for each next split, the same way as {@link Spliterators.AbstractSpliterator} does).
+ *
+ * @see UberStream#batch(int)
+ */
+class BatchSpliterator<T> implements Spliterator<List<T>> {
+
+	private static final int BUFFER_UNIT = 1 << 10;
+	private static final int MAX_BUFFER = 1 << 25;
+
+	private Spliterator<T> source;
+	private final int size;
+	private int buffered;
+
+	public BatchSpliterator(Spliterator<T> source, int size) {
+		Preconditions.checkArgument(size > 0, "Batch size should be positive!");
+		this.source = Objects.requireNonNull(source, "Source spliterator cannot be null!");
+		this.size = size;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super List<T>> action) {
+		List<T> batch = new ArrayList<>(size);
+		while (batch.size() < size && source.tryAdvance(batch::add));
+		if (batch.isEmpty())
+			return false;
+		action.accept(batch);
+		return true;
+	}
+
+	@Override
+	public Spliterator<List<T>> trySplit() {
+		Spliterator<T> prefix = source.hasCharacteristics(SUBSIZED) ? splitSized() : splitBuffered();
+		return prefix == null ? null : new BatchSpliterator<>(prefix, size);
+	}
+
+	private Spliterator<T> splitSized() {
+		Spliterator<T> prefix = source.trySplit();
+		if (prefix == null)
+			return null;
+		long missing = size - prefix.getExactSizeIfKnown() % size;
+		if (missing == size)
+			return prefix;
+		if (source.getExactSizeIfKnown() <= missing) {
+			// suffix is not enough to complete the batch, so the split is reverted
+			source = concat(prefix, source);
+			return null;
+		}
+		return concat(prefix, toSpliterator(take((int) missing)));
+	}
+
+	private static <T> Spliterator<T> concat(Spliterator<T> a, Spliterator<T> b) {
+		return Stream.concat(StreamSupport.stream(a, false), StreamSupport.stream(b, false)).spliterator();
+	}
+
+	private Spliterator<T> splitBuffered() {
+		if (size > MAX_BUFFER)
+			return null;
+		int unit = Math.max(1, BUFFER_UNIT / size) * size;
+		int count = Math.min(buffered + unit, MAX_BUFFER / size * size);
+		Object[] array = take(count);
+		if (array.length == 0)
+			return null;
+		buffered = count;
+		return toSpliterator(array);
+	}
+
+	/**
+	 * Take no more than specified number of elements from the source.
+	 */
+	private Object[] take(int count) {
+		Object[] array = new Object[count];
+		int[] taken = {0};
+		while (taken[0] < count && source.tryAdvance(e -> array[taken[0]++] = e));
+		return taken[0] == count ? array : Arrays.copyOf(array, taken[0]);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Spliterator<T> toSpliterator(Object[] array) {
+		return (Spliterator<T>) Spliterators.spliterator(array, source.characteristics() & ORDERED);
+	}
+
+	@Override
+	public long estimateSize() {
+		long estimate = source.estimateSize();
+		return estimate == Long.MAX_VALUE ? estimate : (estimate + size - 1) / size;
+	}
+
+	@Override
+	public int characteristics() {
+		return (source.characteristics() & ORDERED) | NONNULL;
+	}
+}
@@ -0,0 +1,68 @@
+package org.whaka.util.function;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * <p>Final immutable container for 2 primitive <code>double</code> values.
+ * Equal to the {@link Tuple2}, but values are not boxed.
+ * 
+ * <p>Values might be accessed directly: {@link #_1} and {@link #_2},
+ * or thru getters: {@link #get_1()} and {@link #get_2()}.
+ * 
+ * @see #doubleDoubleTuple(double, double)
+ * @see DoubleObjTuple
+ */
+public final class DoubleDoubleTuple {
+
+	public final double _1;
+	public final double _2;
+	
+	public DoubleDoubleTuple(double _1, double _2) {
+		this._1 = _1;
+		this._2 = _2;
+	}
+	
+	/**
+	 * Factory method to create new instance of the immutable tuple.
+	 */
+	public static DoubleDoubleTuple doubleDoubleTuple(double _1, double _2) {
+		return new DoubleDoubleTuple(_1, _2);
+	}
+	
+	/**
+	 * Value of the {@link #_1} field
+	 */
+	public double get_1() {
+		return _1;
+	}
+	
+	/**
+	 * Value of the {@link #_2} field
+	 */
+	public double get_2() {
+		return _2;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Double.hashCode(_1) + Double.hashCode(_2);
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (object != null && getClass() == object.getClass()) {
+			DoubleDoubleTuple that = (DoubleDoubleTuple) object;
+			return Double.compare(this._1, that._1) == 0
+					&& Double.compare(this._2, that._2) == 0;
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.addValue(_1)
+				.addValue(_2)
+				.toString();
+	}
+}
@@ -0,0 +1,30 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.DoubleFunction;
+
+/**
+ * <p>Equal to {@link Function2} but both arguments are primitive <code>double</code> values.
+ * 
+ * @see #toFunction(DoubleFunction2)
+ * @see DoubleFunction
+ */
+@FunctionalInterface
+public interface DoubleFunction2<R> {
+
+	R apply(double a, double b);
+	
+	/**
+	 * Convert specified function to the {@link Function} were all arguments are represented
+	 * as a single {@link DoubleDoubleTuple} instance.
+	 */
+	static <R> Function<DoubleDoubleTuple, R> toFunction(DoubleFunction2<R> delegate) {
+		return e -> delegate.apply(e._1, e._2);
+	}
+	
+	default <V> DoubleFunction2<V> andThen(Function<? super R, ? extends V> then) {
+		Objects.requireNonNull(then, "Chained function cannot be null!");
+		return (a,b) -> then.apply(apply(a, b));
+	}
+}
@@ -0,0 +1,43 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+
+/**
+ * <p>Equal to {@link Predicate2} but both arguments are primitive <code>double</code> values.
+ * 
+ * @see #toPredicate(DoublePredicate2)
+ * @see DoublePredicate
+ */
+@FunctionalInterface
+public interface DoublePredicate2 {
+
+	boolean test(double a, double b);
+	
+	/**
+	 * Converts specified predicate into a {@link Predicate} were all arguments are represented
+	 * as a single {@link DoubleDoubleTuple} instance.
+	 */
+	static Predicate<DoubleDoubleTuple> toPredicate(DoublePredicate2 delegate) {
+		return e -> delegate.test(e._1, e._2);
+	}
+	
+	default DoublePredicate2 and(DoublePredicate2 other) {
+		Objects.requireNonNull(other, "Chained predicate cannot be null!");
+		return (a,b) -> test(a, b) && other.test(a, b);
+	}
+	
+	default DoublePredicate2 or(DoublePredicate2 other) {
+		Objects.requireNonNull(other, "Chained predicate cannot be null!");
+		return (a,b) -> test(a, b) || other.test(a, b);
+	}
+	
+	/**
+	 * Negate specified predicate
+	 */
+	static DoublePredicate2 not(DoublePredicate2 delegate) {
+		Objects.requireNonNull(delegate, "Negated predicate cannot be null!");
+		return (a,b) -> !delegate.test(a, b);
+	}
+}
@@ -0,0 +1,32 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+
+/**
+ * <p>Equal to {@link Predicate3} but all arguments are primitive <code>double</code> values.
+ * 
+ * @see DoublePredicate2
+ */
+@FunctionalInterface
+public interface DoublePredicate3 {
+
+	boolean test(double a, double b, double c);
+	
+	default DoublePredicate3 and(DoublePredicate3 other) {
+		Objects.requireNonNull(other, "Chained predicate cannot be null!");
+		return (a,b,c) -> test(a, b, c) && other.test(a, b, c);
+	}
+	
+	default DoublePredicate3 or(DoublePredicate3 other) {
+		Objects.requireNonNull(other, "Chained predicate cannot be null!");
+		return (a,b,c) -> test(a, b, c) || other.test(a, b, c);
+	}
+	
+	/**
+	 * Negate specified predicate
+	 */
+	static DoublePredicate3 not(DoublePredicate3 delegate) {
+		Objects.requireNonNull(delegate, "Negated predicate cannot be null!");
+		return (a,b,c) -> !delegate.test(a, b, c);
+	}
+}
@@ -0,0 +1,77 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Spliterator skipping elements of the source spliterator while they match the specified predicate.
+ * First mismatched element and all the elements after it are presented.
+ * 
+ * <p>On the first split all the matching elements are skipped (sequentially, in the calling thread), then
+ * the first mismatched element is presented as the prefix, combined with the prefix of the source
+ * (if source can be split). After that spliterator is split as the source, so the rest of the elements
+ * can be processed in parallel.
+ * 
+ * @see UberStream#dropWhile(Predicate)
+ */
+class DropWhileSpliterator<T> implements Spliterator<T> {
+
+	private final Spliterator<T> source;
+	private final Predicate<? super T> predicate;
+	private boolean dropping = true;
+	
+	public DropWhileSpliterator(Spliterator<T> source, Predicate<? super T> predicate) {
+		this.source = Objects.requireNonNull(source, "Source spliterator cannot be null!");
+		this.predicate = Objects.requireNonNull(predicate, "Predicate cannot be null!");
+	}
+	
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if (!dropping)
+			return source.tryAdvance(action);
+		while (dropping && source.tryAdvance(t -> {
+			if (!predicate.test(t)) {
+				dropping = false;
+				action.accept(t);
+			}
+		}));
+		if (!dropping)
+			return true;
+		dropping = false;
+		return false;
+	}
+	
+	@Override
+	public void forEachRemaining(Consumer<? super T> action) {
+		if (dropping)
+			tryAdvance(action);
+		source.forEachRemaining(action);
+	}
+	
+	@Override
+	public Spliterator<T> trySplit() {
+		if (!dropping)
+			return source.trySplit();
+		Object[] first = new Object[1];
+		if (!tryAdvance(t -> first[0] = t))
+			return null;
+		@SuppressWarnings("unchecked")
+		Stream<T> head = Stream.of((T) first[0]);
+		Spliterator<T> prefix = source.trySplit();
+		return prefix == null ? head.spliterator() : Stream.concat(head, StreamSupport.stream(prefix, false)).spliterator();
+	}
+	
+	@Override
+	public long estimateSize() {
+		return source.estimateSize();
+	}
+	
+	@Override
+	public int characteristics() {
+		return source.characteristics() & (ORDERED | DISTINCT | NONNULL | IMMUTABLE | CONCURRENT);
+	}
+}
@@ -0,0 +1,64 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * <p>Spliterator presenting results of the specified function applied to each element of the source
+ * spliterator and its index (starting from zero). Index is not boxed.
+ * 
+ * <p>If source is {@link Spliterator#SUBSIZED} - spliterator is split as the source, and the index of each part
+ * is calculated from the exact size of the previous parts. Otherwise it cannot be split.
+ * 
+ * @see UberStream#zipWithIndex()
+ * @see UberStream#mapIndexed(LongObjFunction)
+ */
+class IndexedSpliterator<T, R> implements Spliterator<R> {
+
+	private final Spliterator<T> source;
+	private final LongObjFunction<? super T, ? extends R> mapper;
+	private long index;
+	
+	public IndexedSpliterator(Spliterator<T> source, LongObjFunction<? super T, ? extends R> mapper) {
+		this(source, mapper, 0);
+	}
+	
+	private IndexedSpliterator(Spliterator<T> source, LongObjFunction<? super T, ? extends R> mapper, long index) {
+		this.source = Objects.requireNonNull(source, "Source spliterator cannot be null!");
+		this.mapper = Objects.requireNonNull(mapper, "Mapper cannot be null!");
+		this.index = index;
+	}
+	
+	@Override
+	public boolean tryAdvance(Consumer<? super R> action) {
+		return source.tryAdvance(t -> action.accept(mapper.apply(index++, t)));
+	}
+	
+	@Override
+	public void forEachRemaining(Consumer<? super R> action) {
+		source.forEachRemaining(t -> action.accept(mapper.apply(index++, t)));
+	}
+	
+	@Override
+	public Spliterator<R> trySplit() {
+		if (!source.hasCharacteristics(SUBSIZED))
+			return null;
+		Spliterator<T> prefix = source.trySplit();
+		if (prefix == null)
+			return null;
+		IndexedSpliterator<T, R> result = new IndexedSpliterator<>(prefix, mapper, index);
+		index += prefix.getExactSizeIfKnown();
+		return result;
+	}
+	
+	@Override
+	public long estimateSize() {
+		return source.estimateSize();
+	}
+	
+	@Override
+	public int characteristics() {
+		return source.characteristics() & (ORDERED | SIZED | SUBSIZED);
+	}
+}
@@ -0,0 +1,30 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * <p>Equal to {@link Function2} but both arguments are primitive <code>int</code> values.
+ * 
+ * @see #toFunction(IntFunction2)
+ * @see IntFunction
+ */
+@FunctionalInterface
+public interface IntFunction2<R> {
+
+	R apply(int a, int b);
+	
+	/**
+	 * Convert specified function to the {@link Function} were all arguments are represented
+	 * as a single {@link IntIntTuple} instance.
+	 */
+	static <R> Function<IntIntTuple, R> toFunction(IntFunction2<R> delegate) {
+		return e -> delegate.apply(e._1, e._2);
+	}
+	
+	default <V> IntFunction2<V> andThen(Function<? super R, ? extends V> then) {
+		Objects.requireNonNull(then, "Chained function cannot be null!");
+		return (a,b) -> then.apply(apply(a, b));
+	}
+}
@@ -0,0 +1,20 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * <p>Equal to {@link Function3} but all arguments are primitive <code>int</code> values.
+ * 
+ * @see IntFunction2
+ */
+@FunctionalInterface
+public interface IntFunction3<R> {
+
+	R apply(int a, int b, int c);
+	
+	default <V> IntFunction3<V> andThen(Function<? super R, ? extends V> then) {
+		Objects.requireNonNull(then, "Chained function cannot be null!");
+		return (a,b,c) -> then.apply(apply(a, b, c));
+	}
+}
@@ -0,0 +1,68 @@
+package org.whaka.util.function;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * <p>Final immutable container for 2 primitive <code>int</code> values.
+ * Equal to the {@link Tuple2}, but values are not boxed.
+ * 
+ * <p>Values might be accessed directly: {@link #_1} and {@link #_2},
+ * or thru getters: {@link #get_1()} and {@link #get_2()}.
+ * 
+ * @see #intIntTuple(int, int)
+ * @see IntObjTuple
+ */
+public final class IntIntTuple {
+
+	public final int _1;
+	public final int _2;
+	
+	public IntIntTuple(int _1, int _2) {
+		this._1 = _1;
+		this._2 = _2;
+	}
+	
+	/**
+	 * Factory method to create new instance of the immutable tuple.
+	 */
+	public static IntIntTuple intIntTuple(int _1, int _2) {
+		return new IntIntTuple(_1, _2);
+	}
+	
+	/**
+	 * Value of the {@link #_1} field
+	 */
+	public int get_1() {
+		return _1;
+	}
+	
+	/**
+	 * Value of the {@link #_2} field
+	 */
+	public int get_2() {
+		return _2;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Integer.hashCode(_1) + Integer.hashCode(_2);
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (object != null && getClass() == object.getClass()) {
+			IntIntTuple that = (IntIntTuple) object;
+			return this._1 == that._1
+					&& this._2 == that._2;
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.addValue(_1)
+				.addValue(_2)
+				.toString();
+	}
+}
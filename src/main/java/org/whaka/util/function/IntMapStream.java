@@ -0,0 +1,167 @@
+package org.whaka.util.function;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.whaka.util.UberMaps;
+import org.whaka.util.collections.IntObjMap;
+
+/**
+ * <p>Analogue of the {@link MapStream} for the entries with primitive <code>int</code> keys.
+ * Entries are represented as {@link IntObjTuple} instances, but key/value operations are performed over
+ * a single mutable cursor, so keys are never boxed, and no tuple is created while entries are filtered,
+ * mapped, or reduced. Tuples are created only when the stream is observed as a stream of tuples
+ * (e.g. by the {@link #iterator()}).
+ * 
+ * <p>Stream is converted into a boxed form only at the "edge": when it is collected into
+ * a map (see {@link #toMap()}), or converted into a regular {@link MapStream} (see {@link #toMapStream()}).
+ * 
+ * @see UberStream#toIntMapStream(java.util.function.ToIntFunction)
+ */
+public class IntMapStream<V> extends PrimitiveKeyMapStream<V, IntObjTuple<V>, IntMapStream<V>> {
+
+	public IntMapStream(Stream<IntObjTuple<V>> actual) {
+		super(actual, null, false);
+	}
+	
+	private IntMapStream(Stream<?> source, Step steps, boolean filtering) {
+		super(source, steps, filtering);
+	}
+	
+	/**
+	 * Stream with the keys and values calculated from the elements of the specified stream,
+	 * without creating a tuple for each element.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T, V> IntMapStream<V> of(Stream<T> stream, ToIntFunction<? super T> keyFunction,
+			Function<? super T, ? extends V> valFunction) {
+		return new IntMapStream<>(stream, c -> {
+			T element = (T) c.element;
+			c.key = keyFunction.applyAsInt(element);
+			c.val = valFunction.apply(element);
+			return true;
+		}, false);
+	}
+	
+	@Override
+	IntMapStream<V> create(Stream<?> source, Step steps, boolean filtering) {
+		return new IntMapStream<>(source, steps, filtering);
+	}
+	
+	@Override
+	IntObjTuple<V> tuple(long key, V value) {
+		return new IntObjTuple<>((int) key, value);
+	}
+	
+	@Override
+	long key(IntObjTuple<V> tuple) {
+		return tuple._1;
+	}
+	
+	@Override
+	V value(IntObjTuple<V> tuple) {
+		return tuple._2;
+	}
+	
+	/**
+	 * Each key/value pair in the stream is matched against the specified predicate.
+	 * Only the successfully matched entries are retained in the stream.
+	 */
+	public IntMapStream<V> filter(IntObjPredicate<? super V> predicate) {
+		return fuse(c -> predicate.test((int) c.key, valueOf(c)), true);
+	}
+	
+	/**
+	 * Filter out only the entries where key matches specified predicate.
+	 */
+	public IntMapStream<V> filterKey(IntPredicate keyPredicate) {
+		return fuse(c -> keyPredicate.test((int) c.key), true);
+	}
+	
+	/**
+	 * Each key/value pair in the stream is mapped by the specified function into an object.
+	 */
+	public <R> UberStream<R> map(IntObjFunction<? super V, ? extends R> mapper) {
+		return new UberStream<>(cursors().map(c -> mapper.apply((int) c.key, valueOf(c))));
+	}
+	
+	/**
+	 * For each entry in the stream - key is mapped by the specified operator, value is untouched.
+	 */
+	public IntMapStream<V> mapKey(IntUnaryOperator keyMapper) {
+		return fuse(c -> {
+			c.key = keyMapper.applyAsInt((int) c.key);
+			return true;
+		}, false);
+	}
+	
+	/**
+	 * For each entry in the stream - key is untouched, and value is mapped by the specified function.
+	 */
+	public <V2> IntMapStream<V2> mapValue(Function<? super V, ? extends V2> valMapper) {
+		return new IntMapStream<>(source, steps.then(c -> {
+			c.val = valMapper.apply(valueOf(c));
+			return true;
+		}), filtering);
+	}
+	
+	/**
+	 * For each entry in the stream - key is untouched, and value is replaced with the result of the specified function
+	 * applied to the key/value pair.
+	 */
+	public <V2> IntMapStream<V2> mapValue(IntObjFunction<? super V, ? extends V2> valMapper) {
+		return new IntMapStream<>(source, steps.then(c -> {
+			c.val = valMapper.apply((int) c.key, valueOf(c));
+			return true;
+		}), filtering);
+	}
+	
+	public IntMapStream<V> peek(IntObjConsumer<? super V> action) {
+		return fuse(c -> {
+			action.accept((int) c.key, valueOf(c));
+			return true;
+		}, false);
+	}
+	
+	public void forEach(IntObjConsumer<? super V> action) {
+		cursors().forEach(c -> action.accept((int) c.key, valueOf(c)));
+	}
+	
+	/**
+	 * Stream of the keys of all the entries.
+	 */
+	public IntStream toKeys() {
+		return cursors().mapToInt(c -> (int) c.key);
+	}
+	
+	/**
+	 * Stream of the entries with boxed keys.
+	 */
+	public MapStream<Integer, V> toMapStream() {
+		return new MapStream<>(cursors().map(c -> UberMaps.entry((int) c.key, PrimitiveKeyMapStream.<V>valueOf(c))));
+	}
+	
+	/**
+	 * <p>Collect stream into a map. Keys are boxed at this point.
+	 * 
+	 * <p><b>Note:</b> merges are resolved as "last one is to stay", so keys duplication is allowed.
+	 */
+	public Map<Integer, V> toMap() {
+		return cursors().collect(HashMap::new, (m, c) -> m.put((int) c.key, valueOf(c)), Map::putAll);
+	}
+	
+	/**
+	 * <p>Collect stream into a primitive {@link IntObjMap}, so keys are never boxed.
+	 * 
+	 * <p><b>Note:</b> merges are resolved as "last one is to stay", so keys duplication is allowed.
+	 */
+	public IntObjMap<V> toIntObjMap() {
+		return cursors().collect(IntObjMap::new, (m, c) -> m.put((int) c.key, valueOf(c)), IntObjMap::putAll);
+	}
+}
@@ -0,0 +1,22 @@
+package org.whaka.util.function;
+
+import java.util.function.Function;
+
+/**
+ * <p>Equal to {@link Function2} but the first argument is a primitive <code>int</code> value.
+ * 
+ * @see #toFunction(IntObjFunction)
+ */
+@FunctionalInterface
+public interface IntObjFunction<V,R> {
+
+	R apply(int key, V value);
+	
+	/**
+	 * Convert specified function to the {@link Function} were all arguments are represented
+	 * as a single {@link IntObjTuple} instance.
+	 */
+	static <V,R> Function<IntObjTuple<V>, R> toFunction(IntObjFunction<? super V, ? extends R> delegate) {
+		return e -> delegate.apply(e._1, e._2);
+	}
+}
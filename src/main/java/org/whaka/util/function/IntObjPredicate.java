@@ -0,0 +1,31 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * <p>Equal to {@link Predicate2} but the first argument is a primitive <code>int</code> value.
+ * 
+ * @see #toPredicate(IntObjPredicate)
+ */
+@FunctionalInterface
+public interface IntObjPredicate<V> {
+
+	boolean test(int key, V value);
+	
+	/**
+	 * Converts specified predicate into a {@link Predicate} were all arguments are represented
+	 * as a single {@link IntObjTuple} instance.
+	 */
+	static <V> Predicate<IntObjTuple<V>> toPredicate(IntObjPredicate<? super V> delegate) {
+		return e -> delegate.test(e._1, e._2);
+	}
+	
+	/**
+	 * Negate specified predicate
+	 */
+	static <V> IntObjPredicate<V> not(IntObjPredicate<V> delegate) {
+		Objects.requireNonNull(delegate, "Negated predicate cannot be null!");
+		return (k,v) -> !delegate.test(k, v);
+	}
+}
@@ -0,0 +1,70 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * <p>Final immutable container for a primitive <code>int</code> value and an object.
+ * Equal to the {@link Tuple2}, but the first value is not boxed.
+ * 
+ * <p>Values might be accessed directly: {@link #_1} and {@link #_2},
+ * or thru getters: {@link #get_1()} and {@link #get_2()}.
+ * 
+ * @see #intObjTuple(int, Object)
+ * @see IntIntTuple
+ */
+public final class IntObjTuple<B> {
+
+	public final int _1;
+	public final B _2;
+	
+	public IntObjTuple(int _1, B _2) {
+		this._1 = _1;
+		this._2 = _2;
+	}
+	
+	/**
+	 * Factory method to create new instance of the immutable tuple.
+	 */
+	public static <B> IntObjTuple<B> intObjTuple(int _1, B _2) {
+		return new IntObjTuple<>(_1, _2);
+	}
+	
+	/**
+	 * Value of the {@link #_1} field
+	 */
+	public int get_1() {
+		return _1;
+	}
+	
+	/**
+	 * Value of the {@link #_2} field
+	 */
+	public B get_2() {
+		return _2;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Integer.hashCode(_1) + Objects.hashCode(_2);
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (object != null && getClass() == object.getClass()) {
+			IntObjTuple<?> that = (IntObjTuple<?>) object;
+			return this._1 == that._1
+					&& Objects.equals(this._2, that._2);
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.addValue(_1)
+				.addValue(_2)
+				.toString();
+	}
+}
@@ -0,0 +1,43 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * <p>Equal to {@link Predicate2} but both arguments are primitive <code>int</code> values.
+ * 
+ * @see #toPredicate(IntPredicate2)
+ * @see IntPredicate
+ */
+@FunctionalInterface
+public interface IntPredicate2 {
+
+	boolean test(int a, int b);
+	
+	/**
+	 * Converts specified predicate into a {@link Predicate} were all arguments are represented
+	 * as a single {@link IntIntTuple} instance.
+	 */
+	static Predicate<IntIntTuple> toPredicate(IntPredicate2 delegate) {
+		return e -> delegate.test(e._1, e._2);
+	}
+	
+	default IntPredicate2 and(IntPredicate2 other) {
+		Objects.requireNonNull(other, "Chained predicate cannot be null!");
+		return (a,b) -> test(a, b) && other.test(a, b);
+	}
+	
+	default IntPredicate2 or(IntPredicate2 other) {
+		Objects.requireNonNull(other, "Chained predicate cannot be null!");
+		return (a,b) -> test(a, b) || other.test(a, b);
+	}
+	
+	/**
+	 * Negate specified predicate
+	 */
+	static IntPredicate2 not(IntPredicate2 delegate) {
+		Objects.requireNonNull(delegate, "Negated predicate cannot be null!");
+		return (a,b) -> !delegate.test(a, b);
+	}
+}
@@ -0,0 +1,32 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+
+/**
+ * <p>Equal to {@link Predicate3} but all arguments are primitive <code>int</code> values.
+ * 
+ * @see IntPredicate2
+ */
+@FunctionalInterface
+public interface IntPredicate3 {
+
+	boolean test(int a, int b, int c);
+	
+	default IntPredicate3 and(IntPredicate3 other) {
+		Objects.requireNonNull(other, "Chained predicate cannot be null!");
+		return (a,b,c) -> test(a, b, c) && other.test(a, b, c);
+	}
+	
+	default IntPredicate3 or(IntPredicate3 other) {
+		Objects.requireNonNull(other, "Chained predicate cannot be null!");
+		return (a,b,c) -> test(a, b, c) || other.test(a, b, c);
+	}
+	
+	/**
+	 * Negate specified predicate
+	 */
+	static IntPredicate3 not(IntPredicate3 delegate) {
+		Objects.requireNonNull(delegate, "Negated predicate cannot be null!");
+		return (a,b,c) -> !delegate.test(a, b, c);
+	}
+}
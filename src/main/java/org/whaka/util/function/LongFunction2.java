@@ -0,0 +1,30 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * <p>Equal to {@link Function2} but both arguments are primitive <code>long</code> values.
+ * 
+ * @see #toFunction(LongFunction2)
+ * @see LongFunction
+ */
+@FunctionalInterface
+public interface LongFunction2<R> {
+
+	R apply(long a, long b);
+	
+	/**
+	 * Convert specified function to the {@link Function} were all arguments are represented
+	 * as a single {@link LongLongTuple} instance.
+	 */
+	static <R> Function<LongLongTuple, R> toFunction(LongFunction2<R> delegate) {
+		return e -> delegate.apply(e._1, e._2);
+	}
+	
+	default <V> LongFunction2<V> andThen(Function<? super R, ? extends V> then) {
+		Objects.requireNonNull(then, "Chained function cannot be null!");
+		return (a,b) -> then.apply(apply(a, b));
+	}
+}
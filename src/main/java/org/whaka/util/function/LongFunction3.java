@@ -0,0 +1,20 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * <p>Equal to {@link Function3} but all arguments are primitive <code>long</code> values.
+ * 
+ * @see LongFunction2
+ */
+@FunctionalInterface
+public interface LongFunction3<R> {
+
+	R apply(long a, long b, long c);
+	
+	default <V> LongFunction3<V> andThen(Function<? super R, ? extends V> then) {
+		Objects.requireNonNull(then, "Chained function cannot be null!");
+		return (a,b,c) -> then.apply(apply(a, b, c));
+	}
+}
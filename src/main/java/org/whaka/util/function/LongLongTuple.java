@@ -0,0 +1,68 @@
+package org.whaka.util.function;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * <p>Final immutable container for 2 primitive <code>long</code> values.
+ * Equal to the {@link Tuple2}, but values are not boxed.
+ * 
+ * <p>Values might be accessed directly: {@link #_1} and {@link #_2},
+ * or thru getters: {@link #get_1()} and {@link #get_2()}.
+ * 
+ * @see #longLongTuple(long, long)
+ * @see LongObjTuple
+ */
+public final class LongLongTuple {
+
+	public final long _1;
+	public final long _2;
+	
+	public LongLongTuple(long _1, long _2) {
+		this._1 = _1;
+		this._2 = _2;
+	}
+	
+	/**
+	 * Factory method to create new instance of the immutable tuple.
+	 */
+	public static LongLongTuple longLongTuple(long _1, long _2) {
+		return new LongLongTuple(_1, _2);
+	}
+	
+	/**
+	 * Value of the {@link #_1} field
+	 */
+	public long get_1() {
+		return _1;
+	}
+	
+	/**
+	 * Value of the {@link #_2} field
+	 */
+	public long get_2() {
+		return _2;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Long.hashCode(_1) + Long.hashCode(_2);
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (object != null && getClass() == object.getClass()) {
+			LongLongTuple that = (LongLongTuple) object;
+			return this._1 == that._1
+					&& this._2 == that._2;
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.addValue(_1)
+				.addValue(_2)
+				.toString();
+	}
+}
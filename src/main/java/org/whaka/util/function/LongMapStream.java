@@ -0,0 +1,167 @@
+package org.whaka.util.function;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.whaka.util.UberMaps;
+import org.whaka.util.collections.LongObjMap;
+
+/**
+ * <p>Analogue of the {@link MapStream} for the entries with primitive <code>long</code> keys.
+ * Entries are represented as {@link LongObjTuple} instances, but key/value operations are performed over
+ * a single mutable cursor, so keys are never boxed, and no tuple is created while entries are filtered,
+ * mapped, or reduced. Tuples are created only when the stream is observed as a stream of tuples
+ * (e.g. by the {@link #iterator()}).
+ * 
+ * <p>Stream is converted into a boxed form only at the "edge": when it is collected into
+ * a map (see {@link #toMap()}), or converted into a regular {@link MapStream} (see {@link #toMapStream()}).
+ * 
+ * @see UberStream#toLongMapStream(java.util.function.ToLongFunction)
+ */
+public class LongMapStream<V> extends PrimitiveKeyMapStream<V, LongObjTuple<V>, LongMapStream<V>> {
+
+	public LongMapStream(Stream<LongObjTuple<V>> actual) {
+		super(actual, null, false);
+	}
+	
+	private LongMapStream(Stream<?> source, Step steps, boolean filtering) {
+		super(source, steps, filtering);
+	}
+	
+	/**
+	 * Stream with the keys and values calculated from the elements of the specified stream,
+	 * without creating a tuple for each element.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T, V> LongMapStream<V> of(Stream<T> stream, ToLongFunction<? super T> keyFunction,
+			Function<? super T, ? extends V> valFunction) {
+		return new LongMapStream<>(stream, c -> {
+			T element = (T) c.element;
+			c.key = keyFunction.applyAsLong(element);
+			c.val = valFunction.apply(element);
+			return true;
+		}, false);
+	}
+	
+	@Override
+	LongMapStream<V> create(Stream<?> source, Step steps, boolean filtering) {
+		return new LongMapStream<>(source, steps, filtering);
+	}
+	
+	@Override
+	LongObjTuple<V> tuple(long key, V value) {
+		return new LongObjTuple<>(key, value);
+	}
+	
+	@Override
+	long key(LongObjTuple<V> tuple) {
+		return tuple._1;
+	}
+	
+	@Override
+	V value(LongObjTuple<V> tuple) {
+		return tuple._2;
+	}
+	
+	/**
+	 * Each key/value pair in the stream is matched against the specified predicate.
+	 * Only the successfully matched entries are retained in the stream.
+	 */
+	public LongMapStream<V> filter(LongObjPredicate<? super V> predicate) {
+		return fuse(c -> predicate.test(c.key, valueOf(c)), true);
+	}
+	
+	/**
+	 * Filter out only the entries where key matches specified predicate.
+	 */
+	public LongMapStream<V> filterKey(LongPredicate keyPredicate) {
+		return fuse(c -> keyPredicate.test(c.key), true);
+	}
+	
+	/**
+	 * Each key/value pair in the stream is mapped by the specified function into an object.
+	 */
+	public <R> UberStream<R> map(LongObjFunction<? super V, ? extends R> mapper) {
+		return new UberStream<>(cursors().map(c -> mapper.apply(c.key, valueOf(c))));
+	}
+	
+	/**
+	 * For each entry in the stream - key is mapped by the specified operator, value is untouched.
+	 */
+	public LongMapStream<V> mapKey(LongUnaryOperator keyMapper) {
+		return fuse(c -> {
+			c.key = keyMapper.applyAsLong(c.key);
+			return true;
+		}, false);
+	}
+	
+	/**
+	 * For each entry in the stream - key is untouched, and value is mapped by the specified function.
+	 */
+	public <V2> LongMapStream<V2> mapValue(Function<? super V, ? extends V2> valMapper) {
+		return new LongMapStream<>(source, steps.then(c -> {
+			c.val = valMapper.apply(valueOf(c));
+			return true;
+		}), filtering);
+	}
+	
+	/**
+	 * For each entry in the stream - key is untouched, and value is replaced with the result of the specified function
+	 * applied to the key/value pair.
+	 */
+	public <V2> LongMapStream<V2> mapValue(LongObjFunction<? super V, ? extends V2> valMapper) {
+		return new LongMapStream<>(source, steps.then(c -> {
+			c.val = valMapper.apply(c.key, valueOf(c));
+			return true;
+		}), filtering);
+	}
+	
+	public LongMapStream<V> peek(LongObjConsumer<? super V> action) {
+		return fuse(c -> {
+			action.accept(c.key, valueOf(c));
+			return true;
+		}, false);
+	}
+	
+	public void forEach(LongObjConsumer<? super V> action) {
+		cursors().forEach(c -> action.accept(c.key, valueOf(c)));
+	}
+	
+	/**
+	 * Stream of the keys of all the entries.
+	 */
+	public LongStream toKeys() {
+		return cursors().mapToLong(c -> c.key);
+	}
+	
+	/**
+	 * Stream of the entries with boxed keys.
+	 */
+	public MapStream<Long, V> toMapStream() {
+		return new MapStream<>(cursors().map(c -> UberMaps.entry(c.key, PrimitiveKeyMapStream.<V>valueOf(c))));
+	}
+	
+	/**
+	 * <p>Collect stream into a map. Keys are boxed at this point.
+	 * 
+	 * <p><b>Note:</b> merges are resolved as "last one is to stay", so keys duplication is allowed.
+	 */
+	public Map<Long, V> toMap() {
+		return cursors().collect(HashMap::new, (m, c) -> m.put(c.key, valueOf(c)), Map::putAll);
+	}
+	
+	/**
+	 * <p>Collect stream into a primitive {@link LongObjMap}, so keys are never boxed.
+	 * 
+	 * <p><b>Note:</b> merges are resolved as "last one is to stay", so keys duplication is allowed.
+	 */
+	public LongObjMap<V> toLongObjMap() {
+		return cursors().collect(LongObjMap::new, (m, c) -> m.put(c.key, valueOf(c)), LongObjMap::putAll);
+	}
+}
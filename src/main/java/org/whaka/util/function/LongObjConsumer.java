@@ -0,0 +1,12 @@
+package org.whaka.util.function;
+
+import java.util.function.BiConsumer;
+
+/**
+ * <p>Equal to {@link BiConsumer} but the first argument is a primitive <code>long</code> value.
+ */
+@FunctionalInterface
+public interface LongObjConsumer<V> {
+
+	void accept(long key, V value);
+}
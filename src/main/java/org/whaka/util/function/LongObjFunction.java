@@ -0,0 +1,22 @@
+package org.whaka.util.function;
+
+import java.util.function.Function;
+
+/**
+ * <p>Equal to {@link Function2} but the first argument is a primitive <code>long</code> value.
+ * 
+ * @see #toFunction(LongObjFunction)
+ */
+@FunctionalInterface
+public interface LongObjFunction<V,R> {
+
+	R apply(long key, V value);
+	
+	/**
+	 * Convert specified function to the {@link Function} were all arguments are represented
+	 * as a single {@link LongObjTuple} instance.
+	 */
+	static <V,R> Function<LongObjTuple<V>, R> toFunction(LongObjFunction<? super V, ? extends R> delegate) {
+		return e -> delegate.apply(e._1, e._2);
+	}
+}
@@ -0,0 +1,31 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * <p>Equal to {@link Predicate2} but the first argument is a primitive <code>long</code> value.
+ * 
+ * @see #toPredicate(LongObjPredicate)
+ */
+@FunctionalInterface
+public interface LongObjPredicate<V> {
+
+	boolean test(long key, V value);
+	
+	/**
+	 * Converts specified predicate into a {@link Predicate} were all arguments are represented
+	 * as a single {@link LongObjTuple} instance.
+	 */
+	static <V> Predicate<LongObjTuple<V>> toPredicate(LongObjPredicate<? super V> delegate) {
+		return e -> delegate.test(e._1, e._2);
+	}
+	
+	/**
+	 * Negate specified predicate
+	 */
+	static <V> LongObjPredicate<V> not(LongObjPredicate<V> delegate) {
+		Objects.requireNonNull(delegate, "Negated predicate cannot be null!");
+		return (k,v) -> !delegate.test(k, v);
+	}
+}
@@ -0,0 +1,43 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * <p>Equal to {@link Predicate2} but both arguments are primitive <code>long</code> values.
+ * 
+ * @see #toPredicate(LongPredicate2)
+ * @see LongPredicate
+ */
+@FunctionalInterface
+public interface LongPredicate2 {
+
+	boolean test(long a, long b);
+	
+	/**
+	 * Converts specified predicate into a {@link Predicate} were all arguments are represented
+	 * as a single {@link LongLongTuple} instance.
+	 */
+	static Predicate<LongLongTuple> toPredicate(LongPredicate2 delegate) {
+		return e -> delegate.test(e._1, e._2);
+	}
+	
+	default LongPredicate2 and(LongPredicate2 other) {
+		Objects.requireNonNull(other, "Chained predicate cannot be null!");
+		return (a,b) -> test(a, b) && other.test(a, b);
+	}
+	
+	default LongPredicate2 or(LongPredicate2 other) {
+		Objects.requireNonNull(other, "Chained predicate cannot be null!");
+		return (a,b) -> test(a, b) || other.test(a, b);
+	}
+	
+	/**
+	 * Negate specified predicate
+	 */
+	static LongPredicate2 not(LongPredicate2 delegate) {
+		Objects.requireNonNull(delegate, "Negated predicate cannot be null!");
+		return (a,b) -> !delegate.test(a, b);
+	}
+}
@@ -0,0 +1,32 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+
+/**
+ * <p>Equal to {@link Predicate3} but all arguments are primitive <code>long</code> values.
+ * 
+ * @see LongPredicate2
+ */
+@FunctionalInterface
+public interface LongPredicate3 {
+
+	boolean test(long a, long b, long c);
+	
+	default LongPredicate3 and(LongPredicate3 other) {
+		Objects.requireNonNull(other, "Chained predicate cannot be null!");
+		return (a,b,c) -> test(a, b, c) && other.test(a, b, c);
+	}
+	
+	default LongPredicate3 or(LongPredicate3 other) {
+		Objects.requireNonNull(other, "Chained predicate cannot be null!");
+		return (a,b,c) -> test(a, b, c) || other.test(a, b, c);
+	}
+	
+	/**
+	 * Negate specified predicate
+	 */
+	static LongPredicate3 not(LongPredicate3 delegate) {
+		Objects.requireNonNull(delegate, "Negated predicate cannot be null!");
+		return (a,b,c) -> !delegate.test(a, b, c);
+	}
+}
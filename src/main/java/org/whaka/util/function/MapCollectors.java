@@ -1,8 +1,14 @@
 package org.whaka.util.function;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
@@ -10,6 +16,9 @@ import java.util.function.Supplier;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
 /**
  * <p>Class provides static factory methods to create {@link Collector} instances to transform streams into maps.
  * 
@@ -24,6 +33,11 @@ import java.util.stream.Collectors;
  * </ul>
  * 
  * <p>Also there're collector factories specifically for stream of map entries: {@link #toMap()} or {@link #toMap(Supplier)}
+ * 
+ * <p>For parallel streams there're concurrent collectors (see {@link #toConcurrentMap()}
+ * and {@link #toMapConcurrently()}) that accumulate all elements into a single {@link ConcurrentHashMap}
+ * instead of merging partial maps. For sequential streams with known size there're presized collectors
+ * (see {@link #toMap(int)}).
  */
 public class MapCollectors {
 
@@ -115,32 +129,262 @@ public class MapCollectors {
 			BinaryOperator<V> mergeFunction,
 			Supplier<M> mapSupplier
 	) {
-		BiConsumer<M, T> accumulator = (map, element) -> createMapInserter(map, mergeFunction)
-				.accept(keyMapper.apply(element), valueMapper.apply(element));
+		BiConsumer<M, T> accumulator = (map, element) ->
+				insert(map, keyMapper.apply(element), valueMapper.apply(element), mergeFunction);
 		return Collector.of(mapSupplier, accumulator, mapMerger(mergeFunction));
 	}
 	
+	/**
+	 * Equal to {@link #toMap()}, but the result map is created with enough capacity to hold
+	 * the specified number of entries without rehashing.
+	 * 
+	 * @throws IllegalArgumentException if specified size is negative
+	 * @see #toMap(Function, Function, int)
+	 */
+	public static <K, V> Collector<Map.Entry<K, V>, ?, Map<K, V>> toMap(int expectedSize) {
+		return toMap(Entry::getKey, Entry::getValue, expectedSize);
+	}
+	
+	/**
+	 * Equal to {@link #toMap(Function, Function)}, but the result map is created with enough capacity to hold
+	 * the specified number of entries without rehashing.
+	 * 
+	 * @throws IllegalArgumentException if specified size is negative
+	 * @see #toMap(int)
+	 */
+	public static <T, K, V> Collector<T, ?, Map<K, V>> toMap(
+			Function<? super T, ? extends K> keyMapper,
+			Function<? super T, ? extends V> valueMapper,
+			int expectedSize
+			) {
+		Preconditions.checkArgument(expectedSize >= 0, "Expected size cannot be negative!");
+		return toMap(keyMapper, valueMapper, replacingMerger(), () -> Maps.newHashMapWithExpectedSize(expectedSize));
+	}
+	
+	/**
+	 * <p>Create new concurrent collector that will collect stream of map entries into a {@link ConcurrentHashMap}.
+	 * Collector has {@link Collector.Characteristics#CONCURRENT} and {@link Collector.Characteristics#UNORDERED}
+	 * characteristics, so parallel stream accumulates all elements directly into a single map.
+	 * 
+	 * <p><b>Note:</b> null keys or values are not supported by the result map (see {@link #toMapConcurrently()}).
+	 * And in case of key collisions in a parallel stream it's not defined which value is retained.
+	 * 
+	 * @see #toConcurrentMap(Function, Function)
+	 * @see #toConcurrentMap(Function, Function, BinaryOperator)
+	 */
+	public static <K, V> Collector<Map.Entry<K, V>, ?, ConcurrentMap<K, V>> toConcurrentMap() {
+		return toConcurrentMap(Entry::getKey, Entry::getValue);
+	}
+	
+	/**
+	 * Map each element of the a stream into key/value pair by specified functions.
+	 * Then collect them into a {@link ConcurrentHashMap}.
+	 * Any key collisions will be replaced with another value.
+	 * 
+	 * @see #toConcurrentMap()
+	 * @see #toConcurrentMap(Function, Function, BinaryOperator)
+	 */
+	public static <T, K, V> Collector<T, ?, ConcurrentMap<K, V>> toConcurrentMap(
+			Function<? super T, ? extends K> keyMapper,
+			Function<? super T, ? extends V> valueMapper
+			) {
+		BiConsumer<ConcurrentMap<K, V>, T> accumulator = (map, element) ->
+				map.put(keyMapper.apply(element), valueMapper.apply(element));
+		return Collector.of(ConcurrentHashMap::new, accumulator, concurrentMapMerger(replacingMerger()),
+				Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED,
+				Collector.Characteristics.IDENTITY_FINISH);
+	}
+	
+	/**
+	 * Map each element of the a stream into key/value pair by specified functions.
+	 * Then collect them into a {@link ConcurrentHashMap}.
+	 * Any key collisions will be resolved by the specified merge function (atomically).
+	 * 
+	 * @see #toConcurrentMap()
+	 * @see #toConcurrentMap(Function, Function)
+	 */
+	public static <T, K, V> Collector<T, ?, ConcurrentMap<K, V>> toConcurrentMap(
+			Function<? super T, ? extends K> keyMapper,
+			Function<? super T, ? extends V> valueMapper,
+			BinaryOperator<V> mergeFunction
+			) {
+		BiConsumer<ConcurrentMap<K, V>, T> accumulator = (map, element) ->
+				map.merge(keyMapper.apply(element), valueMapper.apply(element), mergeFunction);
+		return Collector.of(ConcurrentHashMap::new, accumulator, concurrentMapMerger(mergeFunction),
+				Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED,
+				Collector.Characteristics.IDENTITY_FINISH);
+	}
+	
+	/**
+	 * <p>Equal to {@link #toMap()}, but elements are accumulated concurrently, like with {@link #toConcurrentMap()}.
+	 * Null keys and values are supported: result is a mutable map view over the accumulated {@link ConcurrentHashMap}
+	 * (it's not copied).
+	 * 
+	 * <p>Used by {@link MapStream#toMapConcurrently()}.
+	 * 
+	 * @see #toMapConcurrently(Function, Function)
+	 * @see #toMapConcurrently(Function, Function, BinaryOperator)
+	 */
+	public static <K, V> Collector<Map.Entry<K, V>, ?, Map<K, V>> toMapConcurrently() {
+		return toMapConcurrently(Entry::getKey, Entry::getValue);
+	}
+	
+	/**
+	 * <p>Equal to {@link #toMap(Function, Function)}, but elements are accumulated concurrently,
+	 * like with {@link #toConcurrentMap(Function, Function)}. Null keys and values are supported
+	 * (see {@link #toMapConcurrently()}).
+	 * 
+	 * <p>Used by {@link UberStream#toMapConcurrently(Function, Function)}.
+	 * 
+	 * @see #toMapConcurrently()
+	 * @see #toMapConcurrently(Function, Function, BinaryOperator)
+	 */
+	public static <T, K, V> Collector<T, ?, Map<K, V>> toMapConcurrently(
+			Function<? super T, ? extends K> keyMapper,
+			Function<? super T, ? extends V> valueMapper
+			) {
+		return toMapConcurrently(keyMapper, valueMapper, null);
+	}
+	
+	/**
+	 * <p>Equal to {@link #toMap(Function, Function, BinaryOperator)}, but elements are accumulated concurrently,
+	 * like with {@link #toConcurrentMap(Function, Function, BinaryOperator)}. Null keys and values are supported
+	 * (see {@link #toMapConcurrently()}).
+	 * 
+	 * <p><b>Note:</b> in case of key collisions in a parallel stream the order of merged values is not defined.
+	 * 
+	 * @see #toMapConcurrently()
+	 * @see #toMapConcurrently(Function, Function)
+	 */
+	public static <T, K, V> Collector<T, ?, Map<K, V>> toMapConcurrently(
+			Function<? super T, ? extends K> keyMapper,
+			Function<? super T, ? extends V> valueMapper,
+			BinaryOperator<V> mergeFunction
+			) {
+		BiConsumer<ConcurrentMap<Object, Object>, T> accumulator;
+		if (mergeFunction == null)
+			accumulator = (map, element) -> map.put(mask(keyMapper.apply(element)), mask(valueMapper.apply(element)));
+		else
+			accumulator = (map, element) -> map.merge(mask(keyMapper.apply(element)), mask(valueMapper.apply(element)),
+					(a, b) -> mask(mergeFunction.apply(unmask(a), unmask(b))));
+		return Collector.of(ConcurrentHashMap::new, accumulator,
+				concurrentMapMerger(mergeFunction == null ? replacingMerger() : (a, b) -> mask(mergeFunction.apply(unmask(a), unmask(b)))),
+				NullableMap::new,
+				Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED);
+	}
+	
+	/**
+	 * Object used to represent <code>null</code> keys and values in a {@link ConcurrentHashMap}
+	 */
+	private static final Object NULL = new Object();
+	
+	private static Object mask(Object o) {
+		return o == null ? NULL : o;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T> T unmask(Object o) {
+		return o == NULL ? null : (T) o;
+	}
+	
+	/**
+	 * Mutable map view over a concurrent map with masked <code>null</code> keys and values.
+	 * Entries of the view don't support {@link Entry#setValue(Object)}.
+	 */
+	private static final class NullableMap<K, V> extends AbstractMap<K, V> {
+		
+		private final ConcurrentMap<Object, Object> map;
+		
+		public NullableMap(ConcurrentMap<Object, Object> map) {
+			this.map = map;
+		}
+		
+		@Override
+		public int size() {
+			return map.size();
+		}
+		
+		@Override
+		public boolean containsKey(Object key) {
+			return map.containsKey(mask(key));
+		}
+		
+		@Override
+		public boolean containsValue(Object value) {
+			return map.containsValue(mask(value));
+		}
+		
+		@Override
+		public V get(Object key) {
+			return unmask(map.get(mask(key)));
+		}
+		
+		@Override
+		public V put(K key, V value) {
+			return unmask(map.put(mask(key), mask(value)));
+		}
+		
+		@Override
+		public V remove(Object key) {
+			return unmask(map.remove(mask(key)));
+		}
+		
+		@Override
+		public void clear() {
+			map.clear();
+		}
+		
+		@Override
+		public Set<Entry<K, V>> entrySet() {
+			return new AbstractSet<Entry<K, V>>() {
+				@Override
+				public Iterator<Entry<K, V>> iterator() {
+					Iterator<Entry<Object, Object>> iterator = map.entrySet().iterator();
+					return new Iterator<Entry<K, V>>() {
+						@Override
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+						@Override
+						public Entry<K, V> next() {
+							Entry<Object, Object> e = iterator.next();
+							return new SimpleImmutableEntry<>(unmask(e.getKey()), unmask(e.getValue()));
+						}
+						@Override
+						public void remove() {
+							iterator.remove();
+						}
+					};
+				}
+				@Override
+				public int size() {
+					return map.size();
+				}
+			};
+		}
+	}
+	
+	private static <K, V, M extends ConcurrentMap<K,V>> BinaryOperator<M> concurrentMapMerger(BinaryOperator<V> mergeFunction) {
+		return (m1, m2) -> {
+			m2.forEach((k, v) -> m1.merge(k, v, mergeFunction));
+			return m1;
+		};
+	}
+	
 	private static <K, V, M extends Map<K,V>> BinaryOperator<M> mapMerger(BinaryOperator<V> mergeFunction) {
-        return (m1, m2) -> {
-            for (Map.Entry<K,V> e : m2.entrySet()) {
-            	K key = e.getKey();
-            	V val = e.getValue();
-            	if (m1.containsKey(key))
-            		val = mergeFunction.apply(m1.get(key), val);
-            	m1.put(key, val);
-            }
-            return m1;
-        };
-    }
-	
-	private static <K,V> BiConsumer<K,V> createMapInserter(Map<K, V> map, BinaryOperator<V> mergeFunction) {
-		return (key, val) -> {
-			if (map.containsKey(key))
-        		val = mergeFunction.apply(map.get(key), val);
-        	map.put(key, val);
+		return (m1, m2) -> {
+			for (Map.Entry<K,V> e : m2.entrySet())
+				insert(m1, e.getKey(), e.getValue(), mergeFunction);
+			return m1;
 		};
 	}
 	
+	private static <K, V> void insert(Map<K, V> map, K key, V val, BinaryOperator<V> mergeFunction) {
+		if (map.containsKey(key))
+			val = mergeFunction.apply(map.get(key), val);
+		map.put(key, val);
+	}
+	
 	/**
 	 * Creates a binary operator that always returns second argument.
 	 */
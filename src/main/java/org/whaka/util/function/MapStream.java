@@ -10,25 +10,95 @@ import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.whaka.util.UberMaps;
 import org.whaka.util.UberMaps.Entry;
 
+/**
+ * <p>Stream of map entries, represented as immutable {@link UberMaps.Entry} instances.
+ * 
+ * <p>By default each key/value operation (like {@link #filterKey(Predicate)}, or {@link #mapValue(Function)})
+ * is a separate stage of the underlying stream, and each mapping stage creates a new entry for each element.
+ * Stream in the "fused" mode (see {@link #fused()}) instead collects consecutive key/value operations
+ * into a single stage, performed over a mutable key/value cursor, reused for all the elements.
+ * Entry is created only for the elements passed all the steps, when the stream is observed by any other
+ * operation. Semantics of the operations are the same in both modes.
+ * 
+ * @see #fused()
+ */
 public class MapStream<K,V> implements Stream<UberMaps.Entry<K, V>> {
 
-	private final Stream<UberMaps.Entry<K, V>> actual;
+	private Stream<UberMaps.Entry<K, V>> actual;
+	
+	// Fused mode: actual stream is created from the source and the pending steps when requested
+	private final boolean fused;
+	private final Stream<? extends Map.Entry<?, ?>> source;
+	private final Step steps;
+	private final boolean filtering;
 	
 	public MapStream(Map<K, V> map) {
 		this(map.entrySet().stream());
 	}
 	
 	public MapStream(Stream<? extends Map.Entry<K, V>> actual) {
+		this(actual, false);
+	}
+	
+	private MapStream(Stream<? extends Map.Entry<K, V>> actual, boolean fused) {
 		this.actual = actual.map(UberMaps::entry);
+		this.fused = fused;
+		this.source = null;
+		this.steps = null;
+		this.filtering = false;
+	}
+	
+	private MapStream(Stream<? extends Map.Entry<?, ?>> source, Step steps, boolean filtering) {
+		this.fused = true;
+		this.source = source;
+		this.steps = steps;
+		this.filtering = filtering;
 	}
 
 	private Stream<UberMaps.Entry<K, V>> getActual() {
+		if (actual == null) {
+			actual = StreamSupport.stream(new FusedSpliterator<K, V>(source.spliterator(), steps, filtering),
+					source.isParallel()).onClose(source::close);
+		}
 		return actual;
 	}
+	
+	/**
+	 * Create stream with the same entries in the "fused" mode: consecutive key/value operations
+	 * (filtering, dropping, mapping, or peeking keys and values) are performed in a single stage,
+	 * without creating an intermediate entry for each of them. Any other operation still returns
+	 * a stream in the "fused" mode.
+	 * 
+	 * @see #isFused()
+	 */
+	public MapStream<K, V> fused() {
+		return fused ? this : new MapStream<>(getActual(), true);
+	}
+	
+	public boolean isFused() {
+		return fused;
+	}
+	
+	/**
+	 * Create stream in the same mode as this one
+	 */
+	private <K2, V2> MapStream<K2, V2> derive(Stream<? extends Map.Entry<K2, V2>> stream) {
+		return new MapStream<>(stream, fused);
+	}
+	
+	/**
+	 * Append specified step to the pending ones
+	 */
+	private <K2, V2> MapStream<K2, V2> fuse(Step step, boolean filter) {
+		if (actual == null)
+			return new MapStream<>(source, steps.then(step), filtering || filter);
+		return new MapStream<>(actual, step, filter);
+	}
 
 	@Override
 	public Iterator<UberMaps.Entry<K, V>> iterator() {
@@ -47,22 +117,22 @@ public class MapStream<K,V> implements Stream<UberMaps.Entry<K, V>> {
 
 	@Override
 	public MapStream<K, V> sequential() {
-		return new MapStream<>(getActual().sequential());
+		return derive(getActual().sequential());
 	}
 
 	@Override
 	public MapStream<K, V> parallel() {
-		return new MapStream<>(getActual().parallel());
+		return derive(getActual().parallel());
 	}
 
 	@Override
 	public MapStream<K, V> unordered() {
-		return new MapStream<>(getActual().unordered());
+		return derive(getActual().unordered());
 	}
 
 	@Override
 	public MapStream<K, V> onClose(Runnable closeHandler) {
-		return new MapStream<>(getActual().onClose(closeHandler));
+		return derive(getActual().onClose(closeHandler));
 	}
 
 	@Override
@@ -72,28 +142,37 @@ public class MapStream<K,V> implements Stream<UberMaps.Entry<K, V>> {
 
 	@Override
 	public MapStream<K, V> filter(Predicate<? super UberMaps.Entry<K, V>> predicate) {
-		return new MapStream<>(getActual().filter(predicate));
+		return derive(getActual().filter(predicate));
 	}
 	
 	/**
 	 * Each entry in the stream are matched as key/value pair against the specified predicate.
 	 * Only the successfully matched entries are retained in the stream.
 	 */
+	@SuppressWarnings("unchecked")
 	public MapStream<K, V> filter(BiPredicate<K, V> predicate) {
+		if (fused)
+			return fuse(c -> predicate.test((K) c.key, (V) c.val), true);
 		return filter(e -> predicate.test(e.key, e.val));
 	}
 	
 	/**
 	 * Filter out only the entries where key matches specified predicate.
 	 */
+	@SuppressWarnings("unchecked")
 	public MapStream<K, V> filterKey(Predicate<? super K> keyPredicate) {
+		if (fused)
+			return fuse(c -> keyPredicate.test((K) c.key), true);
 		return filter(e -> keyPredicate.test(e.key));
 	}
 	
 	/**
 	 * Filter out only the entries where value matches specified predicate.
 	 */
+	@SuppressWarnings("unchecked")
 	public MapStream<K, V> filterValue(Predicate<? super V> valPredicate) {
+		if (fused)
+			return fuse(c -> valPredicate.test((V) c.val), true);
 		return filter(e -> valPredicate.test(e.val));
 	}
 
@@ -133,6 +212,8 @@ public class MapStream<K,V> implements Stream<UberMaps.Entry<K, V>> {
 	 * All the successfully matched entries are removed from the stream.
 	 */
 	public MapStream<K, V> drop(BiPredicate<K, V> predicate) {
+		if (fused)
+			return filter((k,v) -> !predicate.test(k, v));
 		return drop(e -> predicate.test(e.key, e.val));
 	}
 	
@@ -159,13 +240,16 @@ public class MapStream<K,V> implements Stream<UberMaps.Entry<K, V>> {
 	 * Each entry in the stream is mapped by the specified function into another entry.
 	 */
 	public <K2, V2> MapStream<K2, V2> mapEntry(Function<? super UberMaps.Entry<K, V>, ? extends Map.Entry<K2, V2>> mapper) {
-		return new MapStream<>(getActual().map(mapper));
+		return derive(getActual().map(mapper));
 	}
 	
 	/**
 	 * Each key/value pair in the stream is mapped by the specified BiFunction into another entry.
 	 */
+	@SuppressWarnings("unchecked")
 	public <K2, V2> MapStream<K2, V2> mapEntry(BiFunction<K, V, ? extends Map.Entry<K2, V2>> mapper) {
+		if (fused)
+			return fuse(c -> c.set(mapper.apply((K) c.key, (V) c.val)), false);
 		return mapEntry(e -> mapper.apply(e.key, e.val));
 	}
 	
@@ -173,21 +257,30 @@ public class MapStream<K,V> implements Stream<UberMaps.Entry<K, V>> {
 	 * For each entry in the stream - key is mapped by the specified key mapper function, and value is mapped
 	 * by the specified value mapper function.
 	 */
+	@SuppressWarnings("unchecked")
 	public <K2, V2> MapStream<K2, V2> mapEntry(Function<? super K, ? extends K2> keyMapper, Function<? super V, ? extends V2> valMapper) {
+		if (fused)
+			return fuse(c -> c.set(keyMapper.apply((K) c.key), valMapper.apply((V) c.val)), false);
 		return mapEntry((k,v) -> entry(keyMapper.apply(k), valMapper.apply(v)));
 	}
 	
 	/**
 	 * For each entry in the stream - key is mapped by the specified key mapper function, value is untouched.
 	 */
+	@SuppressWarnings("unchecked")
 	public <K2> MapStream<K2, V> mapKey(Function<? super K, ? extends K2> keyMapper) {
+		if (fused)
+			return fuse(c -> c.set(keyMapper.apply((K) c.key), c.val), false);
 		return mapEntry(keyMapper, Function.identity());
 	}
 	
 	/**
 	 * For each entry in the stream - key is untouched, and value is mapped by the specified value mapper function.
 	 */
+	@SuppressWarnings("unchecked")
 	public <V2> MapStream<K, V2> mapValue(Function<? super V, ? extends V2> valMapper) {
+		if (fused)
+			return fuse(c -> c.set(c.key, valMapper.apply((V) c.val)), false);
 		return mapEntry(Function.identity(), valMapper);
 	}
 	
@@ -205,6 +298,27 @@ public class MapStream<K,V> implements Stream<UberMaps.Entry<K, V>> {
 	public DoubleStream mapToDouble(ToDoubleFunction<? super UberMaps.Entry<K, V>> mapper) {
 		return getActual().mapToDouble(mapper);
 	}
+	
+	/**
+	 * Each key/value pair in the stream is mapped by the specified function into a primitive <code>int</code>.
+	 */
+	public IntStream mapToInt(ToIntFunction2<K, V> mapper) {
+		return mapToInt(e -> mapper.applyAsInt(e.key, e.val));
+	}
+	
+	/**
+	 * Each key/value pair in the stream is mapped by the specified function into a primitive <code>long</code>.
+	 */
+	public LongStream mapToLong(ToLongFunction2<K, V> mapper) {
+		return mapToLong(e -> mapper.applyAsLong(e.key, e.val));
+	}
+	
+	/**
+	 * Each key/value pair in the stream is mapped by the specified function into a primitive <code>double</code>.
+	 */
+	public DoubleStream mapToDouble(ToDoubleFunction2<K, V> mapper) {
+		return mapToDouble(e -> mapper.applyAsDouble(e.key, e.val));
+	}
 
 	@Override
 	public <R> UberStream<R> flatMap(Function<? super UberMaps.Entry<K, V>, ? extends Stream<? extends R>> mapper) {
@@ -216,7 +330,7 @@ public class MapStream<K,V> implements Stream<UberMaps.Entry<K, V>> {
 	 * is flattened into a stream of entries, and they are combined into a single resulting stream.
 	 */
 	public <K2, V2> MapStream<K2, V2> flatMapEntry(Function<? super UberMaps.Entry<K, V>, ? extends Map<K2, V2>> mapper) {
-		return new MapStream<>(getActual().flatMap(e -> mapper.apply(e).entrySet().stream()));
+		return derive(getActual().flatMap(e -> mapper.apply(e).entrySet().stream()));
 	}
 	
 	/**
@@ -250,7 +364,7 @@ public class MapStream<K,V> implements Stream<UberMaps.Entry<K, V>> {
 
 	@Override
 	public MapStream<K, V> distinct() {
-		return new MapStream<>(getActual().distinct());
+		return derive(getActual().distinct());
 	}
 	
 	/**
@@ -263,12 +377,12 @@ public class MapStream<K,V> implements Stream<UberMaps.Entry<K, V>> {
 	
 	@Override
 	public MapStream<K, V> sorted() {
-		return new MapStream<>(getActual().sorted());
+		return derive(getActual().sorted());
 	}
 
 	@Override
 	public MapStream<K, V> sorted(Comparator<? super UberMaps.Entry<K, V>> comparator) {
-		return new MapStream<>(getActual().sorted(comparator));
+		return derive(getActual().sorted(comparator));
 	}
 	
 	/**
@@ -287,31 +401,37 @@ public class MapStream<K,V> implements Stream<UberMaps.Entry<K, V>> {
 
 	@Override
 	public MapStream<K, V> peek(Consumer<? super UberMaps.Entry<K, V>> action) {
-		return new MapStream<>(getActual().peek(action));
+		return derive(getActual().peek(action));
 	}
 	
 	/**
 	 * Specified consumer are called for each key in the stream.
 	 */
+	@SuppressWarnings("unchecked")
 	public MapStream<K, V> peekKeys(Consumer<? super K> action) {
+		if (fused)
+			return fuse(c -> { action.accept((K) c.key); return true; }, false);
 		return peek(e -> action.accept(e.key));
 	}
 	
 	/**
 	 * Specified consumer are called for each value in the stream.
 	 */
+	@SuppressWarnings("unchecked")
 	public MapStream<K, V> peekValues(Consumer<? super V> action) {
+		if (fused)
+			return fuse(c -> { action.accept((V) c.val); return true; }, false);
 		return peek(e -> action.accept(e.val));
 	}
 
 	@Override
 	public MapStream<K, V> limit(long maxSize) {
-		return new MapStream<>(getActual().limit(maxSize));
+		return derive(getActual().limit(maxSize));
 	}
 
 	@Override
 	public MapStream<K, V> skip(long n) {
-		return new MapStream<>(getActual().skip(n));
+		return derive(getActual().skip(n));
 	}
 
 	@Override
@@ -387,11 +507,21 @@ public class MapStream<K,V> implements Stream<UberMaps.Entry<K, V>> {
 	/**
 	 * Collect stream back to the map form. No additional parameters required, for map is built from the entries.
 	 * @see MapCollectors#toMap()
+	 * @see #toMapConcurrently()
 	 */
 	public Map<K, V> toMap() {
 		return getActual().collect(MapCollectors.toMap());
 	}
 	
+	/**
+	 * Same as {@link #toMap()}, but entries of a parallel stream are accumulated concurrently into a single map.
+	 * <b>Note:</b> in case of keys duplication it's not defined which of the values stays.
+	 * @see MapCollectors#toMapConcurrently()
+	 */
+	public Map<K, V> toMapConcurrently() {
+		return getActual().collect(MapCollectors.toMapConcurrently());
+	}
+	
 	/**
 	 * Collect stream to the linked map. No additional parameters required, for map is built from the entries.
 	 * @see MapCollectors#toMap()
@@ -479,4 +609,117 @@ public class MapStream<K,V> implements Stream<UberMaps.Entry<K, V>> {
 	public Optional<Entry<K, V>> findByKey(K key) {
 		return findKey(Predicate.isEqual(key));
 	}
+	
+	/**
+	 * Single step of the fused key/value operations. Returns <code>false</code> if entry is filtered out.
+	 */
+	@FunctionalInterface
+	private interface Step {
+		
+		boolean apply(Cursor c);
+		
+		default Step then(Step next) {
+			return c -> apply(c) && next.apply(c);
+		}
+	}
+	
+	/**
+	 * Mutable key/value pair, passed thru all the fused steps.
+	 */
+	private static final class Cursor {
+		
+		private Map.Entry<?, ?> source;
+		private Object key;
+		private Object val;
+		private boolean changed;
+		
+		Cursor reset(Map.Entry<?, ?> e) {
+			this.source = e;
+			this.key = e.getKey();
+			this.val = e.getValue();
+			this.changed = false;
+			return this;
+		}
+		
+		boolean set(Object key, Object val) {
+			this.key = key;
+			this.val = val;
+			this.changed = true;
+			return true;
+		}
+		
+		boolean set(Map.Entry<?, ?> e) {
+			return set(e.getKey(), e.getValue());
+		}
+		
+		/**
+		 * Source entry is reused if it wasn't changed by any step
+		 */
+		@SuppressWarnings("unchecked")
+		<K, V> UberMaps.Entry<K, V> toEntry() {
+			if (!changed)
+				return (UberMaps.Entry<K, V>) UberMaps.entry(source);
+			return (UberMaps.Entry<K, V>) UberMaps.entry(key, val);
+		}
+	}
+	
+	/**
+	 * Spliterator performing all the fused steps over a single cursor, reused for all the elements of the source.
+	 * Filtered out elements are just skipped.
+	 */
+	private static final class FusedSpliterator<K, V> implements Spliterator<UberMaps.Entry<K, V>>, Consumer<Map.Entry<?, ?>> {
+		
+		private final Spliterator<? extends Map.Entry<?, ?>> source;
+		private final Step steps;
+		private final boolean filtering;
+		private final Cursor cursor = new Cursor();
+		private boolean passed;
+		
+		FusedSpliterator(Spliterator<? extends Map.Entry<?, ?>> source, Step steps, boolean filtering) {
+			this.source = source;
+			this.steps = steps;
+			this.filtering = filtering;
+		}
+		
+		@Override
+		public void accept(Map.Entry<?, ?> e) {
+			passed = steps.apply(cursor.reset(e));
+		}
+		
+		@Override
+		public boolean tryAdvance(Consumer<? super UberMaps.Entry<K, V>> action) {
+			while (source.tryAdvance(this)) {
+				if (passed) {
+					action.accept(cursor.toEntry());
+					return true;
+				}
+			}
+			return false;
+		}
+		
+		@Override
+		public void forEachRemaining(Consumer<? super UberMaps.Entry<K, V>> action) {
+			source.forEachRemaining(e -> {
+				if (steps.apply(cursor.reset(e)))
+					action.accept(cursor.toEntry());
+			});
+		}
+		
+		@Override
+		public Spliterator<UberMaps.Entry<K, V>> trySplit() {
+			Spliterator<? extends Map.Entry<?, ?>> prefix = source.trySplit();
+			return prefix == null ? null : new FusedSpliterator<>(prefix, steps, filtering);
+		}
+		
+		@Override
+		public long estimateSize() {
+			return source.estimateSize();
+		}
+		
+		@Override
+		public int characteristics() {
+			int characteristics = source.characteristics() & (ORDERED | SIZED | SUBSIZED | IMMUTABLE | CONCURRENT);
+			return (filtering ? characteristics & ~(SIZED | SUBSIZED) : characteristics) | NONNULL;
+		}
+	}
 }
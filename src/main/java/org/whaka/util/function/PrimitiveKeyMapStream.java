@@ -0,0 +1,279 @@
+package org.whaka.util.function;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.BaseStream;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Base class of the map streams with primitive keys ({@link IntMapStream} and {@link LongMapStream}).
+ * Keys of any type are kept as <code>long</code> values (<code>int</code> keys are widened without any loss).
+ *
+ * <p>Key/value operations (filtering, mapping, peeking) are not performed as separate stages of the underlying
+ * stream. They are collected into steps, performed in a single stage over a mutable key/value {@link Cursor},
+ * reused for all the elements. So neither keys are boxed, nor tuples are created per operation.
+ * Tuple is created for each element only when stream is observed as a stream of tuples (e.g. by {@link #iterator()},
+ * or by the operations like {@link #limit(long)} that require the elements themselves). Terminal operations
+ * (like collecting into a map) read the cursor directly.
+ *
+ * @param <V> type of the values
+ * @param <T> type of the tuples
+ * @param <S> type of the stream itself
+ */
+abstract class PrimitiveKeyMapStream<V, T, S extends PrimitiveKeyMapStream<V, T, S>> implements BaseStream<T, S> {
+
+	final Stream<?> source;
+	final Step steps;
+	final boolean filtering;
+
+	/**
+	 * Specified steps are performed for each element of the source, and the first step is expected to load
+	 * the cursor from the {@link Cursor#element}. If steps are <code>null</code> - source is expected to be
+	 * a stream of tuples, and they are loaded by the {@link #loader()}.
+	 */
+	PrimitiveKeyMapStream(Stream<?> source, Step steps, boolean filtering) {
+		this.source = Objects.requireNonNull(source, "Actual stream cannot be null!");
+		this.steps = steps == null ? loader() : steps;
+		this.filtering = filtering;
+	}
+
+	/**
+	 * Create stream of the same type with the specified source and steps.
+	 */
+	abstract S create(Stream<?> source, Step steps, boolean filtering);
+
+	abstract T tuple(long key, V value);
+
+	abstract long key(T tuple);
+
+	abstract V value(T tuple);
+
+	/**
+	 * Create stream of the same type, where the specified step is performed after all the pending ones.
+	 */
+	S fuse(Step step, boolean filter) {
+		return create(source, steps.then(step), filtering || filter);
+	}
+
+	/**
+	 * Step loading the cursor from a tuple.
+	 */
+	@SuppressWarnings("unchecked")
+	Step loader() {
+		return c -> {
+			T tuple = (T) c.element;
+			c.key = key(tuple);
+			c.val = value(tuple);
+			return true;
+		};
+	}
+
+	/**
+	 * <p>Stream of the single cursor (for each split part of a parallel stream) that passed all the steps.
+	 *
+	 * <p><b>Note:</b> the same cursor instance is passed for each element, so it should be consumed
+	 * only by stateless operations that don't retain it.
+	 */
+	Stream<Cursor> cursors() {
+		return StreamSupport.stream(new CursorSpliterator(source.spliterator(), steps, filtering), source.isParallel())
+				.onClose(source::close);
+	}
+
+	/**
+	 * Stream of the tuples, created for each element that passed all the steps.
+	 */
+	Stream<T> tuples() {
+		return cursors().map(c -> tuple(c.key, valueOf(c)));
+	}
+
+	/**
+	 * Create stream of the same type, from the specified stream of tuples.
+	 */
+	S fromTuples(Stream<T> tuples) {
+		return create(tuples, loader(), false);
+	}
+
+	@SuppressWarnings("unchecked")
+	static <V> V valueOf(Cursor c) {
+		return (V) c.val;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return tuples().iterator();
+	}
+
+	@Override
+	public Spliterator<T> spliterator() {
+		return tuples().spliterator();
+	}
+
+	@Override
+	public boolean isParallel() {
+		return source.isParallel();
+	}
+
+	@Override
+	public S sequential() {
+		return create(source.sequential(), steps, filtering);
+	}
+
+	@Override
+	public S parallel() {
+		return create(source.parallel(), steps, filtering);
+	}
+
+	@Override
+	public S unordered() {
+		return create(source.unordered(), steps, filtering);
+	}
+
+	@Override
+	public S onClose(Runnable closeHandler) {
+		return create(source.onClose(closeHandler), steps, filtering);
+	}
+
+	@Override
+	public void close() {
+		source.close();
+	}
+
+	/**
+	 * Filter out only the entries where value matches specified predicate.
+	 */
+	public S filterValue(Predicate<? super V> valPredicate) {
+		return fuse(c -> valPredicate.test(valueOf(c)), true);
+	}
+
+	/**
+	 * Stream of the values of all the entries mapped to primitive <code>double</code> values.
+	 */
+	public DoubleStream mapValueToDouble(ToDoubleFunction<? super V> valMapper) {
+		return cursors().mapToDouble(c -> valMapper.applyAsDouble(valueOf(c)));
+	}
+
+	/**
+	 * Entries are sorted by their keys in the natural order.
+	 */
+	public S sortedKeys() {
+		return fromTuples(tuples().sorted(Comparator.comparingLong(this::key)));
+	}
+
+	public S limit(long maxSize) {
+		return fromTuples(tuples().limit(maxSize));
+	}
+
+	public S skip(long n) {
+		return fromTuples(tuples().skip(n));
+	}
+
+	/**
+	 * Stream of the values of all the entries.
+	 */
+	public UberStream<V> toValues() {
+		return new UberStream<>(cursors().map(PrimitiveKeyMapStream::<V>valueOf));
+	}
+
+	/**
+	 * Values of all the entries are reduced by the specified operator.
+	 */
+	public V reduceValues(V identity, BinaryOperator<V> accumulator) {
+		return toValues().reduce(identity, accumulator);
+	}
+
+	public long count() {
+		return cursors().count();
+	}
+
+	/**
+	 * Mutable key/value pair, passed thru all the steps, and the source element it's loaded from.
+	 */
+	static final class Cursor {
+		Object element;
+		long key;
+		Object val;
+	}
+
+	/**
+	 * Single step of the key/value operations. Returns <code>false</code> if entry is filtered out.
+	 */
+	@FunctionalInterface
+	interface Step {
+
+		boolean apply(Cursor c);
+
+		default Step then(Step next) {
+			return c -> apply(c) && next.apply(c);
+		}
+	}
+
+	/**
+	 * Spliterator performing all the steps over a single cursor, reused for all the elements of the source.
+	 * Filtered out elements are just skipped.
+	 */
+	private static final class CursorSpliterator implements Spliterator<Cursor>, Consumer<Object> {
+
+		private final Spliterator<?> source;
+		private final Step steps;
+		private final boolean filtering;
+		private final Cursor cursor = new Cursor();
+		private boolean passed;
+
+		public CursorSpliterator(Spliterator<?> source, Step steps, boolean filtering) {
+			this.source = source;
+			this.steps = steps;
+			this.filtering = filtering;
+		}
+
+		@Override
+		public void accept(Object element) {
+			cursor.element = element;
+			passed = steps.apply(cursor);
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Cursor> action) {
+			while (source.tryAdvance(this)) {
+				if (passed) {
+					action.accept(cursor);
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super Cursor> action) {
+			source.forEachRemaining(element -> {
+				accept(element);
+				if (passed)
+					action.accept(cursor);
+			});
+		}
+
+		@Override
+		public Spliterator<Cursor> trySplit() {
+			Spliterator<?> prefix = source.trySplit();
+			return prefix == null ? null : new CursorSpliterator(prefix, steps, filtering);
+		}
+
+		@Override
+		public long estimateSize() {
+			return source.estimateSize();
+		}
+
+		@Override
+		public int characteristics() {
+			int characteristics = source.characteristics() & (ORDERED | SIZED | SUBSIZED | CONCURRENT);
+			return (filtering ? characteristics & ~(SIZED | SUBSIZED) : characteristics) | NONNULL;
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * <p>Spliterator presenting running accumulation of the elements of the source spliterator:
+ * each presented value is the result of the accumulator applied to the previous value
+ * (or the identity, for the first element) and the next source element.
+ * Spliterator cannot be split.
+ * 
+ * @see UberStream#scan(Object, BiFunction)
+ */
+class ScanSpliterator<T, U> implements Spliterator<U> {
+
+	private final Spliterator<T> source;
+	private final BiFunction<U, ? super T, U> accumulator;
+	private U current;
+	
+	public ScanSpliterator(Spliterator<T> source, U identity, BiFunction<U, ? super T, U> accumulator) {
+		this.source = Objects.requireNonNull(source, "Source spliterator cannot be null!");
+		this.accumulator = Objects.requireNonNull(accumulator, "Accumulator cannot be null!");
+		this.current = identity;
+	}
+	
+	@Override
+	public boolean tryAdvance(Consumer<? super U> action) {
+		return source.tryAdvance(t -> action.accept(current = accumulator.apply(current, t)));
+	}
+	
+	@Override
+	public void forEachRemaining(Consumer<? super U> action) {
+		source.forEachRemaining(t -> action.accept(current = accumulator.apply(current, t)));
+	}
+	
+	@Override
+	public Spliterator<U> trySplit() {
+		return null;
+	}
+	
+	@Override
+	public long estimateSize() {
+		return source.estimateSize();
+	}
+	
+	@Override
+	public int characteristics() {
+		return source.characteristics() & (ORDERED | SIZED);
+	}
+}
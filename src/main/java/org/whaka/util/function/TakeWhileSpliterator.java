@@ -0,0 +1,55 @@
+package org.whaka.util.function;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * <p>Spliterator presenting elements of the source spliterator while they match the specified predicate.
+ * Source is not advanced after the first mismatched element. Spliterator cannot be split.
+ * 
+ * @see UberStream#takeWhile(Predicate)
+ */
+class TakeWhileSpliterator<T> implements Spliterator<T> {
+
+	private final Spliterator<T> source;
+	private final Predicate<? super T> predicate;
+	private boolean finished;
+	private boolean matched;
+	
+	public TakeWhileSpliterator(Spliterator<T> source, Predicate<? super T> predicate) {
+		this.source = Objects.requireNonNull(source, "Source spliterator cannot be null!");
+		this.predicate = Objects.requireNonNull(predicate, "Predicate cannot be null!");
+	}
+	
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if (finished)
+			return false;
+		matched = false;
+		boolean advanced = source.tryAdvance(t -> {
+			if (predicate.test(t)) {
+				matched = true;
+				action.accept(t);
+			}
+		});
+		finished = !advanced || !matched;
+		return !finished;
+	}
+	
+	@Override
+	public Spliterator<T> trySplit() {
+		return null;
+	}
+	
+	@Override
+	public long estimateSize() {
+		return finished ? 0 : source.estimateSize();
+	}
+	
+	@Override
+	public int characteristics() {
+		return source.characteristics() & (ORDERED | DISTINCT | NONNULL | IMMUTABLE | CONCURRENT);
+	}
+}
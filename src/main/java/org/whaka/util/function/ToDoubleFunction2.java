@@ -0,0 +1,24 @@
+package org.whaka.util.function;
+
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>Equal to {@link ToDoubleBiFunction}.
+ * 
+ * @see #toFunction(ToDoubleFunction2)
+ */
+@FunctionalInterface
+public interface ToDoubleFunction2<A,B> extends ToDoubleBiFunction<A, B> {
+
+	@Override
+	double applyAsDouble(A a, B b);
+	
+	/**
+	 * Convert specified function to the {@link ToDoubleFunction} were all arguments are represented
+	 * as a single {@link Tuple2} instance.
+	 */
+	static <A,B> ToDoubleFunction<Tuple2<A, B>> toFunction(ToDoubleFunction2<A, B> delegate) {
+		return e -> delegate.applyAsDouble(e._1, e._2);
+	}
+}
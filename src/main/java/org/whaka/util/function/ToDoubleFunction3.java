@@ -0,0 +1,23 @@
+package org.whaka.util.function;
+
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>Equal to {@link ToDoubleBiFunction} but with 3 arguments.
+ * 
+ * @see #toFunction(ToDoubleFunction3)
+ */
+@FunctionalInterface
+public interface ToDoubleFunction3<A,B,C> {
+
+	double applyAsDouble(A a, B b, C c);
+	
+	/**
+	 * Convert specified function to the {@link ToDoubleFunction} were all arguments are represented
+	 * as a single {@link Tuple3} instance.
+	 */
+	static <A,B,C> ToDoubleFunction<Tuple3<A, B, C>> toFunction(ToDoubleFunction3<A, B, C> delegate) {
+		return e -> delegate.applyAsDouble(e._1, e._2, e._3);
+	}
+}
@@ -0,0 +1,24 @@
+package org.whaka.util.function;
+
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * <p>Equal to {@link ToIntBiFunction}.
+ * 
+ * @see #toFunction(ToIntFunction2)
+ */
+@FunctionalInterface
+public interface ToIntFunction2<A,B> extends ToIntBiFunction<A, B> {
+
+	@Override
+	int applyAsInt(A a, B b);
+	
+	/**
+	 * Convert specified function to the {@link ToIntFunction} were all arguments are represented
+	 * as a single {@link Tuple2} instance.
+	 */
+	static <A,B> ToIntFunction<Tuple2<A, B>> toFunction(ToIntFunction2<A, B> delegate) {
+		return e -> delegate.applyAsInt(e._1, e._2);
+	}
+}
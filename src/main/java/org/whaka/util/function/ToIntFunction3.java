@@ -0,0 +1,23 @@
+package org.whaka.util.function;
+
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * <p>Equal to {@link ToIntBiFunction} but with 3 arguments.
+ * 
+ * @see #toFunction(ToIntFunction3)
+ */
+@FunctionalInterface
+public interface ToIntFunction3<A,B,C> {
+
+	int applyAsInt(A a, B b, C c);
+	
+	/**
+	 * Convert specified function to the {@link ToIntFunction} were all arguments are represented
+	 * as a single {@link Tuple3} instance.
+	 */
+	static <A,B,C> ToIntFunction<Tuple3<A, B, C>> toFunction(ToIntFunction3<A, B, C> delegate) {
+		return e -> delegate.applyAsInt(e._1, e._2, e._3);
+	}
+}
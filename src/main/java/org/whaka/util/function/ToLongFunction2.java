@@ -0,0 +1,24 @@
+package org.whaka.util.function;
+
+import java.util.function.ToLongBiFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>Equal to {@link ToLongBiFunction}.
+ * 
+ * @see #toFunction(ToLongFunction2)
+ */
+@FunctionalInterface
+public interface ToLongFunction2<A,B> extends ToLongBiFunction<A, B> {
+
+	@Override
+	long applyAsLong(A a, B b);
+	
+	/**
+	 * Convert specified function to the {@link ToLongFunction} were all arguments are represented
+	 * as a single {@link Tuple2} instance.
+	 */
+	static <A,B> ToLongFunction<Tuple2<A, B>> toFunction(ToLongFunction2<A, B> delegate) {
+		return e -> delegate.applyAsLong(e._1, e._2);
+	}
+}
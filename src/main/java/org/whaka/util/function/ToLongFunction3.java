@@ -0,0 +1,23 @@
+package org.whaka.util.function;
+
+import java.util.function.ToLongBiFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>Equal to {@link ToLongBiFunction} but with 3 arguments.
+ * 
+ * @see #toFunction(ToLongFunction3)
+ */
+@FunctionalInterface
+public interface ToLongFunction3<A,B,C> {
+
+	long applyAsLong(A a, B b, C c);
+	
+	/**
+	 * Convert specified function to the {@link ToLongFunction} were all arguments are represented
+	 * as a single {@link Tuple3} instance.
+	 */
+	static <A,B,C> ToLongFunction<Tuple3<A, B, C>> toFunction(ToLongFunction3<A, B, C> delegate) {
+		return e -> delegate.applyAsLong(e._1, e._2, e._3);
+	}
+}
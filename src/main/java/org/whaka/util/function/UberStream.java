@@ -4,15 +4,19 @@ import static org.whaka.util.UberMaps.*;
 import static org.whaka.util.UberPredicates.*;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.concurrent.Executor;
 import java.util.function.*;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
@@ -20,9 +24,12 @@ import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.whaka.util.UberMaps;
 
+import com.google.common.base.Preconditions;
+
 /**
  * Proxy class for any {@link Stream}.
  * Class implements Stream interface, so it can be used as one.
@@ -134,6 +141,66 @@ public class UberStream<T> implements Stream<T> {
 		return new UberStream<>(getActual().map(mapper));
 	}
 
+	/**
+	 * <p>Elements of the stream are lazily mapped by the specified function asynchronously, so that no more than
+	 * <code>maxConcurrency</code> elements are mapped at the same time. Useful for blocking operations,
+	 * like I/O calls, so that their latency is not serialized.
+	 * 
+	 * <p>Results are presented in the encounter order, and no more than <code>maxConcurrency</code>
+	 * results are buffered. Next element is requested only when there's a free slot.
+	 * 
+	 * <p>Virtual threads are used if they are available in the current JVM.
+	 * Otherwise - a single pool of no more than 64 daemon threads, shared by all the async streams,
+	 * so total concurrency of all the streams is also limited.
+	 * Any exception thrown by the function is rethrown by the terminal operation, and all the other
+	 * pending mappings are cancelled.
+	 * 
+	 * <p><b>Note:</b> pending mappings are also cancelled when the stream is closed, so a stream
+	 * with a short-circuiting terminal operation (like {@link #findFirst()}) should be closed
+	 * to drop the mappings that are not required anymore.
+	 * 
+	 * @throws IllegalArgumentException if specified concurrency is not positive
+	 * @see #mapAsync(Function, int, Executor)
+	 * @see #mapAsyncUnordered(Function, int)
+	 */
+	public <R> UberStream<R> mapAsync(Function<? super T, ? extends R> mapper, int maxConcurrency) {
+		return mapAsync(mapper, maxConcurrency, AsyncMapSpliterator.defaultExecutor());
+	}
+	
+	/**
+	 * Equal to {@link #mapAsync(Function, int)}, but the specified executor is used to perform mapping.
+	 * 
+	 * @see #mapAsyncUnordered(Function, int, Executor)
+	 */
+	public <R> UberStream<R> mapAsync(Function<? super T, ? extends R> mapper, int maxConcurrency, Executor executor) {
+		return mapAsync(mapper, maxConcurrency, executor, true);
+	}
+	
+	/**
+	 * Equal to {@link #mapAsync(Function, int)}, but results are presented as soon as they are ready,
+	 * and the encounter order is not preserved.
+	 * 
+	 * @see #mapAsyncUnordered(Function, int, Executor)
+	 */
+	public <R> UberStream<R> mapAsyncUnordered(Function<? super T, ? extends R> mapper, int maxConcurrency) {
+		return mapAsyncUnordered(mapper, maxConcurrency, AsyncMapSpliterator.defaultExecutor());
+	}
+	
+	/**
+	 * Equal to {@link #mapAsyncUnordered(Function, int)}, but the specified executor is used to perform mapping.
+	 * 
+	 * @see #mapAsync(Function, int, Executor)
+	 */
+	public <R> UberStream<R> mapAsyncUnordered(Function<? super T, ? extends R> mapper, int maxConcurrency, Executor executor) {
+		return mapAsync(mapper, maxConcurrency, executor, false);
+	}
+	
+	private <R> UberStream<R> mapAsync(Function<? super T, ? extends R> mapper, int maxConcurrency, Executor executor,
+			boolean ordered) {
+		AsyncMapSpliterator<T, R> spliterator = new AsyncMapSpliterator<>(spliterator(), mapper, maxConcurrency, executor, ordered);
+		return fromSpliterator(spliterator).onClose(spliterator::cancel);
+	}
+	
 	@Override
 	public IntStream mapToInt(ToIntFunction<? super T> mapper) {
 		return getActual().mapToInt(mapper);
@@ -192,7 +259,219 @@ public class UberStream<T> implements Stream<T> {
 	public <V> UberStream<UberMaps.Entry<T, V>> zip(Function<T, V> mapper) {
 		return map(t -> UberMaps.entry(t, mapper.apply(t)));
 	}
+	
+	/**
+	 * Each element of the stream is paired with a primitive <code>int</code> key produced by the specified function.
+	 * Key is not boxed.
+	 */
+	public UberStream<IntObjTuple<T>> keyByInt(ToIntFunction<? super T> keyFunction) {
+		return map(t -> new IntObjTuple<>(keyFunction.applyAsInt(t), t));
+	}
+	
+	/**
+	 * Each element of the stream is paired with a primitive <code>long</code> key produced by the specified function.
+	 * Key is not boxed.
+	 */
+	public UberStream<LongObjTuple<T>> keyByLong(ToLongFunction<? super T> keyFunction) {
+		return map(t -> new LongObjTuple<>(keyFunction.applyAsLong(t), t));
+	}
+	
+	/**
+	 * Each element of the stream is paired with a primitive <code>double</code> key produced by the specified function.
+	 * Key is not boxed.
+	 */
+	public UberStream<DoubleObjTuple<T>> keyByDouble(ToDoubleFunction<? super T> keyFunction) {
+		return map(t -> new DoubleObjTuple<>(keyFunction.applyAsDouble(t), t));
+	}
+	
+	/**
+	 * Each element of the stream is paired with a primitive <code>int</code> key produced by the specified function,
+	 * and stream of such pairs is returned.
+	 * 
+	 * @see IntMapStream
+	 */
+	public IntMapStream<T> toIntMapStream(ToIntFunction<? super T> keyFunction) {
+		return IntMapStream.of(getActual(), keyFunction, Function.identity());
+	}
+	
+	/**
+	 * Each element of the stream is mapped into a pair of a primitive <code>int</code> key and a value
+	 * by the specified functions, and stream of such pairs is returned.
+	 * 
+	 * @see IntMapStream
+	 */
+	public <V> IntMapStream<V> toIntMapStream(ToIntFunction<? super T> keyFunction, Function<? super T, ? extends V> valFunction) {
+		return IntMapStream.of(getActual(), keyFunction, valFunction);
+	}
+	
+	/**
+	 * Each element of the stream is paired with a primitive <code>long</code> key produced by the specified function,
+	 * and stream of such pairs is returned.
+	 * 
+	 * @see LongMapStream
+	 */
+	public LongMapStream<T> toLongMapStream(ToLongFunction<? super T> keyFunction) {
+		return LongMapStream.of(getActual(), keyFunction, Function.identity());
+	}
+	
+	/**
+	 * Each element of the stream is mapped into a pair of a primitive <code>long</code> key and a value
+	 * by the specified functions, and stream of such pairs is returned.
+	 * 
+	 * @see LongMapStream
+	 */
+	public <V> LongMapStream<V> toLongMapStream(ToLongFunction<? super T> keyFunction, Function<? super T, ? extends V> valFunction) {
+		return LongMapStream.of(getActual(), keyFunction, valFunction);
+	}
 
+	/**
+	 * <p>Elements of the stream are lazily presented while they match the specified predicate.
+	 * Stream is not advanced after the first mismatched element, so this operation is short-circuiting,
+	 * e.g. for sorted streams.
+	 * 
+	 * <p><b>Note:</b> elements are matched sequentially, even if the stream is parallel.
+	 * 
+	 * @see #dropWhile(Predicate)
+	 */
+	public UberStream<T> takeWhile(Predicate<? super T> predicate) {
+		return fromSpliterator(new TakeWhileSpliterator<>(spliterator(), predicate));
+	}
+	
+	/**
+	 * <p>Elements of the stream are lazily skipped while they match the specified predicate.
+	 * First mismatched element and all the elements after it are presented.
+	 * 
+	 * <p><b>Note:</b> elements are matched sequentially, even if the stream is parallel. In a parallel stream
+	 * they are skipped when the stream is split for the first time, and then the rest of the stream
+	 * is processed in parallel.
+	 * 
+	 * @see #takeWhile(Predicate)
+	 */
+	public UberStream<T> dropWhile(Predicate<? super T> predicate) {
+		return fromSpliterator(new DropWhileSpliterator<>(spliterator(), predicate));
+	}
+	
+	/**
+	 * <p>Running accumulation of the elements of the stream: each element of the result stream is the result
+	 * of the specified accumulator applied to the previous result (or the identity, for the first element)
+	 * and the next element of the stream. Identity itself is not presented. For example:
+	 * <pre>
+	 * 	stream(1, 2, 3).scan(0, Integer::sum); // 1, 3, 6
+	 * </pre>
+	 * 
+	 * <p><b>Note:</b> accumulation is performed sequentially, even if the stream is parallel.
+	 */
+	public <U> UberStream<U> scan(U identity, BiFunction<U, ? super T, U> accumulator) {
+		return fromSpliterator(new ScanSpliterator<>(spliterator(), identity, accumulator));
+	}
+	
+	/**
+	 * <p>Each element of the stream is paired with its index (starting from zero).
+	 * Index is not boxed.
+	 * 
+	 * <p>If stream is parallel and its size is known for each split part (e.g. stream of a list or an array) -
+	 * elements are indexed in parallel. Otherwise - sequentially.
+	 * 
+	 * @see #mapIndexed(LongObjFunction)
+	 * @see #forEachIndexed(LongObjConsumer)
+	 */
+	public UberStream<LongObjTuple<T>> zipWithIndex() {
+		return mapIndexed(LongObjTuple::new);
+	}
+	
+	/**
+	 * Each element of the stream is mapped by the specified function, along with its index (starting from zero).
+	 * Index is not boxed.
+	 * 
+	 * @see #zipWithIndex()
+	 */
+	public <R> UberStream<R> mapIndexed(LongObjFunction<? super T, ? extends R> mapper) {
+		return fromSpliterator(new IndexedSpliterator<>(spliterator(), mapper));
+	}
+	
+	/**
+	 * Specified action is performed for each element of the stream, along with its index (starting from zero).
+	 * Index is not boxed. If stream is parallel - action might be performed concurrently.
+	 * 
+	 * @see #zipWithIndex()
+	 */
+	public void forEachIndexed(LongObjConsumer<? super T> action) {
+		Objects.requireNonNull(action, "Action cannot be null!");
+		if (isParallel()) {
+			zipWithIndex().forEach(e -> action.accept(e._1, e._2));
+			return;
+		}
+		long[] index = {0};
+		forEach(t -> action.accept(index[0]++, t));
+	}
+	
+	private <R> UberStream<R> fromSpliterator(Spliterator<R> spliterator) {
+		return new UberStream<>(StreamSupport.stream(spliterator, isParallel()).onClose(this::close));
+	}
+	
+	/**
+	 * <p>Elements of the stream are lazily grouped into lists of the specified size.
+	 * Last list might contain less elements. Each list is a new instance, so it can be safely retained.
+	 * 
+	 * <p>Result stream can be processed in parallel. Stream is split only at multiples of the batch size,
+	 * so in this case batches are the same as in the sequential stream.
+	 * 
+	 * @throws IllegalArgumentException if specified size is not positive
+	 * @see #forEachBatch(int, Consumer)
+	 * @see #window(int, int)
+	 */
+	public UberStream<List<T>> batch(int size) {
+		return fromSpliterator(new BatchSpliterator<>(spliterator(), size));
+	}
+	
+	/**
+	 * <p>Elements of the stream are lazily presented as lists of the specified size (windows),
+	 * where each next window starts <code>step</code> elements after the previous one.
+	 * If step is less than size - windows overlap. If step is greater than size - some elements are skipped.
+	 * Only full windows are presented, so if stream contains less than <code>size</code> elements -
+	 * result stream is empty.
+	 * 
+	 * <p><b>Note:</b> windows are created sequentially, even if the stream is parallel.
+	 * 
+	 * @throws IllegalArgumentException if specified size or step is not positive
+	 * @see #batch(int)
+	 */
+	public UberStream<List<T>> window(int size, int step) {
+		return fromSpliterator(new WindowSpliterator<>(spliterator(), size, step));
+	}
+	
+	/**
+	 * <p>Elements of the stream are grouped into lists of the specified size, and each list is passed
+	 * to the specified consumer. Last list might contain less elements.
+	 * 
+	 * <p>If stream is sequential - a single list is reused for all the batches, so memory consumption
+	 * is bounded by the batch size. <b>Note:</b> this means that consumer should not retain the list
+	 * after it returns! If stream is parallel - this method is equal to:
+	 * <pre>
+	 * 	#batch(size).forEach(consumer);
+	 * </pre>
+	 * 
+	 * @throws IllegalArgumentException if specified size is not positive
+	 * @see #batch(int)
+	 */
+	public void forEachBatch(int size, Consumer<? super List<T>> consumer) {
+		Preconditions.checkArgument(size > 0, "Batch size should be positive!");
+		Objects.requireNonNull(consumer, "Consumer cannot be null!");
+		if (isParallel()) {
+			batch(size).forEach(consumer);
+			return;
+		}
+		Spliterator<T> spliterator = spliterator();
+		List<T> batch = new ArrayList<>(size);
+		while (true) {
+			while (batch.size() < size && spliterator.tryAdvance(batch::add));
+			if (batch.isEmpty())
+				return;
+			consumer.accept(batch);
+			batch.clear();
+		}
+	}
+	
 	@Override
 	public UberStream<T> distinct() {
 		return new UberStream<>(getActual().distinct());
@@ -281,10 +560,19 @@ public class UberStream<T> implements Stream<T> {
 	}
 	
 	/**
-	 * Collect all elements of the stream into a list.
+	 * <p>Collect all elements of the stream into a list.
+	 * 
+	 * <p>If stream is sequential and its exact size is known - list is created with the required capacity,
+	 * so no intermediate copies are performed.
 	 */
 	public List<T> toList() {
-		return collect(Collectors.toList());
+		if (isParallel())
+			return collect(Collectors.toList());
+		Spliterator<T> spliterator = spliterator();
+		long size = spliterator.getExactSizeIfKnown();
+		List<T> list = size >= 0 && size < Integer.MAX_VALUE ? new ArrayList<>((int) size) : new ArrayList<>();
+		spliterator.forEachRemaining(list::add);
+		return list;
 	}
 	
 	/**
@@ -319,11 +607,28 @@ public class UberStream<T> implements Stream<T> {
 	 * <p><b>Note:</b> merges are resolved as "last one is to stay", so keys duplication is allowed.
 	 * 
 	 * @see MapCollectors#toMap(Function, Function)
+	 * @see #toMapConcurrently(Function, Function)
 	 */
 	public <K,V> Map<K, V> toMap(Function<T, K> keyFunction, Function<T, V> valFunction) {
 		return collect(MapCollectors.toMap(keyFunction, valFunction));
 	}
 	
+	/**
+	 * <p>Same as {@link #toMap(Function, Function)}, but elements of a parallel stream are accumulated
+	 * concurrently into a single map, instead of merging partial maps. Equal to:
+	 * <pre>
+	 * 	#collect(MapCollectors.toMapConcurrently(keyFunction, valFunction));
+	 * </pre>
+	 * 
+	 * <p><b>Note:</b> in case of keys duplication it's not defined which of the values stays,
+	 * even if the stream is ordered.
+	 * 
+	 * @see MapCollectors#toMapConcurrently(Function, Function)
+	 */
+	public <K,V> Map<K, V> toMapConcurrently(Function<T, K> keyFunction, Function<T, V> valFunction) {
+		return collect(MapCollectors.toMapConcurrently(keyFunction, valFunction));
+	}
+	
 	/**
 	 * <p>Specified function is applied to each element of the stream. Results are used as keys in the result map.
 	 * Values are the elements themselves. Map is created from the specified supplier. Equal to:
@@ -369,6 +674,108 @@ public class UberStream<T> implements Stream<T> {
 		return new MapStream<>(map(t -> entry(keyFunction.apply(t), valFunction.apply(t))));
 	}
 	
+	/**
+	 * <p>Elements of the stream are grouped into lists by the keys provided by the specified function.
+	 * Result groups are represented as a map stream. Unlike {@link Collectors#groupingBy(Function)}
+	 * <code>null</code> keys are allowed.
+	 * 
+	 * <p>Order of the elements in each list is the same as encounter order of the stream.
+	 * 
+	 * @see #groupBy(Function, Collector)
+	 */
+	public <K> MapStream<K, List<T>> groupBy(Function<? super T, ? extends K> keyFunction) {
+		return groupBy(keyFunction, Collectors.toList());
+	}
+	
+	/**
+	 * <p>Elements of the stream are grouped by the keys provided by the specified function,
+	 * and elements of each group are reduced by the specified downstream collector.
+	 * Result groups are represented as a map stream. Unlike {@link Collectors#groupingBy(Function, Collector)}
+	 * <code>null</code> keys are allowed.
+	 * 
+	 * <p>Only a single accumulation container of the downstream collector is kept for each key,
+	 * so no intermediate collections are created.
+	 * 
+	 * @see #groupBy(Function)
+	 * @see #countBy(Function)
+	 */
+	public <K, A, D> MapStream<K, D> groupBy(Function<? super T, ? extends K> keyFunction,
+			Collector<? super T, A, D> downstream) {
+		Objects.requireNonNull(keyFunction, "Key function cannot be null!");
+		Objects.requireNonNull(downstream, "Downstream collector cannot be null!");
+		Supplier<A> supplier = downstream.supplier();
+		BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+		BinaryOperator<A> combiner = downstream.combiner();
+		Map<K, A> groups = collect(HashMap::new,
+				(map, t) -> accumulator.accept(map.computeIfAbsent(keyFunction.apply(t), k -> supplier.get()), t),
+				(m1, m2) -> m2.forEach((k, a) -> m1.merge(k, a, combiner)));
+		Function<A, D> finisher = downstream.finisher();
+		return new MapStream<>(groups).mapValue(finisher);
+	}
+	
+	/**
+	 * Elements of the stream are counted by the keys provided by the specified function.
+	 * Primitive counters are used for accumulation, so no boxing is performed per element.
+	 * <code>null</code> keys are allowed.
+	 * 
+	 * @see #histogram()
+	 * @see #groupBy(Function, Collector)
+	 */
+	public <K> MapStream<K, Long> countBy(Function<? super T, ? extends K> keyFunction) {
+		Objects.requireNonNull(keyFunction, "Key function cannot be null!");
+		Map<K, long[]> counters = collect(HashMap::new,
+				(map, t) -> map.computeIfAbsent(keyFunction.apply(t), k -> new long[1])[0]++,
+				(m1, m2) -> m2.forEach((k, c) -> m1.merge(k, c, (a, b) -> {
+					a[0] += b[0];
+					return a;
+				})));
+		return new MapStream<>(counters).mapValue(c -> c[0]);
+	}
+	
+	/**
+	 * Number of occurrences of each distinct element in the stream. Equal to:
+	 * <pre>
+	 * 	#countBy(Function.identity());
+	 * </pre>
+	 * 
+	 * @see #countBy(Function)
+	 */
+	public MapStream<T, Long> histogram() {
+		return countBy(Function.identity());
+	}
+	
+	/**
+	 * <p>Find no more than <code>k</code> greatest elements of the stream according to the specified comparator.
+	 * Result list is sorted from the greatest element to the lowest.
+	 * 
+	 * <p>Bounded heap of size <code>k</code> is used, so memory consumption doesn't depend on the size of the stream.
+	 * If stream is parallel - each partial heap is bounded, and heaps are merged. Heaps start small and grow
+	 * on demand, so big <code>k</code> costs nothing for small streams.
+	 * 
+	 * @throws IllegalArgumentException if specified number is negative
+	 */
+	public List<T> topK(int k, Comparator<? super T> comparator) {
+		Preconditions.checkArgument(k >= 0, "Number of elements cannot be negative!");
+		Objects.requireNonNull(comparator, "Comparator cannot be null!");
+		if (k == 0)
+			return new ArrayList<>();
+		PriorityQueue<T> heap = collect(() -> new PriorityQueue<>(Math.min(k, 1024) + 1, comparator),
+				(h, t) -> offerBounded(h, t, k, comparator),
+				(h1, h2) -> h2.forEach(t -> offerBounded(h1, t, k, comparator)));
+		List<T> result = new ArrayList<>(heap);
+		result.sort(comparator.reversed());
+		return result;
+	}
+	
+	private static <T> void offerBounded(PriorityQueue<T> heap, T t, int k, Comparator<? super T> comparator) {
+		if (heap.size() < k)
+			heap.offer(t);
+		else if (comparator.compare(t, heap.peek()) > 0) {
+			heap.poll();
+			heap.offer(t);
+		}
+	}
+	
 	/**
 	 * All elements of the stream are mapped to string using {@link String#valueOf(Object)}. Then all elements
 	 * are concatenated to string using specified delimiter. Equal to:
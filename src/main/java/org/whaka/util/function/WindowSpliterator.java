@@ -0,0 +1,70 @@
+package org.whaka.util.function;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * <p>Spliterator that presents elements of the source spliterator as lists of the specified size
+ * (windows), where each next window starts the specified number of elements (step) after the previous one.
+ * If step is less than size - windows overlap. If step is greater than size - some elements are skipped.
+ * Only full windows are presented.
+ * 
+ * <p>Elements are buffered in a single reused list, and each presented window is a copy of it.
+ * Spliterator cannot be split.
+ * 
+ * @see UberStream#window(int, int)
+ */
+class WindowSpliterator<T> implements Spliterator<List<T>> {
+
+	private final Spliterator<T> source;
+	private final int size;
+	private final int step;
+	private final List<T> buffer;
+	private long skip;
+	
+	public WindowSpliterator(Spliterator<T> source, int size, int step) {
+		Preconditions.checkArgument(size > 0, "Window size should be positive!");
+		Preconditions.checkArgument(step > 0, "Window step should be positive!");
+		this.source = Objects.requireNonNull(source, "Source spliterator cannot be null!");
+		this.size = size;
+		this.step = step;
+		this.buffer = new ArrayList<>(size);
+	}
+	
+	@Override
+	public boolean tryAdvance(Consumer<? super List<T>> action) {
+		while (skip > 0 && source.tryAdvance(t -> {}))
+			skip--;
+		while (buffer.size() < size && source.tryAdvance(buffer::add));
+		if (buffer.size() < size)
+			return false;
+		action.accept(new ArrayList<>(buffer));
+		if (step < size) {
+			buffer.subList(0, step).clear();
+		} else {
+			buffer.clear();
+			skip = step - size;
+		}
+		return true;
+	}
+	
+	@Override
+	public Spliterator<List<T>> trySplit() {
+		return null;
+	}
+	
+	@Override
+	public long estimateSize() {
+		return Long.MAX_VALUE;
+	}
+	
+	@Override
+	public int characteristics() {
+		return (source.characteristics() & ORDERED) | NONNULL;
+	}
+}
@@ -3,7 +3,7 @@ package org.whaka.util.reflection.comparison;
 import java.util.Objects;
 
 import com.google.common.base.MoreObjects;
-import org.whaka.util.UberObjects;
+import org.whaka.util.BoundedRenderer;
 
 /**
  * Class represents <b>always-failed</b> result of comparison. May contain throwable cause.
@@ -25,8 +25,8 @@ public class ComparisonFail extends ComparisonResult {
 	public String toString() {
 		return MoreObjects.toStringHelper(this)
 				.add("cause", getCause())
-				.add("actual", UberObjects.toString(getActual()))
-				.add("expected", UberObjects.toString(getExpected()))
+				.add("actual", BoundedRenderer.DEFAULT.render(getActual()))
+				.add("expected", BoundedRenderer.DEFAULT.render(getExpected()))
 				.add("performer", getComparisonPerformer())
 				.toString();
 	}
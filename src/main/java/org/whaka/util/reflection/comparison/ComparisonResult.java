@@ -3,7 +3,7 @@ package org.whaka.util.reflection.comparison;
 import java.util.Objects;
 
 import com.google.common.base.MoreObjects;
-import org.whaka.util.UberObjects;
+import org.whaka.util.BoundedRenderer;
 
 /**
  * <p>Instance of this class represents single result of performed comparison for two objects.
@@ -56,8 +56,8 @@ public class ComparisonResult {
 	public String toString() {
 		return MoreObjects.toStringHelper(ComparisonResult.class)
 				.add("success", isSuccess())
-				.add("actual", UberObjects.toString(getActual()))
-				.add("expected", UberObjects.toString(getExpected()))
+				.add("actual", BoundedRenderer.DEFAULT.render(getActual()))
+				.add("expected", BoundedRenderer.DEFAULT.render(getExpected()))
 				.add("performer", getComparisonPerformer())
 				.toString();
 	}
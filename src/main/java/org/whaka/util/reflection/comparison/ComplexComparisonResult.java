@@ -7,7 +7,7 @@ import java.util.Objects;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
-import org.whaka.util.UberObjects;
+import org.whaka.util.BoundedRenderer;
 import org.whaka.util.reflection.properties.ClassPropertyKey;
 import org.whaka.util.reflection.properties.ClassPropertyStack;
 
@@ -140,9 +140,9 @@ public class ComplexComparisonResult extends ComparisonResult {
 	public String toString() {
 		return MoreObjects.toStringHelper(ComplexComparisonResult.class)
 				.add("success", isSuccess())
-				.add("property-results", getPropertyResults().keySet())
-				.add("actual", UberObjects.toString(getActual()))
-				.add("expected", UberObjects.toString(getExpected()))
+				.add("property-results", BoundedRenderer.DEFAULT.render(getPropertyResults().keySet()))
+				.add("actual", BoundedRenderer.DEFAULT.render(getActual()))
+				.add("expected", BoundedRenderer.DEFAULT.render(getExpected()))
 				.add("performer", getComparisonPerformer())
 				.toString();
 	}
@@ -281,4 +281,41 @@ class AssertBuilderTest extends Specification {
 		and:
 			res.is(result)
 	}
+
+	def "add-message formats lazily"() {
+		given:
+			AssertBuilder builder = new AssertBuilder()
+			Object arg = Mock()
+
+		when:
+			builder.addMessage("%s", arg)
+		then:
+			0 * arg.toString()
+
+		when:
+			String message = builder.getAssertResults()[0].getMessage()
+		then:
+			1 * arg.toString() >> "qwe"
+			message == "qwe"
+	}
+
+	def "message limit"() {
+		given:
+			AssertBuilder builder = new AssertBuilder()
+		expect:
+			builder.getMessageLimit() == AssertError.DEFAULT_MESSAGE_LIMIT
+
+		when:
+			AssertBuilder builder2 = builder.setMessageLimit(42)
+			builder.addMessage("some")
+		then:
+			builder2.is(builder)
+			builder.getMessageLimit() == 42
+			builder.build().get().getMessageLimit() == 42
+
+		when:
+			builder.setMessageLimit(0)
+		then:
+			thrown(IllegalArgumentException)
+	}
 }
@@ -41,4 +41,76 @@ class AssertErrorTest extends Specification {
 		then: "NPE is thrown, cuz null assert result is not a valid case"
 			thrown(NullPointerException)
 	}
+
+	def "message is rendered lazily and cached"() {
+		given:
+			AssertResult result = Spy(AssertResult, constructorArgs: ["qwe"])
+
+		when:
+			AssertError error = new AssertError([result])
+		then:
+			0 * result.toString()
+
+		when:
+			String message1 = error.getMessage()
+			String message2 = error.getMessage()
+		then:
+			1 * result.toString() >> "rendered"
+		and:
+			message1.is(message2)
+			message1.contains("rendered")
+	}
+
+	def "message limit"() {
+		given:
+			List<AssertResult> results = (1..100).collect { new AssertResult("message-" + it) }
+
+		when:
+			AssertError error = new AssertError(results, 200)
+			String message = error.getMessage()
+		then:
+			error.getMessageLimit() == 200
+			message.startsWith("Assertion fail!")
+			message.contains("message-1")
+			!message.contains("message-100")
+			message.contains("truncated")
+
+		when:
+			String fullMessage = new AssertError(results).getMessage()
+		then:
+			fullMessage.contains("message-100")
+			!fullMessage.contains("truncated")
+	}
+
+	def "message limit: nothing is rendered beyond the limit"() {
+		given:
+			AssertResult first = Spy(AssertResult, constructorArgs: ["qwe"])
+			AssertResult second = Spy(AssertResult, constructorArgs: ["rty"])
+
+		when:
+			String message = new AssertError([first, second], 20).getMessage()
+		then:
+			1 * first.toString() >> "x" * 100000
+			0 * second.toString()
+		and:
+			message.startsWith("Assertion fail!" + System.lineSeparator() + "\t" + "xxx")
+			message.contains("(0 of 2 results rendered)")
+			message.length() < 100
+	}
+
+	def "message limit: last result fits exactly"() {
+		given:
+			String header = "Assertion fail!" + System.lineSeparator() + "\t"
+		expect:
+			new AssertError([new AssertResult("q") { String toString() { "qwe" } }], header.length() + 3).getMessage() == header + "qwe"
+	}
+
+	def "illegal message limit"() {
+		when:
+			new AssertError([new AssertResult()], limit)
+		then:
+			thrown(IllegalArgumentException)
+		where:
+			limit << [0, -1, Integer.MIN_VALUE]
+	}
 }
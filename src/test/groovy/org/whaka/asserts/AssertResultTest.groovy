@@ -147,4 +147,39 @@ class AssertResultTest extends Specification {
 	private boolean compareHashCodeIfEquals(Object a, Object b) {
 		return a.equals(b) ? a.hashCode() == b.hashCode() : true
 	}
+
+	def "formatted message"() {
+		given:
+			AssertResult result = new AssertResult()
+			Object arg = Mock()
+
+		when:
+			result.setMessage("%s-%d", arg, 42)
+		then:
+			0 * arg.toString()
+
+		when:
+			String message = result.getMessage()
+		then:
+			1 * arg.toString() >> "qwe"
+			message == "qwe-42"
+		and:
+			result.getMessage().is(message)
+
+		when:
+			result.setMessage("%s", [null] as Object[])
+		then:
+			result.getMessage() == "null"
+
+		when:
+			result.setMessage("%s-%d", [] as Object[])
+		then:
+			result.getMessage() == "%s-%d"
+
+		when:
+			result.setMessage("%d", "qwe")
+			result.setMessage("plain")
+		then:
+			result.getMessage() == "plain"
+	}
 }
@@ -2,6 +2,7 @@ package org.whaka.asserts
 
 import spock.lang.Specification
 
+import org.whaka.util.BoundedRenderer
 import org.whaka.util.reflection.comparison.ComparisonFail
 import org.whaka.util.reflection.comparison.ComparisonPerformers
 import org.whaka.util.reflection.comparison.ComparisonResult
@@ -67,4 +68,40 @@ class ComparisonAssertResultTest extends Specification {
 			"que?"		|	new ComplexComparisonResult("qwe", "rty", null, [(new ClassPropertyKey("prop")): new ComparisonResult(false, false, null, false)])
 			"FAIL"		|	new ComparisonFail(true, true, null, new RuntimeException())
 	}
+
+	def "to-string is bounded"() {
+		given:
+			Map<ClassPropertyKey, ComparisonResult> properties = (0..<1000).collectEntries {
+				[(new ClassPropertyKey("prop" + it)): new ComparisonResult(it, -it, null, false)]
+			}
+			List<Integer> actual = Collections.nCopies(1_000_000, 42)
+			ComparisonAssertResult result = new ComparisonAssertResult(
+				new ComplexComparisonResult(actual, "rty", null, properties), "msg")
+
+		when:
+			String string = result.toString()
+			List<String> lines = string.readLines()
+		then:
+			lines.size() <= BoundedRenderer.DEFAULT.getMaxElements() + 2
+			string.length() < lines[0].length() + BoundedRenderer.DEFAULT.getMaxChars() * 2
+			lines[0].contains("(999900 more)")
+			lines[1].contains("prop0 = ")
+			lines.last().contains("omitted")
+	}
+
+	def "to-string lists failed properties"() {
+		given:
+			ComparisonAssertResult result = new ComparisonAssertResult(new ComplexComparisonResult("qwe", "rty", null, [
+				(new ClassPropertyKey("a")): new ComparisonResult(1, 1, null, true),
+				(new ClassPropertyKey("b")): new ComplexComparisonResult(2, 3, null, [
+					(new ClassPropertyKey("c")): new ComparisonResult(4, 5, null, false)
+				]),
+			]))
+
+		when:
+			List<String> lines = result.toString().readLines()
+		then:
+			lines.size() == 2
+			lines[1].contains("b.c = ")
+	}
 }
@@ -0,0 +1,138 @@
+package org.whaka.asserts
+
+import static org.hamcrest.Matchers.*
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
+
+import spock.lang.Specification
+
+class ConcurrentAssertBuilderTest extends Specification {
+
+	def "construction"() {
+		expect:
+			new ConcurrentAssertBuilder().getMaxResults() == Integer.MAX_VALUE
+			new ConcurrentAssertBuilder(42).getMaxResults() == 42
+			new ConcurrentAssertBuilder().getDroppedCount() == 0
+			new ConcurrentAssertBuilder().getMessageLimit() == AssertError.DEFAULT_MESSAGE_LIMIT
+			Assert.concurrentBuilder() instanceof ConcurrentAssertBuilder
+	}
+
+	def "illegal limits"() {
+		when:
+			new ConcurrentAssertBuilder(0)
+		then:
+			thrown(IllegalArgumentException)
+
+		when:
+			new ConcurrentAssertBuilder().setMessageLimit(0)
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "build on empty builder"() {
+		given:
+			ConcurrentAssertBuilder builder = new ConcurrentAssertBuilder()
+		expect:
+			builder.build().isPresent() == false
+		when:
+			builder.performAssert()
+		then:
+			notThrown(AssertError)
+	}
+
+	def "results of a single thread are kept in order"() {
+		given:
+			ConcurrentAssertBuilder builder = new ConcurrentAssertBuilder().setMessageLimit(100)
+			AssertResult result = new AssertResult("some")
+
+		when:
+			builder.addResult(result)
+				.addMessage("msg %s", 42)
+				.checkThat(12, equalTo(12))
+				.checkThat(12, equalTo(13), "check")
+		then:
+			builder.getAssertResults().size() == 3
+			builder.getAssertResults()[0].is(result)
+			builder.getAssertResults()[1].getMessage() == "msg 42"
+			builder.getAssertResults()[2].getActual() == 12
+			builder.getAssertResults()[2].getMessage() == "check"
+
+		when:
+			builder.performAssert()
+		then:
+			AssertError e = thrown()
+			e.getResults() == builder.getAssertResults()
+			e.getMessageLimit() == 100
+	}
+
+	def "results snapshot is unmodifiable"() {
+		given:
+			ConcurrentAssertBuilder builder = new ConcurrentAssertBuilder().addMessage("qwe")
+		when:
+			builder.getAssertResults().clear()
+		then:
+			thrown(UnsupportedOperationException)
+	}
+
+	def "null result"() {
+		when:
+			new ConcurrentAssertBuilder().addResult(null)
+		then:
+			thrown(NullPointerException)
+	}
+
+	def "dropped results are counted and reported"() {
+		given:
+			ConcurrentAssertBuilder builder = new ConcurrentAssertBuilder(2)
+
+		when:
+			5.times { builder.addMessage("msg" + it) }
+		then:
+			builder.getAssertResults()*.getMessage() == ["msg0", "msg1"]
+			builder.getDroppedCount() == 3
+
+		when:
+			AssertError e = builder.build().get()
+		then:
+			e.getResults().size() == 3
+			e.getResults()[2].getMessage() == "3 more assert results were dropped (limit of 2 results reached)"
+	}
+
+	def "results from multiple threads"() {
+		given:
+			int threads = 64
+			int checks = 1000
+			ConcurrentAssertBuilder builder = new ConcurrentAssertBuilder(maxResults)
+			ExecutorService executor = Executors.newFixedThreadPool(threads)
+			CountDownLatch start = new CountDownLatch(1)
+
+		when:
+			List<Future<?>> futures = (0..<threads).collect { t ->
+				executor.submit({
+					start.await()
+					for (int i = 0; i < checks; i++)
+						builder.checkThat(i, lessThan(checks.intdiv(2)), "thread " + t)
+				} as Runnable)
+			}
+			start.countDown()
+			futures*.get()
+			executor.shutdown()
+			executor.awaitTermination(1, TimeUnit.MINUTES)
+		then:
+			builder.getAssertResults().size() == Math.min(maxResults, threads * checks / 2 as int)
+			builder.getAssertResults().size() + builder.getDroppedCount() == threads * checks / 2
+
+		when:
+			builder.performAssert()
+		then:
+			AssertError e = thrown()
+			e.getResults().size() == builder.getAssertResults().size() + (builder.getDroppedCount() > 0 ? 1 : 0)
+
+		where:
+			maxResults << [Integer.MAX_VALUE, 1000]
+	}
+}
@@ -343,4 +343,66 @@ class NumberMatchersTest extends Specification {
 			PINF				|	MAX			|	NAN			||	true
 			-MAX				|	NINF		|	0			||	true
 	}
+
+	def "bulk matchers"() {
+		expect:
+			matcher.matches(array as double[]) == result
+			matcher.parallel().matches(array as double[]) == result
+			matcher.forLongs().matches(array as long[]) == result
+		where:
+			matcher													|	array			||	result
+			NumberMatchers.eachEqualTo(2)							|	[2, 2, 2]		||	true
+			NumberMatchers.eachEqualTo(2)							|	[2, 3, 2]		||	false
+			NumberMatchers.eachCloseTo(2, 1.5)						|	[1, 2, 3]		||	true
+			NumberMatchers.eachCloseTo(2, 0.5)						|	[1, 2, 3]		||	false
+			NumberMatchers.eachBetweenOrEqual(1, 3)					|	[1, 2, 3]		||	true
+			NumberMatchers.eachBetweenOrEqual(1, 3)					|	[0, 2, 3]		||	false
+			NumberMatchers.eachFinite()								|	[1, 2, 3]		||	true
+			NumberMatchers.elementsEqualTo([1, 2, 3] as double[])	|	[1, 2, 3]		||	true
+			NumberMatchers.elementsEqualTo([1, 2, 3] as double[])	|	[1, 2, 4]		||	false
+			NumberMatchers.elementsEqualTo([1, 2, 3] as double[])	|	[1, 2]			||	false
+			NumberMatchers.elementsEqualTo([1, 2] as double[], 1.5)	|	[2, 1]			||	true
+			NumberMatchers.elementsEqualTo([1, 2] as double[], 0.5)	|	[2, 1]			||	false
+	}
+
+	def "bulk matchers: description of a big expected array is bounded"() {
+		given:
+			double[] expected = new double[10_000_000]
+			double[] item = new double[expected.length]
+			item[item.length - 1] = 1
+			def matcher = NumberMatchers.elementsEqualTo(expected)
+		when:
+			def result = matcher.matches(item, null, null).get()
+		then:
+			result.toString().length() < 20_000
+			result.toString().contains("double[10000000]")
+		when:
+			result = matcher.matches(null as double[], null, null).get()
+		then:
+			result.toString().length() < 20_000
+		and:
+			NumberMatchers.elementsEqualTo(expected, 0.1).matches(item, null, null).get().toString().length() < 20_000
+	}
+
+	def "bulk matchers: double semantics"() {
+		expect:
+			NumberMatchers.eachEqualTo(0.3).matches([0.1d + 0.2d] as double[])
+			!NumberMatchers.eachFinite().matches([1, Double.NaN] as double[])
+			!NumberMatchers.eachEqualTo(0).matches([Double.NaN] as double[])
+	}
+
+	def "bulk matchers: illegal arguments"() {
+		when:
+			NumberMatchers.eachBetweenOrEqual(2, 1)
+		then:
+			thrown(IllegalArgumentException)
+		when:
+			NumberMatchers.eachCloseTo(2, -1)
+		then:
+			thrown(IllegalArgumentException)
+		when:
+			NumberMatchers.elementsEqualTo(null)
+		then:
+			thrown(NullPointerException)
+	}
 }
@@ -212,4 +212,86 @@ class UberMatchersTest extends Specification {
 	private static int[] arr(int[] arr) {
 		return arr
 	}
+
+	def "hasItemBy: examples"() {
+		expect:
+			UberMatchers.hasItemBy(item, key).matches(values as List) == result
+		where:
+			values				|	item		|	key							||	result
+			[]					|	1			|	Function.identity()			||	false
+			[1, 2]				|	1			|	Function.identity()			||	true
+			[1, 2]				|	3			|	Function.identity()			||	false
+			["qwe", "rty"]		|	"QWE"		|	{ it.toUpperCase() }		||	true
+			[null]				|	null		|	Function.identity()			||	true
+			[arr(1,2)]			|	arr(1,2)	|	{ Arrays.asList(it) }		||	true
+	}
+
+	def "hasAnyItemBy: examples"() {
+		expect:
+			UberMatchers.hasAnyItemBy(items, key).matches(values as List) == result
+		where:
+			values				|	items				|	key						||	result
+			[]					|	[3,4]				|	Function.identity()		||	false
+			[1,2]				|	[3,4]				|	Function.identity()		||	false
+			[1,2,3]				|	[3,4]				|	Function.identity()		||	true
+			[null]				|	[null]				|	Function.identity()		||	true
+			[1,2]				|	[3,4]				|	{ it % 2 }				||	true
+			[1,3]				|	[2,4]				|	{ it % 2 }				||	false
+			[arr(1,2),arr(3,4)]	|	[arr(5,6),arr(1,2)]	|	Function.identity()		||	false
+			[arr(1,2),arr(3,4)]	|	[arr(5,6),arr(1,2)]	|	{ Arrays.asList(it) }	||	true
+	}
+
+	def "isInBy: examples"() {
+		expect:
+			UberMatchers.isInBy(col, key).matches(value) == result
+		where:
+			value		|	col					|	key						||	result
+			1			|	[]					|	Function.identity()		||	false
+			1			|	[1, 2]				|	Function.identity()		||	true
+			3			|	[1, 2]				|	Function.identity()		||	false
+			null		|	[null]				|	Function.identity()		||	true
+			"QWE"		|	["qwe"]				|	{ it.toLowerCase() }	||	true
+	}
+
+	def "indexed matchers build key index once"() {
+		given:
+			Function key = Mock()
+			key.apply(_) >> { it[0] }
+			Matcher isIn = UberMatchers.isInBy([1, 2, 3], key)
+			Matcher hasAny = UberMatchers.hasAnyItemBy([1, 2, 3], key)
+
+		when:
+			isIn.matches(2)
+			isIn.matches(5)
+		then:
+			5 * key.apply(_) >> { it[0] }
+
+		when:
+			hasAny.matches([4, 5])
+			hasAny.matches([6])
+		then:
+			6 * key.apply(_) >> { it[0] }
+	}
+
+	def "indexed matchers: errors"() {
+		when:
+			UberMatchers.hasItemBy(42, null)
+		then:
+			thrown(NullPointerException)
+
+		when:
+			UberMatchers.hasAnyItemBy(null, Function.identity())
+		then:
+			thrown(NullPointerException)
+
+		when:
+			UberMatchers.hasAnyItemBy([], Function.identity())
+		then:
+			thrown(IllegalArgumentException)
+
+		when:
+			UberMatchers.isInBy([42], null)
+		then:
+			thrown(NullPointerException)
+	}
 }
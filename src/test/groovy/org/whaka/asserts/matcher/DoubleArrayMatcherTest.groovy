@@ -0,0 +1,113 @@
+package org.whaka.asserts.matcher
+
+import java.util.stream.DoubleStream
+
+import org.hamcrest.StringDescription
+import org.whaka.asserts.AssertResult
+import org.whaka.asserts.BulkAssertResult
+
+import spock.lang.Shared
+import spock.lang.Specification
+
+class DoubleArrayMatcherTest extends Specification {
+
+	@Shared
+	DoubleArrayMatcher positive = new DoubleArrayMatcher({ i, x -> x > 0 } as DoubleArrayMatcher.ElementPredicate, "positive")
+
+	def "construction"() {
+		expect:
+			positive.getExpectedLength() == -1
+			positive.getReportLimit() == DoubleArrayMatcher.DEFAULT_REPORT_LIMIT
+			positive.isParallel() == false
+			positive.parallel().isParallel() == true
+			positive.withReportLimit(3).getReportLimit() == 3
+			positive.parallel().withReportLimit(3).isParallel() == true
+			StringDescription.toString(positive) == "each element positive"
+	}
+
+	def "illegal report limit"() {
+		when:
+			positive.withReportLimit(-1)
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "matching array"() {
+		expect:
+			positive.matches([1, 2, 3] as double[])
+			positive.matches([] as double[])
+			positive.matches(null, null, null).isPresent()
+			!positive.matches([1, -2, 3] as double[])
+	}
+
+	def "mismatches are reported"() {
+		given:
+			double[] array = (0..<100).collect { it % 10 == 0 ? -it : it } as double[]
+		when:
+			Optional<AssertResult> result = positive.withReportLimit(3).matches(array, "msg", null)
+		then:
+			result.get() instanceof BulkAssertResult
+			BulkAssertResult bulk = result.get()
+			bulk.getLength() == 100
+			bulk.getMismatchCount() == 10
+			bulk.getMismatchIndexes() == [0, 10, 20] as long[]
+			bulk.getMismatchValues() == [0, -10, -20] as double[]
+			bulk.getMessage() == "msg"
+			bulk.getExpected() == "each element positive"
+			bulk.getActual() == "10 of 100 elements don't match: [0]=0.0, [10]=-10.0, [20]=-20.0, ..."
+	}
+
+	def "parallel matching reports the same mismatches"() {
+		given:
+			Random random = new Random(42)
+			double[] array = new double[1_000_000]
+			int negatives = 0
+			for (int i = 0; i < array.length; i++) {
+				array[i] = random.nextInt(50_000) == 0 ? -1.0 : 1.0
+				negatives += array[i] < 0 ? 1 : 0
+			}
+		when:
+			BulkAssertResult sequential = positive.matches(array, null, null).get()
+			BulkAssertResult parallel = positive.parallel().matches(array, null, null).get()
+		then:
+			sequential == parallel
+			sequential.getMismatchCount() == negatives
+	}
+
+	def "expected length"() {
+		given:
+			def m = new DoubleArrayMatcher({ i, x -> true } as DoubleArrayMatcher.ElementPredicate, { }, 2)
+		expect:
+			m.matches([1, 2] as double[])
+			!m.matches([1] as double[])
+			m.matches([1, 2, 3] as double[], "msg", null).get() == new AssertResult("length 3", "length 2", "msg")
+	}
+
+	def "long arrays"() {
+		given:
+			def m = positive.forLongs()
+		expect:
+			m.matches([1, 2, 3] as long[])
+			!m.matches([1, 0, 3] as long[])
+			m.matches([1, 0, -3] as long[], null, null).get().getMismatchCount() == 2
+			StringDescription.toString(m) == "each element positive"
+	}
+
+	def "streams"() {
+		expect:
+			matcher.forStreams().matches(DoubleStream.of(1, 2, 3))
+			!matcher.forStreams().matches(DoubleStream.of(1, -2, 3))
+			matcher.forStreams().matches(DoubleStream.of(-1, -2, 3), null, null).get().getMismatchIndexes() == [0, 1] as long[]
+		where:
+			matcher << [positive, positive.parallel()]
+	}
+
+	def "index is passed to the predicate"() {
+		given:
+			def m = new DoubleArrayMatcher({ i, x -> i == x } as DoubleArrayMatcher.ElementPredicate, "index")
+		expect:
+			m.matches([0, 1, 2, 3] as double[])
+			m.forStreams().matches(DoubleStream.of(0, 1, 2, 3))
+			!m.matches([0, 2, 2, 3] as double[])
+	}
+}
@@ -0,0 +1,82 @@
+package org.whaka.asserts.matcher
+
+import java.util.function.Consumer
+import java.util.function.DoublePredicate
+
+import org.hamcrest.Description
+
+import spock.lang.Specification
+
+class DoubleMatcherTest extends Specification {
+
+	def "construction"() {
+		given:
+			DoublePredicate predicate = Mock()
+			Consumer describer = Mock()
+		when:
+			def m = new DoubleMatcher(predicate, describer)
+		then:
+			0 * predicate.test(_)
+			0 * describer.accept(_)
+		and:
+			m.getPredicate().is(predicate)
+			m.getDescriber().is(describer)
+	}
+
+	def "construction with string"() {
+		given:
+			Description description = Mock()
+		when:
+			new DoubleMatcher({ true } as DoublePredicate, "test description").describeTo(description)
+		then:
+			1 * description.appendText("test description")
+	}
+
+	def "construction NPE"() {
+		when:
+			new DoubleMatcher(predicate, describer)
+		then:
+			thrown(NullPointerException)
+		where:
+			predicate					|	describer
+			null						|	Mock(Consumer)
+			Mock(DoublePredicate)		|	null
+	}
+
+	def "matches: numbers are converted to doubles"() {
+		given:
+			DoublePredicate predicate = Mock()
+			def m = new DoubleMatcher(predicate, "")
+		when:
+			def result = m.matches(item)
+		then:
+			1 * predicate.test(item.doubleValue()) >> true
+			result == true
+		where:
+			item << [42, 42L, 42.0f, 42.0d, 42.5G, Double.NaN, (short) 12]
+	}
+
+	def "matches: nulls and non-numbers are not matched"() {
+		given:
+			DoublePredicate predicate = Mock()
+			def m = new DoubleMatcher(predicate, "")
+		when:
+			def result = m.matches(item)
+		then:
+			0 * predicate.test(_)
+			result == false
+		where:
+			item << [null, "42", new Object(), [42]]
+	}
+
+	def "matches-double"() {
+		given:
+			DoublePredicate predicate = Mock()
+			def m = new DoubleMatcher(predicate, "")
+		when:
+			def result = m.matchesDouble(12.5d)
+		then:
+			1 * predicate.test(12.5d) >> false
+			result == false
+	}
+}
@@ -1,6 +1,11 @@
 package org.whaka.asserts.matcher
 
+import java.nio.CharBuffer
 import java.util.regex.Pattern
+import java.util.regex.PatternSyntaxException
+import java.util.stream.Collectors
+
+import org.hamcrest.StringDescription
 
 import spock.lang.Specification
 
@@ -75,4 +80,86 @@ class RegexpMatcherTest extends Specification {
 			"\\{\\}"			|	new HashMap()	||	true
 			"\\[\\]"			|	new HashSet()	||	true
 	}
+
+	def "compiled patterns are cached"() {
+		expect:
+			RegexpMatcher.compile("q.e").is(RegexpMatcher.compile("q.e"))
+			RegexpMatcher.create("q.e").getPattern().is(RegexpMatcher.create("q.e").getPattern())
+	}
+
+	def "illegal pattern"() {
+		when:
+			RegexpMatcher.compile("[qwe")
+		then:
+			thrown(PatternSyntaxException)
+
+		when:
+			RegexpMatcher.createAny("qwe", "(")
+		then:
+			thrown(PatternSyntaxException)
+	}
+
+	def "char sequences are matched directly"() {
+		given:
+			RegexpMatcher m = RegexpMatcher.create("q.e")
+		expect:
+			m.matches(new StringBuilder("qwe") as Object)
+			m.matches(CharBuffer.wrap("qwe") as Object)
+			m.matches(CharBuffer.wrap("__qwe__".toCharArray(), 2, 3) as Object)
+			!m.matches(CharBuffer.wrap("qwer") as Object)
+			m.matches("qwe" as CharSequence)
+	}
+
+	def "matching from multiple threads"() {
+		given:
+			RegexpMatcher m = RegexpMatcher.create("\\d+")
+		when:
+			List<Boolean> results = (0..<1000).collect { it }.parallelStream()
+				.map({ m.matches(it % 2 == 0 ? "" + it : "x" + it) })
+				.collect(Collectors.toList())
+		then:
+			results == (0..<1000).collect { it % 2 == 0 }
+	}
+
+	def "matching any of the patterns"() {
+		expect:
+			RegexpMatcher.createAny(patterns as String[]).matches(item as Object) == result
+		where:
+			patterns					|	item			||	result
+			["a"]						|	"a"				||	true
+			["a", "b"]					|	"b"				||	true
+			["a", "b"]					|	"ab"			||	false
+			["a|c", "b"]				|	"c"				||	true
+			["a.*", "\\d+"]				|	"42"			||	true
+			["a.*", "\\d+"]				|	"b42"			||	false
+			["(?i)abc", "x"]			|	"ABC"			||	true
+			["(?i)abc", "x"]			|	"X"				||	false
+			["\\Qa.b", "c"]				|	"a.b"			||	true
+			["\\Qa.b", "c"]				|	"c"				||	true
+			["(?x)a # comment", "c"]	|	"c"				||	true
+			["(?x)a # comment", "c"]	|	"a"				||	true
+			["(a)\\1", "b"]				|	"aa"			||	true
+	}
+
+	def "matching any: patterns are compiled separately and cached"() {
+		given:
+			RegexpMatcher m = RegexpMatcher.createAny("q.e", "\\d+")
+		expect:
+			m.getPatterns()*.pattern() == ["q.e", "\\d+"]
+			m.getPattern().is(RegexpMatcher.compile("q.e"))
+			m.getPatterns()[1].is(RegexpMatcher.compile("\\d+"))
+			StringDescription.toString(m) == 'matching any of [<q.e>, <\\d+>]'
+	}
+
+	def "matching any: illegal arguments"() {
+		when:
+			RegexpMatcher.createAny()
+		then:
+			thrown(IllegalArgumentException)
+
+		when:
+			RegexpMatcher.createAny("a", null)
+		then:
+			thrown(NullPointerException)
+	}
 }
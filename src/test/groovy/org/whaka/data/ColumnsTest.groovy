@@ -24,6 +24,14 @@ class ColumnsTest extends Specification {
 			new Columns([c1, c2, c3, c4]).getColumns() == [c1, c2, c3, c4]
 	}
 
+	def "spliterator is sized"() {
+		given:
+			def spliterator = new Columns(c1, c2, c3).spliterator()
+		expect:
+			spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)
+			spliterator.getExactSizeIfKnown() == 3
+	}
+
 	def "construction illegal values"() {
 
 		when:
@@ -80,6 +88,45 @@ class ColumnsTest extends Specification {
 			]
 	}
 
+	def "isPresent/getColumn: many columns"() {
+		given:
+			def columns = (0..<1000).collect { column(Integer, [it]) }
+			def cols = new Columns(columns)
+			def row = new Rows(cols, [[0] * 1000] as int[][]).getRows().get(0)
+		expect:
+			columns.every { cols.getColumn(it.getKey()).is(it) }
+			columns.every { row.getValue(it.getKey()) == it.getData()[0] }
+			!cols.isPresent(key(Integer))
+	}
+
+	def "createRow"() {
+		given:
+			def cols = new Columns(c1, c2)
+			int[] indexes = [1, -1]
+		when:
+			def row = cols.createRow(indexes)
+			indexes[1] = 0
+		then:
+			row.getEntries()*.getKey() == [c1.getKey()]
+			row.getValue(c1.getKey()) == c1.getData()[1]
+			!row.isPresent(c2.getKey())
+	}
+
+	def "createRow: illegal indexes"() {
+		given:
+			def cols = new Columns(c1, c2)
+		when:
+			cols.createRow(indexes as int[])
+		then:
+			thrown(exception)
+		where:
+			indexes			||	exception
+			null			||	NullPointerException
+			[0, 0, 0]		||	IllegalArgumentException
+			[-1]			||	IllegalArgumentException
+			[100]			||	IndexOutOfBoundsException
+	}
+
 	private static Column column(Class type, List values) {
 		return new Column(key(type), values)
 	}
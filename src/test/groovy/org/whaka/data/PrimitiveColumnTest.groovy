@@ -0,0 +1,159 @@
+package org.whaka.data
+
+import java.util.function.Function
+
+import org.whaka.data.shuffle.IndexShuffle
+
+import spock.lang.Specification
+
+class PrimitiveColumnTest extends Specification {
+
+	def "construction"() {
+		given:
+			def key = new ColumnKey(type)
+			def array = [1, 2, 3].asType(arrayType)
+		when:
+			def column = columnType.newInstance(key, array)
+			array[0] = 42
+		then:
+			column.getKey().is(key)
+			column.getType().is(type)
+			column.size() == 3
+			column.getColumn().getData() == [1, 2, 3].collect { it.asType(type) }
+			get(column, 2) == 3
+			!column.isDirect()
+		where:
+			columnType		|	type	|	arrayType	|	get
+			IntColumn		|	Integer	|	int[]		|	{ c, i -> c.getInt(i) }
+			LongColumn		|	Long	|	long[]		|	{ c, i -> c.getLong(i) }
+			DoubleColumn	|	Double	|	double[]	|	{ c, i -> c.getDouble(i) }
+	}
+
+	def "static create"() {
+		when:
+			def column = columnType.create([5, 6].asType(arrayType))
+		then:
+			column.getType().is(type)
+			column.toArray() == [5, 6].asType(arrayType)
+		where:
+			columnType		|	type	|	arrayType
+			IntColumn		|	Integer	|	int[]
+			LongColumn		|	Long	|	long[]
+			DoubleColumn	|	Double	|	double[]
+	}
+
+	def "direct"() {
+		given:
+			def key = new ColumnKey(type)
+		when:
+			def column = columnType.direct(key, (0..<1000).asType(arrayType))
+		then:
+			column.isDirect()
+			column.getKey().is(key)
+			column.size() == 1000
+			get(column, 999) == 999
+			column.getColumn().getData().get(500) == 500.asType(type)
+			column.toArray() == (0..<1000).asType(arrayType)
+		where:
+			columnType		|	type	|	arrayType	|	get
+			IntColumn		|	Integer	|	int[]		|	{ c, i -> c.getInt(i) }
+			LongColumn		|	Long	|	long[]		|	{ c, i -> c.getLong(i) }
+			DoubleColumn	|	Double	|	double[]	|	{ c, i -> c.getDouble(i) }
+	}
+
+	def "stream"() {
+		given:
+			def heap = columnType.create((0..<10000).asType(arrayType))
+			def direct = columnType.direct(new ColumnKey(heap.getType()), heap.stream())
+		expect:
+			heap.stream().sum() == 49995000
+			heap.stream().parallel().sum() == 49995000
+			direct.stream().parallel().sum() == 49995000
+			heap.stream().spliterator().getExactSizeIfKnown() == 10000
+		where:
+			columnType		|	arrayType
+			IntColumn		|	int[]
+			LongColumn		|	long[]
+			DoubleColumn	|	double[]
+	}
+
+	def "data is immutable"() {
+		given:
+			def column = columnType.create([1].asType(arrayType))
+		when:
+			column.getColumn().getData().add(column.getColumn().getData().get(0))
+		then:
+			thrown(UnsupportedOperationException)
+
+		when:
+			def direct = columnType.direct(new ColumnKey(column.getType()), [1].asType(arrayType))
+			direct.getColumn().getData().set(0, direct.getColumn().getData().get(0))
+		then:
+			thrown(UnsupportedOperationException)
+		where:
+			columnType		|	arrayType
+			IntColumn		|	int[]
+			LongColumn		|	long[]
+			DoubleColumn	|	double[]
+	}
+
+	def "index out of bounds"() {
+		when:
+			get(columnType.create([1].asType(arrayType)), 1)
+		then:
+			thrown(IndexOutOfBoundsException)
+		where:
+			columnType		|	arrayType	|	get
+			IntColumn		|	int[]		|	{ c, i -> c.getInt(i) }
+			LongColumn		|	long[]		|	{ c, i -> c.getLong(i) }
+			DoubleColumn	|	double[]	|	{ c, i -> c.getDouble(i) }
+	}
+
+	def "NPE"() {
+		when:
+			columnType.newInstance(key, data)
+		then:
+			thrown(NullPointerException)
+		where:
+			columnType		|	key						|	data
+			IntColumn		|	null					|	[1] as int[]
+			IntColumn		|	new ColumnKey(Integer)	|	null as int[]
+			LongColumn		|	null					|	[1] as long[]
+			LongColumn		|	new ColumnKey(Long)		|	null as long[]
+			DoubleColumn	|	null					|	[1] as double[]
+			DoubleColumn	|	new ColumnKey(Double)	|	null as double[]
+	}
+
+	def "column is shared and its data is not copied"() {
+		given:
+			def column = columnType.create([1, 2].asType(arrayType))
+		expect:
+			column.getColumn().is(column.getColumn())
+			column.getColumn().getKey().is(column.getKey())
+			new Column(column.getKey(), column.getColumn().getData()).getData().is(column.getColumn().getData())
+			new Column(column.getKey(), [] as List).getData() == []
+		where:
+			columnType		|	arrayType
+			IntColumn		|	int[]
+			LongColumn		|	long[]
+			DoubleColumn	|	double[]
+	}
+
+	def "columns and shuffle"() {
+		given:
+			def column = columnType.direct(new ColumnKey(type), [7, 8].asType(arrayType))
+			def strings = Column.create(String, "q", "w")
+			def columns = new Columns(column.getColumn(), strings)
+		when:
+			def rows = new IndexShuffle({ [[1, 0], [0, 1]] as int[][] } as Function).apply(columns)
+		then:
+			columns.getColumn(column.getKey()).is(column.getColumn())
+			rows.getRows()*.getValue(column.getKey()) == [8, 7].collect { it.asType(type) }
+			rows.getRows()*.getValue(strings.getKey()) == ["q", "w"]
+		where:
+			columnType		|	type	|	arrayType
+			IntColumn		|	Integer	|	int[]
+			LongColumn		|	Long	|	long[]
+			DoubleColumn	|	Double	|	double[]
+	}
+}
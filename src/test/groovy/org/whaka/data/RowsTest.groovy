@@ -37,6 +37,14 @@ class RowsTest extends Specification {
 			]
 	}
 
+	def "spliterator is sized"() {
+		given:
+			def spliterator = new Rows([r1, r2, r3]).spliterator()
+		expect:
+			spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)
+			spliterator.getExactSizeIfKnown() == 3
+	}
+
 	def "construction illegal values"() {
 		when:
 			new Rows([r1, null])
@@ -44,6 +52,92 @@ class RowsTest extends Specification {
 			thrown(IllegalArgumentException)
 	}
 
+	def "columnar construction"() {
+		given:
+			def c1 = Column.create(String, "q", "w", "e")
+			def c2 = IntColumn.create(1, 2).getColumn()
+			def columns = new Columns(c1, c2)
+			int[][] indexes = [[0, 1], [2, -1], [-1, 0], [1]]
+		when:
+			def rows = new Rows(columns, indexes)
+			indexes[0][0] = 1
+		then:
+			rows.getRows().size() == 4
+			rows.getRows()*.getEntries()*.collect { it.getValue() } == [["q", 2], ["e"], [1], ["w"]]
+			rows.getRows()*.getEntries()*.collect { it.getKey() } == [[c1.getKey(), c2.getKey()], [c1.getKey()], [c2.getKey()], [c1.getKey()]]
+		and:
+			def row = rows.getRows().get(1)
+			row.isPresent(c1.getKey())
+			!row.isPresent(c2.getKey())
+			!row.isPresent(new ColumnKey(String))
+			row.getValue(c1.getKey()) == "e"
+			rows.getRows().get(0).getValue(c2.getKey()) == 2
+			rows.getRows().get(3).iterator()*.getValue() == ["w"]
+		when:
+			row.getValue(c2.getKey())
+		then:
+			thrown(NoSuchElementException)
+	}
+
+	def "columnar rows are equal by indexes"() {
+		given:
+			def c1 = Column.create(String, "q", "w", "e")
+			def columns = new Columns(c1, IntColumn.create(1, 2).getColumn())
+			def rows = new Rows(columns, [[0, 1], [2, -1], [1, 0]] as int[][])
+			def list = rows.getRows()
+		expect:
+			!list.get(1).is(list.get(1))
+			list.get(1) == list.get(1)
+			list.get(1).hashCode() == list.get(1).hashCode()
+			list.get(1) != list.get(2)
+			list.get(1) == new Rows(columns, [[2, -1]] as int[][]).getRows().get(0)
+			list.get(1) != new Rows(new Columns(c1, IntColumn.create(1, 2).getColumn()), [[2, -1]] as int[][]).getRows().get(0)
+			list.contains(list.get(2))
+			list.indexOf(list.get(2)) == 2
+			list.get(0).getEntries().size() == 2
+			list.get(0).getEntries()*.getValue() == ["q", 2]
+			list.get(1).getEntries().size() == 1
+			list.get(1).getEntries().get(0).getKey().is(c1.getKey())
+			list.get(1).getEntries().collect { it.getValue() } == ["e"]
+	}
+
+	def "columnar entries: index out of bounds"() {
+		given:
+			def row = new Rows(new Columns(Column.create(String, "q"), Column.create(String, "w")), [[-1, 0]] as int[][]).getRows().get(0)
+		when:
+			row.getEntries().get(index)
+		then:
+			thrown(IndexOutOfBoundsException)
+		where:
+			index << [-1, 1]
+	}
+
+	def "columnar spliterator is sized"() {
+		given:
+			def spliterator = new Rows(new Columns(IntColumn.create(1, 2).getColumn()), [[0], [1], [1]] as int[][]).spliterator()
+		expect:
+			spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)
+			spliterator.getExactSizeIfKnown() == 3
+			new Rows(new Columns(), [] as int[][]).getRows().isEmpty()
+	}
+
+	def "columnar construction illegal values"() {
+		given:
+			def columns = new Columns(Column.create(String, "q", "w"), Column.create(String, "e"))
+		when:
+			new Rows(columns, indexes as int[][])
+		then:
+			thrown(exception)
+		where:
+			indexes				||	exception
+			[[0, 0], null]		||	NullPointerException
+			[[0, 0, 0]]			||	IllegalArgumentException
+			[[-1, -1]]			||	IllegalArgumentException
+			[[]]				||	IllegalArgumentException
+			[[2, 0]]			||	IndexOutOfBoundsException
+			[[0, 1]]			||	IndexOutOfBoundsException
+	}
+
 	private static Row row(Object ... values) {
 		return new Row(values.collect(RowsTest.&entry))
 	}
@@ -0,0 +1,93 @@
+package org.whaka.data.shuffle
+
+import java.util.stream.Collectors
+
+import spock.lang.Specification
+
+import org.whaka.data.Column
+import org.whaka.data.Columns
+import org.whaka.data.IntColumn
+
+class CartesianShuffleTest extends Specification {
+
+	def "count"() {
+		expect:
+			CartesianShuffle.count(sizes as int[]) == count
+		where:
+			sizes			||	count
+			[]				||	0
+			[0]				||	0
+			[0, 0]			||	0
+			[3]				||	3
+			[2, 3]			||	6
+			[2, 0, 3]		||	6
+			[2, 3, 4, 5]	||	120
+	}
+
+	def "count overflow"() {
+		when:
+			CartesianShuffle.count([Integer.MAX_VALUE] * 3 as int[])
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "index calculator"() {
+		expect:
+			CartesianShuffle.INSTANCE.getIndexCalculator().apply(sizes as int[]) == rows as int[][]
+		where:
+			sizes		||	rows
+			[2, 3]		||	[[0, 0], [0, 1], [0, 2], [1, 0], [1, 1], [1, 2]]
+			[2, 0, 2]	||	[[0, -1, 0], [0, -1, 1], [1, -1, 0], [1, -1, 1]]
+			[0, 0]		||	[]
+	}
+
+	def "apply and stream produce the same rows"() {
+		given:
+			def cols = new Columns(Column.create(String, "q", "w", "e"), IntColumn.create(1, 2).getColumn(), Column.create(Boolean, true, false))
+		when:
+			def rows = CartesianShuffle.INSTANCE.apply(cols).getRows()
+			def streamed = CartesianShuffle.INSTANCE.stream(cols).toList()
+		then:
+			rows.size() == 12
+			rows*.getEntries()*.collect { it.getValue() } == streamed*.getEntries()*.collect { it.getValue() }
+			rows[5].getEntries()*.getValue() == ["w", 1, false]
+	}
+
+	def "stream is lazy, sized, and splittable"() {
+		given:
+			def cols = new Columns((0..<20).collect { IntColumn.create(0, 1, 2, 3, 4, 5, 6, 7, 8, 9).getColumn() })
+		when:
+			def stream = CartesianShuffle.INSTANCE.stream(new Columns(cols.getColumns().subList(0, 18)))
+		then:
+			stream.spliterator().getExactSizeIfKnown() == 1000000000000000000L
+		and:
+			CartesianShuffle.INSTANCE.stream(new Columns(cols.getColumns().subList(0, 18))).skip(123).findFirst().get()
+				.getEntries()*.getValue() == [0] * 15 + [1, 2, 3]
+
+		when: "10^19 combinations don't fit into a long"
+			CartesianShuffle.INSTANCE.stream(new Columns(cols.getColumns().subList(0, 19)))
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "parallel stream"() {
+		given:
+			def cols = new Columns(IntColumn.create(0, 1, 2, 3, 4, 5, 6, 7, 8, 9).getColumn(),
+				IntColumn.create(0, 1, 2, 3, 4, 5, 6, 7, 8, 9).getColumn(),
+				IntColumn.create(0, 1, 2, 3, 4, 5, 6, 7, 8, 9).getColumn())
+			def keys = cols.getColumns()*.getKey()
+		when:
+			List<Integer> numbers = CartesianShuffle.INSTANCE.stream(cols).parallel()
+				.map({ row -> row.getValue(keys[0]) * 100 + row.getValue(keys[1]) * 10 + row.getValue(keys[2]) })
+				.collect(Collectors.toList())
+		then:
+			numbers == (0..<1000).collect { it }
+	}
+
+	def "empty columns"() {
+		when:
+			CartesianShuffle.INSTANCE.stream(new Columns())
+		then:
+			thrown(IllegalArgumentException)
+	}
+}
@@ -0,0 +1,56 @@
+package org.whaka.data.shuffle
+
+import java.util.stream.Collectors
+
+import spock.lang.Specification
+
+import org.whaka.data.Column
+import org.whaka.data.Columns
+import org.whaka.data.IntColumn
+
+class RandomShuffleTest extends Specification {
+
+	def "construction"() {
+		when:
+			def shuffle = new RandomShuffle(10, 42)
+		then:
+			shuffle.getRows() == 10
+			shuffle.getSeed() == 42
+
+		when:
+			new RandomShuffle(-1)
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "index calculator"() {
+		when:
+			int[][] rows = new RandomShuffle(1000, 42).getIndexCalculator().apply([3, 0, 5] as int[])
+		then:
+			rows.length == 1000
+			rows.every { it[0] in 0..<3 && it[1] == -1 && it[2] in 0..<5 }
+			rows.collect { it[0] }.toSet() == [0, 1, 2] as Set
+			rows.collect { it[2] }.toSet() == [0, 1, 2, 3, 4] as Set
+		and:
+			new RandomShuffle(10, 42).getIndexCalculator().apply([0, 0] as int[]).length == 0
+	}
+
+	def "the same seed produces the same rows"() {
+		given:
+			def cols = new Columns(Column.create(String, "q", "w", "e"), IntColumn.create(1, 2, 3, 4).getColumn())
+			def values = { rows -> rows*.getEntries()*.collect { it.getValue() } }
+		expect:
+			values(new RandomShuffle(100, 42).apply(cols).getRows()) == values(new RandomShuffle(100, 42).stream(cols).toList())
+			values(new RandomShuffle(100, 42).stream(cols).toList()) ==
+				values(new RandomShuffle(100, 42).stream(cols).parallel().collect(Collectors.toList()))
+			values(new RandomShuffle(100, 42).stream(cols).toList()) != values(new RandomShuffle(100, 43).stream(cols).toList())
+	}
+
+	def "stream is lazy"() {
+		given:
+			def cols = new Columns(IntColumn.create(1, 2, 3).getColumn())
+		expect:
+			new RandomShuffle(Long.MAX_VALUE).stream(cols).limit(10).count() == 10
+			new RandomShuffle(Long.MAX_VALUE).stream(cols).spliterator().getExactSizeIfKnown() == Long.MAX_VALUE
+	}
+}
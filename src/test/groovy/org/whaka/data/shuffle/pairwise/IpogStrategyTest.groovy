@@ -0,0 +1,173 @@
+package org.whaka.data.shuffle.pairwise
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ForkJoinPool
+
+import spock.lang.Specification
+
+class IpogStrategyTest extends Specification {
+
+	def "test expected tables"() {
+		expect:
+			IpogStrategy.INSTANCE.apply(input as int[]) == (result as int[][])
+		where:
+			[input, result] << [
+				[
+					[],
+					[]
+				],
+				[
+					[0, 0],
+					[]
+				],
+				[
+					[3],
+					[
+						[0],
+						[1],
+						[2],
+					]
+				],
+				[
+					[2,0,2],
+					[
+						[0,-1,0],
+						[0,-1,1],
+						[1,-1,0],
+						[1,-1,1],
+					]
+				],
+				[
+					[2,2,2],
+					[
+						[0,0,0],
+						[0,1,1],
+						[1,0,1],
+						[1,1,0],
+					]
+				],
+				[
+					[3,3,3,3],
+					[
+						[0,0,0,0],
+						[0,1,1,1],
+						[0,2,2,2],
+						[1,0,1,2],
+						[1,1,2,0],
+						[1,2,0,1],
+						[2,0,2,1],
+						[2,1,0,2],
+						[2,2,1,0],
+					]
+				],
+			]
+	}
+
+	def "all pairs are covered"() {
+		when:
+			int[][] rows = IpogStrategy.INSTANCE.apply(sizes as int[])
+		then:
+			rows.every { it.length == sizes.size() }
+			allPairsCovered(sizes as int[], rows)
+		where:
+			sizes << [
+				[2, 3],
+				[5, 4, 3, 2, 1],
+				[1, 0, 7, 3, 0, 2],
+				[3] * 10,
+				[9] * 8,
+				[4, 10, 2, 7, 3, 3, 8, 1, 5, 6],
+			]
+	}
+
+	def "no more rows than sequential strategy"() {
+		given:
+			def random = new Random(42)
+		expect:
+			(0..<50).every {
+				int[] sizes = (0..<(2 + random.nextInt(6))).collect { 1 + random.nextInt(4) } as int[]
+				IpogStrategy.INSTANCE.apply(sizes).length <= SequentialStrategy.INSTANCE.apply(sizes).length
+			}
+	}
+
+	def "big number of columns"() {
+		given:
+			int[] sizes = [10] * 50
+		when:
+			int[][] rows = IpogStrategy.INSTANCE.apply(sizes)
+		then:
+			rows.length < 1000
+			allPairsCovered(sizes, rows)
+	}
+
+	def "construction"() {
+		expect:
+			IpogStrategy.INSTANCE.getSeed() == null
+			!IpogStrategy.INSTANCE.isParallel()
+			new IpogStrategy(42, true).getSeed() == 42
+			new IpogStrategy(42, true).isParallel()
+			!new IpogStrategy(42, false).isParallel()
+	}
+
+	def "seeded strategy"() {
+		given:
+			int[] sizes = [6, 5, 4, 4, 3, 3, 2, 2]
+		when:
+			int[][] rows = new IpogStrategy(42, false).apply(sizes)
+		then:
+			allPairsCovered(sizes, rows)
+			rows == new IpogStrategy(42, false).apply(sizes)
+			rows != new IpogStrategy(43, false).apply(sizes)
+	}
+
+	def "parallel strategy produces the same rows as sequential"() {
+		given:
+			int[] array = sizes as int[]
+		expect:
+			new IpogStrategy(seed, true).apply(array) == new IpogStrategy(seed, false).apply(array)
+		where:
+			seed	|	sizes
+			0		|	[2, 2, 2]
+			0		|	[10] * 30
+			42		|	[10] * 30
+			42		|	[4, 10, 2, 7, 0, 3, 8, 1, 5, 6] * 3
+			-1		|	[20] * 12
+	}
+
+	def "parallel strategy doesn't depend on number of threads"() {
+		given:
+			int[] sizes = [8] * 40
+			def strategy = new IpogStrategy(7, true)
+			def apply = { int parallelism ->
+				def pool = new ForkJoinPool(parallelism)
+				try {
+					return pool.submit({ strategy.apply(sizes) } as Callable).get()
+				} finally {
+					pool.shutdown()
+				}
+			}
+		when:
+			int[][] rows = apply(1)
+		then:
+			allPairsCovered(sizes, rows)
+			apply(2) == rows
+			apply(4) == rows
+			apply(8) == rows
+	}
+
+	private static boolean allPairsCovered(int[] sizes, int[][] rows) {
+		for (int i = 0; i < sizes.length; i++) {
+			for (int j = i + 1; j < sizes.length; j++) {
+				if (sizes[i] == 0 || sizes[j] == 0) {
+					if (!rows.every { it[i] == (sizes[i] == 0 ? -1 : it[i]) && it[j] == (sizes[j] == 0 ? -1 : it[j]) })
+						return false
+					continue
+				}
+				Set pairs = rows.collect { [it[i], it[j]] } as Set
+				if (pairs.size() != sizes[i] * sizes[j])
+					return false
+			}
+		}
+		return true
+	}
+}
@@ -5,9 +5,12 @@ import java.util.function.Function
 import spock.lang.Specification
 
 import org.whaka.data.Columns
+import org.whaka.data.IntColumn
+import org.whaka.data.Row
 import org.whaka.data.Rows
 import org.whaka.data.shuffle.IndexShuffle
 import org.whaka.data.shuffle.Shuffle
+import org.whaka.util.function.UberStream
 
 class PairWiseTest extends Specification {
 
@@ -30,6 +33,19 @@ class PairWiseTest extends Specification {
 			res.is(rows)
 	}
 
+	def "stream is delegated"() {
+		given:
+			Shuffle delegate = Mock()
+			Columns cols = new Columns()
+			UberStream<Row> stream = new UberStream([].stream())
+		when:
+			def res = new PairWise(delegate).stream(cols)
+		then:
+			1 * delegate.stream(cols) >> stream
+		and:
+			res.is(stream)
+	}
+
 	def "constructor with strategy"() {
 		given:
 			Function<int[], int[][]> strategy = Mock()
@@ -40,6 +56,36 @@ class PairWiseTest extends Specification {
 			(pw.delegate as IndexShuffle).indexCalculator.is(strategy)
 	}
 
+	def "IPOG"() {
+		expect:
+			PairWise.IPOG instanceof PairWise
+			PairWise.IPOG.delegate instanceof IndexShuffle
+		and:
+			IndexShuffle shuffle = PairWise.IPOG.delegate
+			shuffle.indexCalculator instanceof IpogStrategy
+	}
+
+	def "PARALLEL"() {
+		expect:
+			PairWise.PARALLEL instanceof PairWise
+			PairWise.PARALLEL.delegate instanceof IndexShuffle
+		and:
+			IndexShuffle shuffle = PairWise.PARALLEL.delegate
+			shuffle.indexCalculator instanceof IpogStrategy
+			shuffle.indexCalculator.isParallel()
+			shuffle.indexCalculator.getSeed() == 0
+	}
+
+	def "parallel with seed"() {
+		given:
+			def cols = new Columns((0..<10).collect { IntColumn.create(0, 1, 2, 3).getColumn() })
+			def values = { rows -> rows.getRows()*.getEntries()*.collect { it.getValue() } }
+		expect:
+			(PairWise.parallel(42).delegate as IndexShuffle).indexCalculator.getSeed() == 42
+			values(PairWise.parallel(42).apply(cols)) == values(PairWise.parallel(42).apply(cols))
+			values(PairWise.parallel(0).apply(cols)) == values(PairWise.parallel(cols))
+	}
+
 	def "SEQUENTIAL"() {
 		expect:
 			PairWise.SEQUENTIAL instanceof PairWise
@@ -0,0 +1,129 @@
+package org.whaka.util
+
+import spock.lang.Specification
+
+class BoundedRendererTest extends Specification {
+
+	def "construction"() {
+		given:
+			BoundedRenderer renderer = new BoundedRenderer(10, 20, 30)
+		expect:
+			renderer.getMaxChars() == 10
+			renderer.getMaxElements() == 20
+			renderer.getMaxDepth() == 30
+		and:
+			renderer.withMaxChars(1).getMaxChars() == 1
+			renderer.withMaxElements(2).getMaxElements() == 2
+			renderer.withMaxDepth(3).getMaxDepth() == 3
+			renderer.withMaxDepth(3).getMaxChars() == 10
+	}
+
+	def "illegal limits"() {
+		when:
+			new BoundedRenderer(chars, elements, depth)
+		then:
+			thrown(IllegalArgumentException)
+		where:
+			chars	|	elements	|	depth
+			0		|	1			|	1
+			1		|	0			|	1
+			1		|	1			|	0
+			-1		|	1			|	1
+	}
+
+	def "values within limits are rendered like UberObjects#toString"() {
+		expect:
+			BoundedRenderer.DEFAULT.render(value) == UberObjects.toString(value)
+		where:
+			value << [
+				null,
+				42,
+				"qwe",
+				[1, 2, 3],
+				[1, [2, [3, null]]],
+				[1, 2] as int[],
+				[true, false] as boolean[],
+				["a", ["b", "c"]] as Object[],
+				[[1, 2] as int[], [3] as int[]] as Object[],
+				[:],
+				[],
+			]
+	}
+
+	def "maps"() {
+		expect:
+			BoundedRenderer.DEFAULT.render([a: 1, b: [1, 2]]) == "{a=1, b=[1, 2]}"
+	}
+
+	def "elements limit"() {
+		given:
+			BoundedRenderer renderer = new BoundedRenderer(1000, 3, 10)
+		expect:
+			renderer.render(value) == result
+		where:
+			value								||	result
+			[1, 2, 3]							||	"[1, 2, 3]"
+			[1, 2, 3, 4, 5]						||	"[1, 2, 3, ... (2 more)]"
+			(1..100) as int[]					||	"[1, 2, 3, ... (97 more)]"
+			[a: 1, b: 2, c: 3, d: 4]			||	"{a=1, b=2, c=3, ... (1 more)}"
+			[[1, 2, 3, 4], 2, 3, 4]				||	"[[1, 2, 3, ... (1 more)], 2, 3, ... (1 more)]"
+	}
+
+	def "depth limit"() {
+		given:
+			BoundedRenderer renderer = new BoundedRenderer(1000, 10, 2)
+		expect:
+			renderer.render(value) == result
+		where:
+			value								||	result
+			[1]									||	"[1]"
+			[[1]]								||	"[[1]]"
+			[[[1]]]								||	"[[[...]]]"
+			[[a: [1]]]							||	"[{a=[...]}]"
+			[[[1] as int[]] as Object[]]		||	"[[[...]]]"
+	}
+
+	def "chars limit"() {
+		given:
+			BoundedRenderer renderer = new BoundedRenderer(5, 10, 10)
+		expect:
+			renderer.render(value) == result
+		where:
+			value					||	result
+			"qwe"					||	"qwe"
+			"qwert"					||	"qwert"
+			"qwerty"				||	"qwert..."
+			[1, 2, 3]				||	"[1, 2..."
+			123456789				||	"12345..."
+	}
+
+	def "huge values are rendered within the budget"() {
+		given:
+			List<Integer> list = new ArrayList<>(Collections.nCopies(500_000, 42))
+			BoundedRenderer renderer = new BoundedRenderer(100, 1_000_000, 10)
+		when:
+			String result = renderer.render(list)
+		then:
+			result.length() == 100 + BoundedRenderer.ELLIPSIS.length()
+			result.endsWith(BoundedRenderer.ELLIPSIS)
+	}
+
+	def "render into appendable"() {
+		given:
+			StringBuilder sb = new StringBuilder("prefix:")
+		when:
+			def result = new BoundedRenderer(3, 10, 10).render([1, 2], sb)
+		then:
+			result.is(sb)
+			sb.toString() == "prefix:[1,..."
+	}
+
+	def "self containing collection"() {
+		given:
+			List<Object> list = new ArrayList<>()
+			list.add(list)
+			list.add(1)
+		expect:
+			BoundedRenderer.DEFAULT.render(list) == "[(this Collection), 1]"
+	}
+}
@@ -395,4 +395,28 @@ class DoubleMathTest extends Specification {
 
 		return data
 	}
+
+	def "table based last affected decimal is identical to the logarithm based"() {
+		given:
+			Random random = new Random(42)
+			List<Double> values = []
+			for (int i = -5; i <= 20; i++) {
+				double pow = Math.pow(10, i)
+				values.addAll([pow, Math.nextDown(pow), Math.nextUp(pow), pow * (1 - 1e-16), pow * (1 - 1e-15), pow * (1 - 1e-13)])
+			}
+			10_000.times { values << (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 10) }
+
+		expect:
+			values.every { DoubleMath.getLastAffectedDecimal(it) == lastAffectedDecimalByLogarithm(it) }
+			values.every { DoubleMath.getLastAffectedDecimal(-it) == lastAffectedDecimalByLogarithm(-it) }
+	}
+
+	private static int lastAffectedDecimalByLogarithm(double d) {
+		int decimalPosition = (int) Math.log10(Math.abs(d))
+		if (decimalPosition < 0)
+			return DoubleMath.MAXIMUM_DEFAULT_DECIMALS
+		if (decimalPosition > DoubleMath.MAXIMUM_DEFAULT_DECIMALS)
+			return 0
+		return DoubleMath.MAXIMUM_DEFAULT_DECIMALS - decimalPosition
+	}
 }
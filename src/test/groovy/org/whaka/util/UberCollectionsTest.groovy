@@ -1,6 +1,7 @@
 package org.whaka.util
 
 import java.util.function.BiPredicate
+import java.util.function.Function
 
 import org.spockframework.runtime.ConditionNotSatisfiedError
 
@@ -293,4 +294,74 @@ class UberCollectionsTest extends Specification {
 	private int[] arr(int[] ints) {
 		return ints
 	}
+
+	def "contains-all by key"() {
+		expect:
+			UberCollections.containsAllBy(collection, allOf, key) == result
+		where:
+			collection						|	allOf				|	key						||	result
+			[]								|	[]					|	Function.identity()		||	true
+			[null]							|	[]					|	Function.identity()		||	true
+			[]								|	[null]				|	Function.identity()		||	false
+			[null, null]					|	[null]				|	Function.identity()		||	true
+			[null]							|	[null, null]		|	Function.identity()		||	false
+			[1,2,3]							|	[2,4]				|	Function.identity()		||	false
+			[1,2,3]							|	[3,2]				|	Function.identity()		||	true
+			[1,2,3]							|	[1,2,2]				|	Function.identity()		||	false
+			[1,2,2,3]						|	[1,2,2]				|	Function.identity()		||	true
+			[1,2,3]							|	[5,7]				|	{ it % 2 }				||	true
+			[1,2,3]							|	[5,7,9]				|	{ it % 2 }				||	false
+			[arr(1,2),arr(2,3)]				|	[arr(2,3)]			|	Function.identity()		||	false
+			[arr(1,2),arr(2,3)]				|	[arr(2,3)]			|	{ Arrays.asList(it) }	||	true
+	}
+
+	def "equal by key"() {
+		expect:
+			UberCollections.containsEqualElementsBy(col1, col2, key) == result
+			UberCollections.containsEqualElementsBy(col2, col1, key) == result
+		where:
+			col1				|	col2				|	key						||	result
+			null				|	null				|	Function.identity()		||	true
+			null				|	[]					|	Function.identity()		||	false
+			[]					|	[]					|	Function.identity()		||	true
+			[1,2,3]				|	[3,1,2]				|	Function.identity()		||	true
+			[1,2,2]				|	[1,1,2]				|	Function.identity()		||	false
+			[1,2]				|	[1,2,2]				|	Function.identity()		||	false
+			["a","B"]			|	["b","A"]			|	{ it.toLowerCase() }	||	true
+	}
+
+	def "hashing is used for elements without deep structure"() {
+		given:
+			List<Integer> list1 = (0..<1_000_000).collect { it % 1000 }
+			List<Integer> list2 = new ArrayList<>(list1)
+			Collections.shuffle(list2, new Random(42))
+		expect:
+			UberCollections.containsEqualElements(list1, list2)
+			UberCollections.containsAll(list1, list2)
+			UberCollections.containsAny(list1, [-1, 999])
+			!UberCollections.containsAny(list1, [-1, 1000])
+		when:
+			list2[0] = -1
+		then:
+			!UberCollections.containsEqualElements(list1, list2)
+	}
+
+	def "elements with inconsistent hash codes are compared pairwise"() {
+		given:
+			def a = new InconsistentHash(1)
+			def b = new InconsistentHash(1)
+		expect:
+			a == b
+			a.hashCode() != b.hashCode()
+			UberCollections.containsEqualElements([a, "q"], ["q", b])
+			UberCollections.containsAll([a], [b])
+			UberCollections.containsAny([a], [b])
+	}
+
+	static class InconsistentHash {
+		final int value
+		InconsistentHash(int value) { this.value = value }
+		boolean equals(Object o) { o instanceof InconsistentHash && o.value == value }
+		int hashCode() { System.identityHashCode(this) }
+	}
 }
@@ -69,4 +69,12 @@ class UberMapsTest extends Specification {
 			12				|	"qwe"
 			"qwe"			|	12
 	}
+
+	def "primitive maps"() {
+		expect:
+			UberMaps.toIntIntMap([1: 2, 3: 4]).toMap() == [1: 2, 3: 4]
+			UberMaps.toLongLongMap([1L: 2L]).get(1L) == 2L
+			UberMaps.toIntObjMap([1: "q", 0: null]).toMap() == [1: "q", 0: null]
+			UberMaps.toLongObjMap([5L: "w"]).get(5L) == "w"
+	}
 }
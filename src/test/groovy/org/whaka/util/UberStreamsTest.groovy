@@ -1,6 +1,10 @@
 package org.whaka.util
 
 import java.util.function.Function
+import java.util.function.IntPredicate
+import java.util.function.IntUnaryOperator
+import java.util.function.LongPredicate
+import java.util.function.LongUnaryOperator
 import java.util.function.Predicate
 import java.util.stream.Collectors
 import java.util.stream.Stream
@@ -50,4 +54,59 @@ class UberStreamsTest extends Specification {
 		and:
 			next == [seed, 42, "sup!"]
 	}
+
+	def "iterate: parallel"() {
+		given:
+			def validator = { it < 100000 } as Predicate
+		when:
+			def res = UberStreams.iterate(0, { it + 1 } as Function, validator).parallel().map({ it * 2 } as Function).toList()
+		then:
+			res == (0..<100000).collect { it * 2 }
+	}
+
+	def "iterate: split batches"() {
+		given:
+			def spliterator = new IterateSpliterator(0, { it + 1 } as Function, { it < 1000 } as Predicate)
+		when:
+			def first = spliterator.trySplit()
+			def second = spliterator.trySplit()
+		then:
+			first.estimateSize() == IterateSpliterator.INITIAL_BATCH
+			second.estimateSize() == IterateSpliterator.INITIAL_BATCH * 2
+			first.hasCharacteristics(Spliterator.ORDERED)
+			spliterator.hasCharacteristics(Spliterator.ORDERED)
+			!spliterator.hasCharacteristics(Spliterator.NONNULL)
+	}
+
+	def "iterateInt"() {
+		expect:
+			UberStreams.iterateInt(1, { it * 2 } as IntUnaryOperator, { it < 1000 } as IntPredicate).toArray() ==
+				[1, 2, 4, 8, 16, 32, 64, 128, 256, 512] as int[]
+			UberStreams.iterateInt(0, { it + 1 } as IntUnaryOperator, { it < 100000 } as IntPredicate).parallel().sum() ==
+				(0..<100000).sum()
+			UberStreams.iterateInt(0, { it + 1 } as IntUnaryOperator, { false } as IntPredicate).count() == 0
+	}
+
+	def "iterateLong"() {
+		expect:
+			UberStreams.iterateLong(1L, { it * 10 } as LongUnaryOperator, { it <= 10000000000L } as LongPredicate).toArray() ==
+				[1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L, 10000000000L] as long[]
+			UberStreams.iterateLong(0L, { it + 1 } as LongUnaryOperator, { it < 100000 } as LongPredicate).parallel().boxed().collect(Collectors.toList()) ==
+				(0L..<100000L).collect { it }
+	}
+
+	def "primitive iterate: characteristics"() {
+		expect:
+			UberStreams.iterateInt(0, { it } as IntUnaryOperator, { true } as IntPredicate).spliterator()
+				.hasCharacteristics(Spliterator.ORDERED | Spliterator.NONNULL)
+			UberStreams.iterateLong(0, { it } as LongUnaryOperator, { true } as LongPredicate).spliterator()
+				.hasCharacteristics(Spliterator.ORDERED | Spliterator.NONNULL)
+	}
+
+	def "stream: iterable collection is sized"() {
+		expect:
+			UberStreams.stream([1, 2, 3] as Iterable).spliterator().getExactSizeIfKnown() == 3
+			UberStreams.stream({ [1, 2, 3].iterator() } as Iterable).spliterator().getExactSizeIfKnown() == -1
+			UberStreams.stream({ [1, 2, 3].iterator() } as Iterable).toList() == [1, 2, 3]
+	}
 }
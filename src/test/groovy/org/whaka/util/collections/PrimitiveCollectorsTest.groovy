@@ -0,0 +1,48 @@
+package org.whaka.util.collections
+
+import java.util.function.Function
+import java.util.function.ToIntFunction
+import java.util.function.ToLongFunction
+
+import spock.lang.Specification
+
+class PrimitiveCollectorsTest extends Specification {
+
+	def "sets"() {
+		given:
+			def col = (0..<10000).collect { it }
+		expect:
+			col.parallelStream().collect(PrimitiveCollectors.toIntSet({ it % 7 } as ToIntFunction)) == IntSet.of(0, 1, 2, 3, 4, 5, 6)
+			col.stream().collect(PrimitiveCollectors.toLongSet({ it % 3 as long } as ToLongFunction)) == LongSet.of(0, 1, 2)
+	}
+
+	def "maps"() {
+		given:
+			def col = (0..<1000).collect { it }
+		expect:
+			col.parallelStream().collect(PrimitiveCollectors.toIntIntMap({ it } as ToIntFunction, { it * 2 } as ToIntFunction)).toMap() ==
+				col.collectEntries { [(it): it * 2] }
+			col.parallelStream().collect(PrimitiveCollectors.toLongLongMap({ it as long } as ToLongFunction, { it * 2 as long } as ToLongFunction)).toMap() ==
+				col.collectEntries { [(it as long): (it * 2) as long] }
+			col.parallelStream().collect(PrimitiveCollectors.toIntObjMap({ it } as ToIntFunction, { "v" + it } as Function)).toMap() ==
+				col.collectEntries { [(it): "v" + it] }
+			col.parallelStream().collect(PrimitiveCollectors.toLongObjMap({ it as long } as ToLongFunction, { "v" + it } as Function)).toMap() ==
+				col.collectEntries { [(it as long): "v" + it] }
+	}
+
+	def "maps: last one is to stay"() {
+		expect:
+			["q:1", "w:2", "q:3"].stream().collect(PrimitiveCollectors.toIntObjMap({ it.charAt(0) as int } as ToIntFunction, { it } as Function)).toMap() ==
+				[(('q' as char) as int): "q:3", (('w' as char) as int): "w:2"]
+	}
+
+	def "counting"() {
+		given:
+			def col = (0..<10000).collect { it }
+		expect:
+			col.parallelStream().collect(PrimitiveCollectors.countingByInt({ it % 3 } as ToIntFunction)).toMap() ==
+				[0: 3334, 1: 3333, 2: 3333]
+			col.parallelStream().collect(PrimitiveCollectors.countingByLong({ it % 2 as long } as ToLongFunction)).toMap() ==
+				[0L: 5000L, 1L: 5000L]
+	}
+}
@@ -0,0 +1,163 @@
+package org.whaka.util.collections
+
+import spock.lang.Specification
+
+class PrimitiveMapTest extends Specification {
+
+	def "put, get, and remove"() {
+		given:
+			def map = mapType.newInstance()
+		expect:
+			map.isEmpty()
+			map.put(1, 10)
+			map.put(0, 20)
+			map.put(-5, 30)
+			!map.put(1, 11)
+			map.size() == 3
+			map.get(1) == 11
+			map.get(0) == 20
+			map.get(-5) == 30
+			map.get(42) == 0
+			map.getOrDefault(42, -1) == -1
+			map.containsKey(0)
+			!map.containsKey(42)
+		and:
+			map.remove(0)
+			!map.remove(0)
+			map.remove(1)
+			!map.containsKey(1)
+			map.size() == 1
+			map.toMap() == typed([(-5): 30], type)
+		where:
+			mapType		|	type
+			IntIntMap	|	Integer
+			LongLongMap	|	Long
+	}
+
+	def "addTo"() {
+		given:
+			def map = mapType.newInstance()
+		when:
+			[1, 2, 1, 0, 1, 0].each { map.addTo(it, 1) }
+		then:
+			map.toMap() == typed([0: 2, 1: 3, 2: 1], type)
+			map.addTo(2, 5) == 6
+		where:
+			mapType		|	type
+			IntIntMap	|	Integer
+			LongLongMap	|	Long
+	}
+
+	def "random operations are consistent with a HashMap"() {
+		given:
+			def random = new Random(42)
+			def map = mapType.newInstance()
+			Map expected = [:]
+		when:
+			10000.times {
+				def key = (random.nextInt(2000) - 1000).asType(type)
+				def value = random.nextInt().asType(type)
+				if (random.nextInt(3) == 0) {
+					assert map.remove(key) == (expected.remove(key) != null)
+				} else {
+					assert map.put(key, value) == !expected.containsKey(key)
+					expected[key] = value
+				}
+			}
+		then:
+			map.size() == expected.size()
+			map.toMap() == expected
+			expected.every { k, v -> map.containsKey(k) && map.get(k) == v }
+		where:
+			mapType		|	type
+			IntIntMap	|	Integer
+			LongLongMap	|	Long
+	}
+
+	def "cursor"() {
+		given:
+			def map = mapType.from(typed([0: 1, 5: 6, 7: 8], type))
+			def res = [:]
+		when:
+			for (def c = map.cursor(); c.next();)
+				res[c.key()] = c.value()
+		then:
+			res == typed([0: 1, 5: 6, 7: 8], type)
+
+		when:
+			map.cursor().key()
+		then:
+			thrown(IllegalStateException)
+		where:
+			mapType		|	type
+			IntIntMap	|	Integer
+			LongLongMap	|	Long
+	}
+
+	def "capacity is predictable"() {
+		expect:
+			mapType.newInstance(100).capacity() == 256
+			mapType.newInstance(0).capacity() == 4
+		when:
+			def map = mapType.newInstance(100)
+			100.times { map.put(it + 1, it) }
+		then:
+			map.capacity() == 256
+		when:
+			map.put(1000, 1)
+			map.put(1001, 1)
+			100.times { map.put(it + 2000, it) }
+		then:
+			map.capacity() == 512
+			map.size() == 202
+		where:
+			mapType << [IntIntMap, LongLongMap]
+	}
+
+	def "equals, hashCode, and toString"() {
+		given:
+			def m1 = mapType.from(typed([1: 2, 0: 3], type))
+			def m2 = mapType.newInstance(10)
+			m2.put(0, 3)
+			m2.put(1, 2)
+		expect:
+			m1 == m2
+			m1.hashCode() == m2.hashCode()
+			m1.toString() == "{0=3, 1=2}"
+			m1 != mapType.from(typed([1: 2], type))
+		where:
+			mapType		|	type
+			IntIntMap	|	Integer
+			LongLongMap	|	Long
+	}
+
+	def "from: nulls"() {
+		when:
+			mapType.from([(null): 1.asType(type)])
+		then:
+			thrown(NullPointerException)
+		where:
+			mapType		|	type
+			IntIntMap	|	Integer
+			LongLongMap	|	Long
+	}
+
+	def "clear"() {
+		given:
+			def map = mapType.from(typed([1: 2, 0: 3], type))
+		when:
+			map.clear()
+		then:
+			map.isEmpty()
+			!map.containsKey(0)
+			!map.containsKey(1)
+		where:
+			mapType		|	type
+			IntIntMap	|	Integer
+			LongLongMap	|	Long
+	}
+
+	private static Map typed(Map map, Class type) {
+		map.collectEntries { k, v -> [(k.asType(type)): v.asType(type)] }
+	}
+}
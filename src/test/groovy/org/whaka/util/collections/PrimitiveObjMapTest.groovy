@@ -0,0 +1,116 @@
+package org.whaka.util.collections
+
+import java.util.function.BinaryOperator
+import java.util.function.IntFunction
+import java.util.function.LongFunction
+
+import org.whaka.util.function.IntObjConsumer
+import org.whaka.util.function.LongObjConsumer
+
+import spock.lang.Specification
+
+class PrimitiveObjMapTest extends Specification {
+
+	def "put, get, and remove"() {
+		given:
+			def map = mapType.newInstance()
+		expect:
+			map.put(1, "a") == null
+			map.put(0, "b") == null
+			map.put(-5, null) == null
+			map.put(1, "c") == "a"
+			map.size() == 3
+			map.get(1) == "c"
+			map.get(0) == "b"
+			map.get(-5) == null
+			map.containsKey(-5)
+			!map.containsKey(42)
+			map.getOrDefault(42, "x") == "x"
+		and:
+			map.remove(0) == "b"
+			map.remove(0) == null
+			map.remove(1) == "c"
+			map.toMap() == keys([(-5): null], type)
+		where:
+			mapType		|	type
+			IntObjMap	|	Integer
+			LongObjMap	|	Long
+	}
+
+	def "computeIfAbsent and merge"() {
+		given:
+			def map = mapType.newInstance()
+		when:
+			[1, 2, 1, 0, 0].eachWithIndex { k, i -> map.computeIfAbsent(k, { [] }.asType(functionType)) << i }
+			map.merge(2, ["x"], { a, b -> a + b } as BinaryOperator)
+			map.merge(3, ["y"], { a, b -> a + b } as BinaryOperator)
+		then:
+			map.toMap() == keys([0: [3, 4], 1: [0, 2], 2: [1, "x"], 3: ["y"]], type)
+		where:
+			mapType		|	type	|	functionType
+			IntObjMap	|	Integer	|	IntFunction
+			LongObjMap	|	Long	|	LongFunction
+	}
+
+	def "random operations are consistent with a HashMap"() {
+		given:
+			def random = new Random(42)
+			def map = mapType.newInstance()
+			Map expected = [:]
+		when:
+			10000.times {
+				def key = (random.nextInt(2000) - 1000).asType(type)
+				int value = random.nextInt()
+				if (random.nextInt(3) == 0)
+					assert map.remove(key) == expected.remove(key)
+				else
+					assert map.put(key, value) == expected.put(key, value)
+			}
+		then:
+			map.size() == expected.size()
+			map.toMap() == expected
+		where:
+			mapType		|	type
+			IntObjMap	|	Integer
+			LongObjMap	|	Long
+	}
+
+	def "forEach and cursor"() {
+		given:
+			def map = mapType.from(keys([0: "a", 5: "b", 7: null], type))
+			def res1 = [:]
+			def res2 = [:]
+		when:
+			map.forEach({ k, v -> res1[k] = v }.asType(consumerType))
+			for (def c = map.cursor(); c.next();)
+				res2[c.key()] = c.value()
+		then:
+			res1 == keys([0: "a", 5: "b", 7: null], type)
+			res2 == res1
+		where:
+			mapType		|	type	|	consumerType
+			IntObjMap	|	Integer	|	IntObjConsumer
+			LongObjMap	|	Long	|	LongObjConsumer
+	}
+
+	def "equals, hashCode, and toString"() {
+		given:
+			def m1 = mapType.from(keys([1: "q", 0: null], type))
+			def m2 = mapType.newInstance(10)
+			m2.put(0, null)
+			m2.put(1, "q")
+		expect:
+			m1 == m2
+			m1.hashCode() == m2.hashCode()
+			m1.toString() == "{0=null, 1=q}"
+			m1 != mapType.from(keys([1: "q"], type))
+		where:
+			mapType		|	type
+			IntObjMap	|	Integer
+			LongObjMap	|	Long
+	}
+
+	private static Map keys(Map map, Class type) {
+		map.collectEntries { k, v -> [(k.asType(type)): v] }
+	}
+}
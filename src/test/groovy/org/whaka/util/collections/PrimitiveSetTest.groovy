@@ -0,0 +1,104 @@
+package org.whaka.util.collections
+
+import java.util.function.BiConsumer
+import java.util.function.IntConsumer
+import java.util.function.LongConsumer
+import java.util.function.Supplier
+
+import spock.lang.Specification
+
+class PrimitiveSetTest extends Specification {
+
+	def "add, contains, and remove"() {
+		given:
+			def set = setType.newInstance()
+		expect:
+			set.add(1)
+			set.add(0)
+			set.add(-1)
+			!set.add(1)
+			!set.add(0)
+			set.size() == 3
+			set.contains(0)
+			set.contains(-1)
+			!set.contains(2)
+		and:
+			set.remove(0)
+			!set.remove(0)
+			!set.contains(0)
+			set.toSet() == [1, -1].collect { it.asType(type) } as Set
+		where:
+			setType	|	type
+			IntSet	|	Integer
+			LongSet	|	Long
+	}
+
+	def "random operations are consistent with a HashSet"() {
+		given:
+			def random = new Random(42)
+			def set = setType.newInstance()
+			Set expected = [] as Set
+		when:
+			10000.times {
+				def value = (random.nextInt(2000) - 1000).asType(type)
+				if (random.nextInt(3) == 0)
+					assert set.remove(value) == expected.remove(value)
+				else
+					assert set.add(value) == expected.add(value)
+			}
+		then:
+			set.size() == expected.size()
+			set.toSet() == expected
+		where:
+			setType	|	type
+			IntSet	|	Integer
+			LongSet	|	Long
+	}
+
+	def "iteration"() {
+		given:
+			def set = setType.of([0, 3, 5, 7].asType(arrayType))
+			def res1 = []
+			def res2 = []
+		when:
+			set.forEach({ res1 << it }.asType(consumerType))
+			for (def c = set.cursor(); c.next();)
+				res2 << c.value()
+		then:
+			res1.sort() == [0, 3, 5, 7]
+			res2.sort() == [0, 3, 5, 7]
+			(set.toArray() as List).sort() == [0, 3, 5, 7]
+			set.stream().sum() == 15
+		where:
+			setType	|	arrayType	|	consumerType
+			IntSet	|	int[]		|	IntConsumer
+			LongSet	|	long[]		|	LongConsumer
+	}
+
+	def "collect from a parallel stream"() {
+		when:
+			def set = (0..<10000).parallelStream()
+				.collect({ setType.newInstance() } as Supplier, { s, v -> s.add(v % 100) } as BiConsumer, { s1, s2 -> s1.addAll(s2) } as BiConsumer)
+		then:
+			set.size() == 100
+			(0..<100).every { set.contains(it) }
+		where:
+			setType << [IntSet, LongSet]
+	}
+
+	def "equals, hashCode, and toString"() {
+		given:
+			def of = { List values -> setType.of(values.asType(arrayType)) }
+		expect:
+			of([1, 0, 2]) == of([2, 1, 0])
+			of([1, 0, 2]).hashCode() == of([2, 1, 0]).hashCode()
+			of([1, 2]) != of([1, 2, 0])
+			of([0, 1]).toString() == "[0, 1]"
+			setType.from([1, 2].collect { it.asType(type) }) == of([1, 2])
+			IntSet.of(1, 2) != LongSet.of(1, 2)
+		where:
+			setType	|	type	|	arrayType
+			IntSet	|	Integer	|	int[]
+			LongSet	|	Long	|	long[]
+	}
+}
@@ -1,6 +1,8 @@
 package org.whaka.util.function
 
+import java.util.concurrent.ConcurrentHashMap
 import java.util.function.BinaryOperator
+import java.util.function.Function
 import java.util.function.Supplier
 import java.util.stream.Stream
 
@@ -106,4 +108,74 @@ class MapCollectorsTest extends Specification {
 			[1,2,3,3]				|	{null}				|	{it}			||	[(null):9]
 			["q:a","w:b","w:c"]		|	{it.split(":")[0]}	|	{it}			||	["q":"q:a","w":"w:bw:c"]
 	}
+
+	def "presized toMap"() {
+		expect:
+			map.entrySet().stream().collect(MapCollectors.toMap(map.size())) == map
+			map.entrySet().stream().collect(MapCollectors.toMap(0)) == map
+		where:
+			map << maps()
+	}
+
+	def "presized toMap: negative size"() {
+		when:
+			MapCollectors.toMap(-1)
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "toConcurrentMap"() {
+		given:
+			def map = (0..<10000).collectEntries { [(it): "v" + it] }
+		when:
+			def res = map.entrySet().parallelStream().collect(MapCollectors.toConcurrentMap())
+		then:
+			res instanceof ConcurrentHashMap
+			res == map
+	}
+
+	def "toConcurrentMap with merger"() {
+		when:
+			def res = (0..<10000).parallelStream()
+				.collect(MapCollectors.toConcurrentMap({ it % 10 }, { 1 }, { a, b -> a + b } as BinaryOperator))
+		then:
+			res == (0..<10).collectEntries { [(it): 1000] }
+	}
+
+	def "toMapConcurrently"() {
+		expect:
+			map.entrySet().parallelStream().collect(MapCollectors.toMapConcurrently()) == map
+			map.entrySet().stream().collect(MapCollectors.toMapConcurrently()) == map
+		where:
+			map << maps()
+	}
+
+	def "toMapConcurrently with merger: null keys and values"() {
+		when:
+			def res = (0..<10000).parallelStream().collect(MapCollectors.toMapConcurrently(
+				{ it % 3 == 0 ? null : it % 3 }, { it % 3 == 2 ? null : 1 }, { a, b -> a == null ? null : a + b } as BinaryOperator))
+		then:
+			res == [(null): 3334, 1: 3333, 2: null]
+	}
+
+	def "toMapConcurrently: result is a mutable view"() {
+		given:
+			def res = [1, 2, null].parallelStream().collect(MapCollectors.toMapConcurrently({ it } as Function, { it == 2 ? null : "v" + it } as Function))
+		expect:
+			res.size() == 3
+			res.containsKey(null) && res.get(null) == "vnull"
+			res.containsKey(2) && res.get(2) == null
+			res.containsValue(null)
+			!res.containsKey(3)
+		when:
+			res.put(null, null)
+			res.remove(1)
+			res.put(3, "q")
+		then:
+			res == [(null): null, 2: null, 3: "q"]
+		when:
+			res.entrySet().removeIf { it.key == null }
+		then:
+			res == [2: null, 3: "q"]
+	}
 }
@@ -14,7 +14,8 @@ import org.whaka.util.UberMaps
 import spock.lang.Specification
 
 class MapStreamTest extends Specification {
-	def "toMap"() {
+
+	def "toMap"() {
 		given:
 			def mapstr = new MapStream(map)
 		expect:
@@ -23,6 +24,14 @@ class MapStreamTest extends Specification {
 			map << maps()
 	}
 
+	def "toMap: parallel"() {
+		given:
+			def map = (0..<10000).collectEntries { it % 7 == 0 ? [(null): null] : [(it): it % 5 == 0 ? null : it] }
+		expect:
+			new MapStream(map).parallel().toMap() == map
+			new MapStream(map).parallel().toMapConcurrently() == map
+	}
+
 	def "toLinkedMap"() {
 		given:
 			def mapstr = new MapStream(map)
@@ -449,4 +458,86 @@ class MapStreamTest extends Specification {
 			[a:1, b:"qwe", c:null, d:2, e:"rty", f:null]	|	String		|	[b:"qwe", c:null, e:"rty", f:null]
 			[a:1, b:"qwe", c:null, d:2, e:"rty", f:null]	|	Boolean		|	[c:null, f:null]
 	}
+
+	def "map key/value pairs to primitives"() {
+		given:
+			Map<String, Integer> map = [q: 1, we: 2, rty: 3]
+		expect:
+			new MapStream(map).mapToInt({ k, v -> k.length() * v } as ToIntFunction2).toArray() == [1, 4, 9] as int[]
+			new MapStream(map).mapToLong({ k, v -> (k.length() + v) as long } as ToLongFunction2).toArray() == [2, 4, 6] as long[]
+			new MapStream(map).mapToDouble({ k, v -> (v / k.length()) as double } as ToDoubleFunction2).toArray() == [1, 1, 1] as double[]
+	}
+
+	def "fused: same results as the default mode"() {
+		given:
+			Map<String, Integer> map = new LinkedHashMap([q: 1, we: 2, rty: 3, uiop: 4, a: null])
+		when:
+			def chain = { MapStream<String, Integer> s ->
+				s.filterValue({ it != null } as Predicate)
+					.mapKey({ it.toUpperCase() } as Function)
+					.drop({ k, v -> k == "WE" } as BiPredicate)
+					.mapValue({ it * 10 } as Function)
+					.filter({ k, v -> v > 10 } as BiPredicate)
+					.mapEntry({ k, v -> entry(v, k) } as BiFunction)
+					.toLinkedMap()
+			}
+		then:
+			chain(new MapStream(map).fused()) == chain(new MapStream(map))
+			chain(new MapStream(map).fused()) == [30: "RTY", 40: "UIOP"]
+	}
+
+	def "fused: mode is kept by the derived streams"() {
+		given:
+			def fused = { new MapStream([a: 1, b: 2]).fused() }
+			def mapstr = fused()
+		expect:
+			!new MapStream([a: 1]).isFused()
+			mapstr.isFused()
+			mapstr.fused().is(mapstr)
+			fused().filterKey({ it == "a" } as Predicate).isFused()
+			fused().sorted({ a, b -> b.key <=> a.key } as Comparator).isFused()
+			fused().sorted({ a, b -> b.key <=> a.key } as Comparator).mapValue({ it + 1 } as Function).toLinkedMap() == [b: 3, a: 2]
+	}
+
+	def "fused: source entries are not copied by filtering and peeking"() {
+		given:
+			def entries = [entry("a", 1), entry("b", 2), entry("c", 3)]
+			def peekedKeys = []
+			def peekedValues = []
+		when:
+			def res = new MapStream(entries.stream()).fused()
+				.peekKeys({ peekedKeys << it } as Consumer)
+				.filterValue({ it != 2 } as Predicate)
+				.peekValues({ peekedValues << it } as Consumer)
+				.collect(java.util.stream.Collectors.toList())
+		then:
+			res.size() == 2
+			res[0].is(entries[0])
+			res[1].is(entries[2])
+			peekedKeys == ["a", "b", "c"]
+			peekedValues == [1, 3]
+	}
+
+	def "fused: parallel, sized and lazy"() {
+		given:
+			def map = (0..<10000).collectEntries { [(it): it] }
+			def closed = []
+			def peeked = []
+		expect:
+			new MapStream(map).parallel().fused().filterKey({ it % 3 == 0 } as Predicate).mapValue({ it * 2 } as Function).toMap() ==
+				map.findAll { it.key % 3 == 0 }.collectEntries { k, v -> [(k): v * 2] }
+			new MapStream(map).fused().mapValue({ it * 2 } as Function).spliterator().getExactSizeIfKnown() == 10000
+			new MapStream(map).fused().filterKey({ it % 3 == 0 } as Predicate).spliterator().getExactSizeIfKnown() == -1
+		when:
+			def stream = new MapStream(map).fused().onClose({ closed << 1 } as Runnable)
+				.peekKeys({ peeked << it } as Consumer).filterKey({ it > 10 } as Predicate)
+		then:
+			peeked.isEmpty()
+			stream.findFirst().get().getKey() == 11
+			peeked == (0..11)
+		when:
+			stream.close()
+		then:
+			closed == [1]
+	}
 }
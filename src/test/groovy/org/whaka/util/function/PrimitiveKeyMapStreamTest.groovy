@@ -0,0 +1,131 @@
+package org.whaka.util.function
+
+import java.util.function.Function
+import java.util.function.IntPredicate
+import java.util.function.IntUnaryOperator
+import java.util.function.LongPredicate
+import java.util.function.LongUnaryOperator
+import java.util.function.ToIntFunction
+import java.util.function.ToLongFunction
+import java.util.stream.Stream
+
+import spock.lang.Specification
+
+class PrimitiveKeyMapStreamTest extends Specification {
+
+	/**
+	 * Key type and functional interfaces of each primitive map stream
+	 */
+	private static final Map TYPES = [
+		Int: [boxed: Integer, array: int[], key: ToIntFunction, predicate: IntPredicate, operator: IntUnaryOperator,
+			objPredicate: IntObjPredicate, objFunction: IntObjFunction, objConsumer: IntObjConsumer],
+		Long: [boxed: Long, array: long[], key: ToLongFunction, predicate: LongPredicate, operator: LongUnaryOperator,
+			objPredicate: LongObjPredicate, objFunction: LongObjFunction, objConsumer: LongObjConsumer],
+	]
+
+	def "construction"() {
+		when:
+			create()
+		then:
+			thrown(NullPointerException)
+		where:
+			create << [{ new IntMapStream(null) }, { new LongMapStream(null) }]
+	}
+
+	def "filter and map"() {
+		given:
+			def stream = keyed(p, ["q", "we", "rty", "uiop"].stream(), { it.length() })
+		expect:
+			stream
+				.filter({ k, v -> k != 2 }.asType(TYPES[p].objPredicate))
+				.filterKey({ k -> k < 4 }.asType(TYPES[p].predicate))
+				.filterValue({ v -> v != "q" })
+				.mapKey({ k -> k * 10 }.asType(TYPES[p].operator))
+				.mapValue({ v -> v.toUpperCase() } as Function)
+				.mapValue({ k, v -> v + k }.asType(TYPES[p].objFunction))
+				.toMap() == keys(p, [30: "RTY30"])
+		where:
+			p << TYPES.keySet()
+	}
+
+	def "keys and values"() {
+		given:
+			List<String> values = ["q", "we", "rty"]
+		expect:
+			keyed(p, values.stream(), { it.length() }).toKeys().toArray() == [1, 2, 3].asType(TYPES[p].array)
+			keyed(p, values.stream(), { it.length() }).toValues().toList() == values
+			keyed(p, values.stream(), { it.length() }, { it.toUpperCase() }).toMapStream().toMap() == keys(p, [1: "Q", 2: "WE", 3: "RTY"])
+			keyed(p, values.stream(), { it.length() }).mapValueToDouble({ it.length() * 0.5d }).toArray() == [0.5, 1, 1.5] as double[]
+		where:
+			p << TYPES.keySet()
+	}
+
+	def "sorting, reducing and consuming"() {
+		given:
+			def stream = keyed(p, ["rty", "q", "we"].stream(), { it.length() })
+			List<String> consumed = []
+		when:
+			def result = stream.sortedKeys()
+				.peek({ k, v -> consumed << "peek" + k }.asType(TYPES[p].objConsumer))
+				.reduceValues("", { a, b -> a + b })
+		then:
+			result == "qwerty"
+			consumed == ["peek1", "peek2", "peek3"]
+		where:
+			p << TYPES.keySet()
+	}
+
+	def "duplicate keys: last one is to stay"() {
+		expect:
+			keyed(p, ["q", "w", "e"].stream(), { 1 }).toMap() == keys(p, [1: "e"])
+		where:
+			p << TYPES.keySet()
+	}
+
+	def "to primitive map"() {
+		expect:
+			keyed(p, ["q", "w", "e", "r"].stream(), { it.length() })."to${p}ObjMap"().toMap() == keys(p, [1: "r"])
+			keyed(p, ["q", "ww"].stream(), { it.length() })."to${p}ObjMap"().get(2) == "ww"
+		where:
+			p << TYPES.keySet()
+	}
+
+	def "fused: each step is performed once per element, lazily"() {
+		given:
+			List<String> calls = []
+			def stream = keyed(p, ["q", "we", "rty"].stream(), { calls << "key"; it.length() })
+				.filterKey({ k -> calls << "filter"; k != 2 }.asType(TYPES[p].predicate))
+				.mapKey({ k -> calls << "map"; k * 10 }.asType(TYPES[p].operator))
+		expect:
+			calls.isEmpty()
+			stream.toMap() == keys(p, [10: "q", 30: "rty"])
+			calls == ["key", "filter", "map", "key", "filter", "key", "filter", "map"]
+		where:
+			p << TYPES.keySet()
+	}
+
+	def "fused: parallel, and observed as tuples"() {
+		given:
+			def values = (0..<10000).collect { it as String }
+			def stream = { keyed(p, values.parallelStream(), { it as int }) }
+		expect:
+			stream().filterKey({ k -> k % 2 == 0 }.asType(TYPES[p].predicate)).mapKey({ k -> k + 1 }.asType(TYPES[p].operator)).count() == 5000
+			stream().mapValue({ v -> v.length() } as Function).toValues().reduce(0, { a, b -> a + b }) == values.sum { it.length() }
+			stream()."to${p}ObjMap"().size() == 10000
+			stream().skip(9998).iterator().collect { it._1 } == [9998, 9999]
+		where:
+			p << TYPES.keySet()
+	}
+
+	/**
+	 * Stream of the specified primitive map stream type, with keys calculated by the specified closure
+	 */
+	private static keyed(String p, Stream stream, Closure key, Closure value = { it }) {
+		Class boxed = TYPES[p].boxed
+		new UberStream(stream)."to${p}MapStream"({ key(it).asType(boxed) }.asType(TYPES[p].key), value as Function)
+	}
+
+	private static Map keys(String p, Map map) {
+		map.collectEntries { k, v -> [(k.asType(TYPES[p].boxed)): v] }
+	}
+}
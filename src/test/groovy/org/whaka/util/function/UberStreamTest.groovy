@@ -1,7 +1,23 @@
 package org.whaka.util.function
 
+import java.util.Spliterators
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.BiFunction
+import java.util.function.Consumer
+import java.util.function.Function
+import java.util.function.IntBinaryOperator
+import java.util.function.Predicate
 import java.util.function.Supplier
+import java.util.function.ToDoubleFunction
+import java.util.function.ToIntFunction
+import java.util.function.ToLongFunction
+import java.util.function.UnaryOperator
+import java.util.stream.Collectors
 import java.util.stream.Stream
+import java.util.stream.StreamSupport
 
 import spock.lang.Specification
 
@@ -153,6 +169,16 @@ class UberStreamTest extends Specification {
 			]
 	}
 
+	def "toList: sized, unsized, and parallel streams"() {
+		given:
+			def col = (0..<1000).collect { it }
+		expect:
+			new UberStream(col.stream()).map({ it * 2 } as Function).toList() == col.collect { it * 2 }
+			new UberStream(col.stream()).filter({ it % 2 == 0 } as Predicate).toList() == col.findAll { it % 2 == 0 }
+			new UberStream(col.parallelStream()).toList() == col
+			new UberStream(col.stream()).limit(5).toList() == [0, 1, 2, 3, 4]
+	}
+
 	def "toMap"() {
 		given:
 			UberStream uber = new UberStream(col.stream())
@@ -167,6 +193,32 @@ class UberStreamTest extends Specification {
 			["q:w","q:e"]	|	{it.split(":")[0]}	|	["q":"q:e"]		// << duplicated keys are allowed
 	}
 
+	def "toMap: parallel"() {
+		given:
+			def col = (0..<10000).collect { it }
+		expect:
+			new UberStream(col.parallelStream()).toMap({ it % 100 == 0 ? null : it } as Function, { it % 100 == 0 ? null : it * 2 } as Function) ==
+				col.collectEntries { it % 100 == 0 ? [(null): null] : [(it): it * 2] }
+	}
+
+	def "toMap: parallel keeps the last duplicate"() {
+		given:
+			def col = (0..<10000).collect { it }
+		expect:
+			new UberStream(col.parallelStream()).toMap({ it % 10 } as Function, Function.identity()) ==
+				(0..<10).collectEntries { [(it): 9990 + it] }
+	}
+
+	def "toMapConcurrently"() {
+		given:
+			def col = (0..<10000).collect { it }
+		expect:
+			new UberStream(col.parallelStream()).toMapConcurrently({ it % 100 == 0 ? null : it } as Function, { it * 2 } as Function)
+				.findAll { it.key != null } == col.findAll { it % 100 != 0 }.collectEntries { [(it): it * 2] }
+			new UberStream(col.parallelStream()).toMapConcurrently({ it % 10 } as Function, Function.identity()).keySet() ==
+				(0..<10) as Set
+	}
+
 	def "toMap with supplier"() {
 		given:
 			Supplier hash = {-> new HashMap()}
@@ -252,4 +304,446 @@ class UberStreamTest extends Specification {
 			["qwe", 1, null, "rty", 2, null]	|	Number		|	[1, null, 2, null]
 			["qwe", 1, null, "rty", 2, null]	|	Boolean		|	[null, null]
 	}
+
+	def "key by primitive"() {
+		given:
+			List<String> col = ["q", "we", "rty"]
+		expect:
+			new UberStream(col.stream()).keyByInt({ it.length() } as ToIntFunction).toList() ==
+				[new IntObjTuple(1, "q"), new IntObjTuple(2, "we"), new IntObjTuple(3, "rty")]
+			new UberStream(col.stream()).keyByLong({ it.length() * 10L } as ToLongFunction).toList() ==
+				[new LongObjTuple(10, "q"), new LongObjTuple(20, "we"), new LongObjTuple(30, "rty")]
+			new UberStream(col.stream()).keyByDouble({ it.length() / 2d } as ToDoubleFunction).toList() ==
+				[new DoubleObjTuple(0.5, "q"), new DoubleObjTuple(1, "we"), new DoubleObjTuple(1.5, "rty")]
+	}
+
+	def "primitive tuples flow through functions"() {
+		given:
+			List<IntIntTuple> tuples = [IntIntTuple.intIntTuple(1, 2), IntIntTuple.intIntTuple(3, 3), IntIntTuple.intIntTuple(5, 4)]
+		expect:
+			new UberStream(tuples.stream())
+				.filter(IntPredicate2.toPredicate({ a, b -> a <= b } as IntPredicate2))
+				.map(IntFunction2.toFunction({ a, b -> a + b } as IntFunction2))
+				.toList() == [3, 6]
+	}
+
+	def "groupBy"() {
+		given:
+			def col = ["q", "we", "rt", "y", "uio", null]
+		expect:
+			new UberStream(col.stream()).groupBy({ it?.length() } as Function).toMap() ==
+				[1: ["q", "y"], 2: ["we", "rt"], 3: ["uio"], (null): [null]]
+			new UberStream(col.parallelStream()).groupBy({ it?.length() } as Function).toMap() ==
+				[1: ["q", "y"], 2: ["we", "rt"], 3: ["uio"], (null): [null]]
+	}
+
+	def "groupBy with downstream collector"() {
+		given:
+			def col = (0..<1000).collect { it }
+		expect:
+			new UberStream(col.parallelStream()).groupBy({ it % 3 } as Function, Collectors.summingInt({ it } as ToIntFunction)).toMap() ==
+				col.groupBy { it % 3 }.collectEntries { k, v -> [(k): v.sum()] }
+			new UberStream(col.stream().map({ "" + it })).groupBy({ (it as int) % 2 } as Function, Collectors.joining(",")).toMap() ==
+				[0: col.findAll { it % 2 == 0 }.join(","), 1: col.findAll { it % 2 == 1 }.join(",")]
+	}
+
+	def "countBy"() {
+		given:
+			def col = (0..<10000).collect { it }
+		expect:
+			new UberStream(col.stream()).countBy({ it % 3 } as Function).toMap() == [0: 3334L, 1: 3333L, 2: 3333L]
+			new UberStream(col.parallelStream()).countBy({ it % 3 } as Function).toMap() == [0: 3334L, 1: 3333L, 2: 3333L]
+			new UberStream(col.stream()).countBy({ it % 2 == 0 ? null : 1 } as Function).toMap() == [(null): 5000L, 1: 5000L]
+			new UberStream([].stream()).countBy({ it } as Function).toMap() == [:]
+	}
+
+	def "histogram"() {
+		expect:
+			new UberStream(["a", "b", "a", null, "a", null].stream()).histogram().toMap() == [a: 3L, b: 1L, (null): 2L]
+	}
+
+	def "topK"() {
+		given:
+			def col = (0..<10000).collect { it }
+			Collections.shuffle(col, new Random(42))
+		expect:
+			new UberStream(col.stream()).topK(5, Comparator.naturalOrder()) == [9999, 9998, 9997, 9996, 9995]
+			new UberStream(col.parallelStream()).topK(5, Comparator.naturalOrder()) == [9999, 9998, 9997, 9996, 9995]
+			new UberStream(col.parallelStream()).topK(3, Comparator.reverseOrder()) == [0, 1, 2]
+			new UberStream(col.stream()).topK(0, Comparator.naturalOrder()) == []
+			new UberStream([3, 1, 2].stream()).topK(10, Comparator.naturalOrder()) == [3, 2, 1]
+	}
+
+	def "topK: big k"() {
+		given:
+			def col = (0..<5000).collect { it }
+			Collections.shuffle(col, new Random(42))
+		expect:
+			new UberStream(col.stream()).topK(Integer.MAX_VALUE, Comparator.naturalOrder()) == (4999..0)
+			new UberStream(col.parallelStream()).topK(Integer.MAX_VALUE, Comparator.naturalOrder()) == (4999..0)
+			new UberStream([1].stream()).topK(Integer.MAX_VALUE, Comparator.naturalOrder()) == [1]
+	}
+
+	def "topK: negative k"() {
+		when:
+			new UberStream([1].stream()).topK(-1, Comparator.naturalOrder())
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "batch"() {
+		expect:
+			new UberStream(col.stream()).batch(size).toList() == result
+		where:
+			col				|	size	||	result
+			[]				|	1		||	[]
+			[1,2,3]			|	1		||	[[1], [2], [3]]
+			[1,2,3,4,5]		|	2		||	[[1,2], [3,4], [5]]
+			[1,null,3,4]	|	2		||	[[1,null], [3,4]]
+			[1,2,3]			|	5		||	[[1,2,3]]
+	}
+
+	def "batch: parallel"() {
+		given:
+			def col = (0..<10000).collect { it }
+		when:
+			def batches = new UberStream(col.parallelStream()).batch(100).toList()
+		then:
+			batches.every { it.size() <= 100 }
+			batches.flatten() == col
+	}
+
+	def "batch: parallel batches are full"() {
+		given:
+			def col = (0..<10007).collect { it }
+		expect:
+			def batches = new UberStream(source(col)).parallel().batch(size).toList()
+			batches.init().every { it.size() == size }
+			batches.last().size() == (col.size() % size ?: size)
+			batches.flatten() == col
+		where:
+			[source, size] << [
+				[{ it.parallelStream() }, { Stream.iterate(0, { it + 1 } as UnaryOperator).limit(it.size()) },
+					{ StreamSupport.stream(Spliterators.spliteratorUnknownSize(it.iterator(), 0), true) }],
+				[1, 7, 64, 1000, 20000]
+			].combinations()
+	}
+
+	def "forEachBatch: parallel batches are full"() {
+		given:
+			def batches = Collections.synchronizedList([])
+		when:
+			new UberStream((0..<10000).collect { it }.parallelStream()).forEachBatch(64, { batches << it } as Consumer)
+		then:
+			batches.count { it.size() != 64 } == 1
+			batches.find { it.size() != 64 } == (9984..<10000).collect { it }
+	}
+
+	def "batch: is lazy"() {
+
+		given:
+			def consumed = []
+		when:
+			def first = new UberStream(Stream.iterate(0, { it + 1 } as UnaryOperator))
+				.peek({ consumed << it } as Consumer)
+				.batch(3).findFirst().get()
+		then:
+			first == [0, 1, 2]
+			consumed == [0, 1, 2]
+	}
+
+	def "window"() {
+		expect:
+			new UberStream(col.stream()).window(size, step).toList() == result
+		where:
+			col				|	size	|	step	||	result
+			[]				|	1		|	1		||	[]
+			[1,2]			|	3		|	1		||	[]
+			[1,2,3,4]		|	2		|	1		||	[[1,2], [2,3], [3,4]]
+			[1,2,3,4,5]		|	3		|	2		||	[[1,2,3], [3,4,5]]
+			[1,2,3,4,5]		|	2		|	2		||	[[1,2], [3,4]]
+			[1,2,3,4,5,6,7]	|	2		|	3		||	[[1,2], [4,5]]
+			[1,null,3]		|	2		|	1		||	[[1,null], [null,3]]
+	}
+
+	def "batch and window: illegal arguments"() {
+		when:
+			new UberStream([1].stream()).batch(0)
+		then:
+			thrown(IllegalArgumentException)
+
+		when:
+			new UberStream([1].stream()).window(0, 1)
+		then:
+			thrown(IllegalArgumentException)
+
+		when:
+			new UberStream([1].stream()).window(1, 0)
+		then:
+			thrown(IllegalArgumentException)
+
+		when:
+			new UberStream([1].stream()).forEachBatch(0, {} as Consumer)
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "forEachBatch"() {
+		given:
+			def batches = []
+			def lists = [] as Set
+		when:
+			new UberStream((0..<10).stream()).forEachBatch(4, { batches << new ArrayList(it); lists << System.identityHashCode(it) } as Consumer)
+		then:
+			batches == [[0,1,2,3], [4,5,6,7], [8,9]]
+			lists.size() == 1
+	}
+
+	def "forEachBatch: parallel"() {
+		given:
+			def batches = Collections.synchronizedList([])
+		when:
+			new UberStream((0..<10000).collect { it }.parallelStream()).forEachBatch(64, { batches << it } as Consumer)
+		then:
+			batches.every { it.size() <= 64 }
+			batches.flatten().sort() == (0..<10000).collect { it }
+	}
+
+	def "mapAsync: order and concurrency"() {
+		given:
+			def current = new AtomicInteger()
+			def max = new AtomicInteger()
+			def mapper = { int i ->
+				max.accumulateAndGet(current.incrementAndGet(), { a, b -> Math.max(a, b) } as IntBinaryOperator)
+				Thread.sleep(i % 3 == 0 ? 20 : 1)
+				current.decrementAndGet()
+				return i * 2
+			}
+		when:
+			def res = new UberStream((0..<50).stream()).mapAsync(mapper as Function, 4).toList()
+		then:
+			res == (0..<50).collect { it * 2 }
+			max.get() <= 4
+			max.get() > 1
+	}
+
+	def "mapAsync: with executor"() {
+		given:
+			def executor = Executors.newFixedThreadPool(3)
+		when:
+			def res = new UberStream((0..<20).stream()).mapAsync({ it + 1 } as Function, 5, executor).toList()
+		then:
+			res == (1..20).collect { it }
+		cleanup:
+			executor.shutdown()
+	}
+
+	def "mapAsync: latency is not serialized"() {
+		when:
+			long start = System.nanoTime()
+			def res = new UberStream((0..<20).stream()).mapAsync({ Thread.sleep(50); it } as Function, 10).toList()
+			long millis = (System.nanoTime() - start) / 1000000
+		then:
+			res == (0..<20).collect { it }
+			millis < 20 * 50
+	}
+
+	def "mapAsync: exception is rethrown"() {
+		when:
+			new UberStream((0..<10).stream()).mapAsync({ if (it == 5) throw new IllegalStateException("qwe"); it } as Function, 3).toList()
+		then:
+			def e = thrown(IllegalStateException)
+			e.message == "qwe"
+	}
+
+	def "mapAsync: pending mappings are cancelled on exception"() {
+		given:
+			def started = new AtomicInteger()
+			def pending = []
+			def executor = { r -> pending.isEmpty() && started.get() == 0 ? r.run() : pending.add(r) } as Executor
+		when:
+			new UberStream((0..<10).stream()).mapAsync({
+				started.incrementAndGet()
+				if (it == 0) throw new IllegalStateException("qwe")
+				it
+			} as Function, 5, executor).toList()
+		then:
+			thrown(IllegalStateException)
+		when:
+			pending*.run()
+		then:
+			pending.size() == 4
+			started.get() == 1
+	}
+
+	def "mapAsync: pending mappings are cancelled on close"() {
+		given:
+			def started = new AtomicInteger()
+			def pending = []
+			def executor = { r -> pending.isEmpty() && started.get() == 0 ? r.run() : pending.add(r) } as Executor
+			def stream = new UberStream((0..<10).stream()).mapAsync({ started.incrementAndGet(); it } as Function, 5, executor)
+		when:
+			def first = stream.findFirst().get()
+			stream.close()
+			pending*.run()
+		then:
+			first == 0
+			pending.size() == 4
+			started.get() == 1
+	}
+
+	def "mapAsync: default executor is shared"() {
+		expect:
+			AsyncMapSpliterator.defaultExecutor().is(AsyncMapSpliterator.defaultExecutor())
+	}
+
+	def "mapAsync: default pool is bounded"() {
+		given:
+			def executor = AsyncMapSpliterator.defaultExecutor()
+			def pool = executor instanceof ThreadPoolExecutor ? executor as ThreadPoolExecutor : null
+			def streams = (0..<3).collect {
+				new UberStream((0..<50).stream()).mapAsync({ Thread.sleep(5); it } as Function, 50)
+			}
+		when:
+			def results = streams.parallelStream().map({ it.toList() } as Function).collect(Collectors.toList())
+		then:
+			results.every { it == (0..<50).collect { it } }
+			pool == null || pool.getMaximumPoolSize() == AsyncMapSpliterator.DEFAULT_POOL_SIZE
+			pool == null || pool.getLargestPoolSize() <= AsyncMapSpliterator.DEFAULT_POOL_SIZE
+	}
+
+	def "mapAsync: illegal concurrency"() {
+		when:
+			new UberStream([1].stream()).mapAsync({ it } as Function, 0)
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "mapAsyncUnordered"() {
+		when:
+			def res = new UberStream((0..<8).stream()).mapAsyncUnordered({ if (it == 0) Thread.sleep(200); it * 2 } as Function, 8).toList()
+		then:
+			res.sort(false) == (0..<8).collect { it * 2 }
+			res.last() == 0
+	}
+
+	def "takeWhile"() {
+		expect:
+			new UberStream(col.stream()).takeWhile({ it < 3 } as Predicate).toList() == result
+		where:
+			col					||	result
+			[]					||	[]
+			[1, 2, 3, 1]		||	[1, 2]
+			[3, 1, 2]			||	[]
+			[0, 1, 2]			||	[0, 1, 2]
+	}
+
+	def "takeWhile: short-circuiting"() {
+		given:
+			def consumed = []
+		when:
+			def res = new UberStream(Stream.iterate(0, { it + 1 } as UnaryOperator))
+				.peek({ consumed << it } as Consumer)
+				.takeWhile({ it < 5 } as Predicate)
+				.toList()
+		then:
+			res == [0, 1, 2, 3, 4]
+			consumed == [0, 1, 2, 3, 4, 5]
+	}
+
+	def "dropWhile"() {
+		expect:
+			new UberStream(col.stream()).dropWhile({ it < 3 } as Predicate).toList() == result
+			new UberStream(col.parallelStream()).dropWhile({ it < 3 } as Predicate).toList() == result
+		where:
+			col					||	result
+			[]					||	[]
+			[1, 2, 3, 1]		||	[3, 1]
+			[3, 1, 2]			||	[3, 1, 2]
+			[0, 1, 2]			||	[]
+	}
+
+	def "dropWhile: parallel rest of the stream"() {
+		given:
+			def col = (0..<10000).collect { it }
+		expect:
+			new UberStream(col.parallelStream()).dropWhile({ it < 100 } as Predicate).map({ it * 2 } as Function).toList() ==
+				(100..<10000).collect { it * 2 }
+	}
+
+	def "dropWhile: spliterator is split after the dropped prefix"() {
+		given:
+			def spliterator = new DropWhileSpliterator((0..<10000).collect { it }.spliterator(), { it < 100 } as Predicate)
+		when:
+			def prefix = spliterator.trySplit()
+			def suffix = spliterator.trySplit()
+			def res = []
+			[prefix, suffix, spliterator].each { it.forEachRemaining({ res << it } as Consumer) }
+		then:
+			prefix != null
+			suffix != null
+			res == (100..<10000).collect { it }
+
+		expect:
+			new DropWhileSpliterator([1, 2].spliterator(), { true } as Predicate).trySplit() == null
+			StreamSupport.stream(new DropWhileSpliterator([1, 2, 3].spliterator(), { it < 3 } as Predicate).trySplit(), false).toArray() == [3] as Object[]
+	}
+
+	def "scan"() {
+		expect:
+			new UberStream([1, 2, 3, 4].stream()).scan(0, { a, b -> a + b } as BiFunction).toList() == [1, 3, 6, 10]
+			new UberStream(["a", "b", "c"].stream()).scan("", { a, b -> a + b } as BiFunction).toList() == ["a", "ab", "abc"]
+			new UberStream([].stream()).scan(0, { a, b -> a + b } as BiFunction).toList() == []
+			new UberStream((1..5).collect { it }.parallelStream()).scan(1, { a, b -> a * b } as BiFunction).toList() == [1, 2, 6, 24, 120]
+	}
+
+	def "scan: is lazy"() {
+		expect:
+			new UberStream(Stream.iterate(1, { it + 1 } as UnaryOperator))
+				.scan(0L, { a, b -> a + b } as BiFunction)
+				.takeWhile({ it < 20 } as Predicate)
+				.toList() == [1L, 3L, 6L, 10L, 15L]
+	}
+
+	def "zipWithIndex"() {
+		expect:
+			new UberStream(["a", "b", "c"].stream()).zipWithIndex().toList() ==
+				[new LongObjTuple(0, "a"), new LongObjTuple(1, "b"), new LongObjTuple(2, "c")]
+			new UberStream(Stream.of("a", "b").filter({ true } as Predicate)).zipWithIndex().toList() ==
+				[new LongObjTuple(0, "a"), new LongObjTuple(1, "b")]
+	}
+
+	def "zipWithIndex: parallel"() {
+		given:
+			def col = (0..<10000).collect { "v" + it }
+		when:
+			def res = new UberStream(col.parallelStream()).zipWithIndex().toList()
+		then:
+			res.every { col[it._1 as int] == it._2 }
+			res.collect { it._1 } == (0L..<10000L).collect { it }
+	}
+
+	def "mapIndexed"() {
+		expect:
+			new UberStream(["a", "b", "c"].stream()).mapIndexed({ long i, v -> v * (i + 1) } as LongObjFunction).toList() ==
+				["a", "bb", "ccc"]
+	}
+
+	def "forEachIndexed"() {
+		given:
+			def res = Collections.synchronizedMap([:])
+		when:
+			new UberStream(col.stream()).forEachIndexed({ long i, v -> res[i] = v } as LongObjConsumer)
+		then:
+			res == (0..<col.size()).collectEntries { [(it as long): col[it]] }
+
+		when:
+			res.clear()
+			new UberStream(col.parallelStream()).forEachIndexed({ long i, v -> res[i] = v } as LongObjConsumer)
+		then:
+			res == (0..<col.size()).collectEntries { [(it as long): col[it]] }
+
+		where:
+			col = (0..<1000).collect { "v" + it }
+	}
 }
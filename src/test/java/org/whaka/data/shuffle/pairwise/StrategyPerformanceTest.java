@@ -7,6 +7,7 @@ import java.util.Arrays;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
+import org.whaka.data.shuffle.pairwise.IpogStrategy;
 import org.whaka.data.shuffle.pairwise.SequentialStrategy;
 import org.whaka.util.function.MapStream;
 
@@ -17,6 +18,9 @@ public class StrategyPerformanceTest {
 		int[][] sizes = createSizes(2, 12, 9);
 		test(SequentialStrategy.INSTANCE, sizes, 5)
 			.forEach(StrategyPerformanceTest::printResult);
+		
+		test(IpogStrategy.INSTANCE, createSizes(2, 60, 10), 5)
+			.forEach(StrategyPerformanceTest::printResult);
 	}
 	
 	public static int[][] createSizes(int min, int max, int fill) {
@@ -0,0 +1,67 @@
+package org.whaka.util;
+
+import java.util.Random;
+import java.util.function.DoubleBinaryOperator;
+
+import org.hamcrest.Matcher;
+import org.whaka.asserts.NumberMatchers;
+import org.whaka.asserts.matcher.DoubleMatcher;
+
+/**
+ * Compares table based {@link DoubleMath#compare(double, double)} with the previous logarithm based implementation,
+ * and measures throughput of the number matchers.
+ */
+public class DoubleMathPerformanceTest {
+
+	private static final int SAMPLES = 1 << 20;
+	
+	public static void main(String[] args) {
+		double[] a = new double[SAMPLES];
+		double[] b = new double[SAMPLES];
+		Random random = new Random(42);
+		for (int i = 0; i < SAMPLES; i++) {
+			a[i] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20) - 5);
+			b[i] = random.nextBoolean() ? a[i] : a[i] + Math.ulp(a[i]) * random.nextInt(100);
+		}
+		for (int i = 0; i < 5; i++) {
+			test("table compare", a, b, DoubleMath::compare);
+			test("logarithm compare", a, b, DoubleMathPerformanceTest::compareByLogarithm);
+			test("matcher", a, b, (x, y) -> NumberMatchers.greaterThan(y).matches(x) ? 1 : 0);
+			test("matcher (primitive)", a, b, (x, y) -> ((DoubleMatcher) NumberMatchers.greaterThan(y)).matchesDouble(x) ? 1 : 0);
+		}
+		Matcher<Number> matcher = NumberMatchers.between(-1, 1);
+		test("shared matcher", a, b, (x, y) -> matcher.matches(x) ? 1 : 0);
+	}
+	
+	private static void test(String name, double[] a, double[] b, DoubleBinaryOperator operation) {
+		long start = System.nanoTime();
+		double sum = 0;
+		for (int i = 0; i < SAMPLES; i++)
+			sum += operation.applyAsDouble(a[i], b[i]);
+		long time = System.nanoTime() - start;
+		System.out.printf("%s: %.1f ns/op (%s)%n", name, (double) time / SAMPLES, sum);
+	}
+	
+	private static double compareByLogarithm(double a, double b) {
+		if (!Double.isFinite(a) || !Double.isFinite(b))
+			return Double.compare(a, b);
+		int lastDecimal = lastAffectedDecimalByLogarithm(a);
+		if (lastDecimal != lastAffectedDecimalByLogarithm(b))
+			return Double.compare(a, b);
+		Double accuracy = Math.pow(10, -lastDecimal);
+		double pow = Math.pow(10, lastDecimal + 1);
+		double delta = Math.round((a - b) * pow) / pow;
+		if (Math.abs(delta) >= accuracy)
+			return (int) Math.signum(delta);
+		return 0;
+	}
+	
+	private static int lastAffectedDecimalByLogarithm(double d) {
+		int decimalPosition = (int) Math.log10(Math.abs(d));
+		if (decimalPosition < 0)
+			return DoubleMath.MAXIMUM_DEFAULT_DECIMALS;
+		if (decimalPosition > DoubleMath.MAXIMUM_DEFAULT_DECIMALS)
+			return 0;
+		return DoubleMath.MAXIMUM_DEFAULT_DECIMALS - decimalPosition;
+	}
+}